@@ -0,0 +1,164 @@
+package com.empresa.sistema.benchmark;
+
+import com.empresa.Application;
+import com.empresa.sistema.vendas.AgregadorVendas;
+import com.empresa.sistema.vendas.ParticaoVendas;
+import com.empresa.sistema.vendas.ResumosVendas;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Quantidade e receita em 90 dias, no total, por dia e por produto, com ou sem filtro de
+ * produto: SUM ... GROUP BY no H2 contra o AgregadorVendas (partições colunares em
+ * memória, em paralelo), com as somas do total e por dia pela Vector API (o filtro como
+ * máscara) e, em memoriaEscalar, sem o módulo (laços escalares).
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="AgregacaoVendasBenchmark -p vendas=500000 -p produto=7"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx2g", "--add-modules=jdk.incubator.vector"})
+public class AgregacaoVendasBenchmark {
+
+    private static final LocalDate PRIMEIRO_DIA = LocalDate.of(2025, 1, 1);
+
+    private static final String SQL_INCLUSAO =
+            "INSERT INTO vendas (cliente_id, produto_id, quantidade, valor_total, data_venda) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String SQL_PERIODO = " FROM vendas WHERE data_venda >= ? AND data_venda < ?";
+
+    // Chave do grupo como no agregador: 0 no total, epoch day por dia
+    private static final Map<ParticaoVendas.Agrupamento, String> CHAVES = Map.of(
+            ParticaoVendas.Agrupamento.TOTAL, "0",
+            ParticaoVendas.Agrupamento.DIA, "DATEDIFF(DAY, DATE '1970-01-01', data_venda)",
+            ParticaoVendas.Agrupamento.PRODUTO, "produto_id");
+
+    @Param("2000000")
+    public int vendas;
+
+    @Param({"TOTAL", "DIA", "PRODUTO"})
+    public ParticaoVendas.Agrupamento agrupamento;
+
+    // 0: sem filtro
+    @Param({"0", "7"})
+    public long produto;
+
+    private ConfigurableApplicationContext contexto;
+    private JdbcTemplate jdbcTemplate;
+    private AgregadorVendas agregador;
+    private ParticaoVendas.Consulta consulta;
+    private String sql;
+    private Timestamp inicio;
+    private Timestamp fim;
+
+    @Setup
+    public void preparar() {
+        contexto = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                // Sem reaproveitar resultados: o H2 devolveria a consulta repetida sem executá-la
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;OPTIMIZE_REUSE_RESULTS=FALSE",
+                        "--spring.jpa.show-sql=false", "--logging.level.root=WARN");
+        jdbcTemplate = contexto.getBean(JdbcTemplate.class);
+        agregador = contexto.getBean(AgregadorVendas.class);
+        popularVendas(vendas);
+        contexto.getBean(ResumosVendas.class).reconstruirAgregador();
+
+        LocalDate primeiro = PRIMEIRO_DIA.plusDays(180);
+        LocalDate ultimo = primeiro.plusDays(89);
+        inicio = Timestamp.valueOf(primeiro.atStartOfDay());
+        fim = Timestamp.valueOf(ultimo.plusDays(1).atStartOfDay());
+        consulta = new ParticaoVendas.Consulta((int) primeiro.toEpochDay(), (int) ultimo.toEpochDay(),
+                produto == 0 ? null : produto, null, agrupamento);
+        String chave = CHAVES.get(agrupamento);
+        sql = "SELECT " + chave + ", SUM(quantidade), SUM(valor_total)" + SQL_PERIODO
+                + (produto == 0 ? "" : " AND produto_id = " + produto)
+                + (agrupamento == ParticaoVendas.Agrupamento.TOTAL ? "" : " GROUP BY " + chave);
+
+        // Os dois lados têm de medir a mesma resposta; dias sem venda só existem no agregador
+        Map<Long, String> emMemoria = new HashMap<>();
+        ParticaoVendas.Acumulador totais = memoria();
+        for (int i = 0; i < totais.grupos(); i++) {
+            if (totais.quantidade(i) != 0) {
+                emMemoria.put(totais.chave(i), totais.quantidade(i) + "/" + totais.valorCentavos(i));
+            }
+        }
+        if (!emMemoria.equals(sql())) {
+            throw new IllegalStateException("Agregador diverge do GROUP BY do H2");
+        }
+    }
+
+    @TearDown
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Map<Long, String> sql() {
+        Map<Long, String> porSql = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            porSql.put(rs.getLong(1), rs.getLong(2) + "/" + rs.getBigDecimal(3).movePointRight(2).longValueExact());
+        }, inicio, fim);
+        return porSql;
+    }
+
+    @Benchmark
+    public ParticaoVendas.Acumulador memoria() {
+        return agregador.agregar(consulta);
+    }
+
+    // Mesma consulta numa JVM sem jdk.incubator.vector: as somas ficam nos laços escalares
+    @Benchmark
+    @Fork(value = 1, jvmArgs = "-Xmx2g")
+    public ParticaoVendas.Acumulador memoriaEscalar() {
+        return agregador.agregar(consulta);
+    }
+
+    // Grava direto na tabela, em ordem de data, como um histórico já existente
+    private void popularVendas(int quantidade) {
+        Random aleatorio = new Random(7);
+        List<Object[]> lote = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            int quantidadeItem = 1 + aleatorio.nextInt(4);
+            BigDecimal valor = BigDecimal.valueOf(quantidadeItem * (100L + aleatorio.nextInt(20_000)), 2);
+            Timestamp data = Timestamp.valueOf(PRIMEIRO_DIA.plusDays((long) i * 365 / quantidade).atTime(12, 0));
+            lote.add(new Object[] {aleatorio.nextInt(5) == 0 ? null : 1L + aleatorio.nextInt(50_000),
+                    1L + aleatorio.nextInt(2_000), quantidadeItem, valor, data});
+            if (lote.size() == 10_000) {
+                jdbcTemplate.batchUpdate(SQL_INCLUSAO, lote);
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            jdbcTemplate.batchUpdate(SQL_INCLUSAO, lote);
+        }
+    }
+}
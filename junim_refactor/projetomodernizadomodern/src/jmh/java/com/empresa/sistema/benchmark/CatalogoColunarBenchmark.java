@@ -0,0 +1,125 @@
+package com.empresa.sistema.benchmark;
+
+import com.empresa.Application;
+import com.empresa.sistema.cache.CatalogoColunar;
+import com.empresa.sistema.cache.ColunasProdutos;
+import com.empresa.sistema.entity.Produtos;
+import com.empresa.sistema.repository.ProdutosRepository;
+import com.empresa.sistema.service.ProdutosService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Análise do catálogo (ativos com estoque até 5: quantidade e soma dos preços) pelas
+ * entidades de buscarPorStatus e pelo instantâneo colunar.
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="CatalogoColunarBenchmark"
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="CatalogoColunarBenchmark -p produtos=200000"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class CatalogoColunarBenchmark {
+
+    private static final int ESTOQUE_BAIXO = 5;
+
+    private static final ColunasProdutos.Filtro FILTRO = new ColunasProdutos.Filtro(true, null, null, ESTOQUE_BAIXO);
+
+    @Param("50000")
+    public int produtos;
+
+    private ConfigurableApplicationContext contexto;
+    private ProdutosRepository repository;
+    private CatalogoColunar catalogoColunar;
+    private TransactionTemplate leitura;
+
+    @Setup
+    public void preparar() {
+        contexto = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.jpa.show-sql=false", "--logging.level.root=WARN",
+                        "--logging.level.com.empresa.sistema=WARN");
+        repository = contexto.getBean(ProdutosRepository.class);
+        catalogoColunar = contexto.getBean(CatalogoColunar.class);
+        popularCatalogo(contexto.getBean(ProdutosService.class), produtos);
+        catalogoColunar.reconstruir();
+        leitura = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+        leitura.setReadOnly(true);
+
+        // Os dois lados têm de medir a mesma resposta
+        ColunasProdutos.Estatisticas estatisticas = colunar();
+        long[] esperado = {estatisticas.quantidade(), estatisticas.somaPrecosCentavos()};
+        if (!Arrays.equals(esperado, entidades())) {
+            throw new IllegalStateException("Instantâneo colunar diverge das entidades");
+        }
+    }
+
+    @TearDown
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public long[] entidades() {
+        return leitura.execute(status -> {
+            long quantidade = 0;
+            BigDecimal soma = BigDecimal.ZERO;
+            for (Produtos produto : repository.buscarPorStatus(true)) {
+                if (produto.getEstoque() != null && produto.getEstoque() <= ESTOQUE_BAIXO) {
+                    quantidade++;
+                    soma = produto.getPreco() != null ? soma.add(produto.getPreco()) : soma;
+                }
+            }
+            return new long[] {quantidade, soma.movePointRight(2).longValueExact()};
+        });
+    }
+
+    @Benchmark
+    public ColunasProdutos.Estatisticas colunar() {
+        return catalogoColunar.colunas().estatisticas(FILTRO, new long[0]);
+    }
+
+    private static void popularCatalogo(ProdutosService service, int quantidade) {
+        List<Produtos> lote = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            Produtos produto = new Produtos();
+            produto.setNome("Produto colunar benchmark " + i);
+            produto.setPreco(BigDecimal.valueOf(100 + i % 9_900, 2));
+            produto.setEstoque(i % 50);
+            produto.setAtivo(i % 4 != 0);
+            lote.add(produto);
+            if (lote.size() == 10_000) {
+                service.salvarLote(lote);
+                lote = new ArrayList<>();
+            }
+        }
+        if (!lote.isEmpty()) {
+            service.salvarLote(lote);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.empresa.sistema.benchmark;
+
+import com.empresa.Application;
+import com.empresa.sistema.entity.Produtos;
+import com.empresa.sistema.service.ProdutosService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Vazão de ajustes de estoque com N escritores concorrentes (threads do JMH) no mesmo
+ * produto, com controle otimista e novas tentativas. Os conflitos que esgotam as
+ * tentativas aparecem no contador "esgotados"; ao fim, nenhum ajuste concluído pode
+ * ter se perdido.
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="EstoqueContencaoBenchmark -t 16"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@Threads(4)
+public class EstoqueContencaoBenchmark {
+
+    private ConfigurableApplicationContext contexto;
+    private ProdutosService service;
+    private Long id;
+    private final AtomicLong concluidos = new AtomicLong();
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Conflitos {
+        public long esgotados;
+    }
+
+    @Setup
+    public void preparar() {
+        contexto = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.jpa.show-sql=false", "--logging.level.root=WARN",
+                        "--logging.level.com.empresa.sistema=WARN");
+        service = contexto.getBean(ProdutosService.class);
+        Produtos produto = new Produtos();
+        produto.setNome("Produto contenção");
+        produto.setPreco(BigDecimal.TEN);
+        produto.setEstoque(0);
+        id = service.salvar(produto).getId();
+    }
+
+    @TearDown
+    public void encerrar() {
+        // Lê pelo ajuste nulo, que passa pela transação e não pelo cache de aplicação
+        long estoque = service.ajustarEstoque(id, 0).orElseThrow().getEstoque();
+        contexto.close();
+        if (estoque != concluidos.get()) {
+            throw new IllegalStateException("Ajustes perdidos: estoque " + estoque + ", concluídos " + concluidos.get());
+        }
+    }
+
+    @Benchmark
+    public void ajustar(Conflitos conflitos) {
+        try {
+            service.ajustarEstoque(id, 1);
+            concluidos.incrementAndGet();
+        } catch (OptimisticLockingFailureException e) {
+            conflitos.esgotados++;
+        }
+    }
+}
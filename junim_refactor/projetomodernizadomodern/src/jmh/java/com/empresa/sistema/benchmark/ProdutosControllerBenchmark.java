@@ -0,0 +1,114 @@
+package com.empresa.sistema.benchmark;
+
+import com.empresa.Application;
+import com.empresa.sistema.entity.Produtos;
+import com.empresa.sistema.service.ProdutosService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão de GET /api/produtos sob alta concorrência: cada operação dispara {@code clientes}
+ * requisições simultâneas e espera todas; req/s = clientes / tempo da operação.
+ * Threads virtuais exigem JDK 21 (profile java21); em 17 a propriedade não tem efeito.
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="ProdutosControllerBenchmark"
+ * mvn -Pjava21,jmh test-compile exec:exec -Djmh.args="ProdutosControllerBenchmark -p threadsVirtuais=false,true"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 4, time = 5)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ProdutosControllerBenchmark {
+
+    @Param("2000")
+    public int clientes;
+
+    @Param("false")
+    public boolean threadsVirtuais;
+
+    private ConfigurableApplicationContext contexto;
+    private ExecutorService executor;
+    private HttpClient http;
+    private HttpRequest requisicao;
+
+    @Setup
+    public void preparar() {
+        contexto = new SpringApplicationBuilder(Application.class)
+                .run("--server.port=0", "--spring.threads.virtual.enabled=" + threadsVirtuais,
+                        "--spring.jpa.show-sql=false", "--logging.level.root=WARN",
+                        "--logging.level.com.empresa.sistema=WARN", "--logging.level.org.springframework.web=WARN");
+        popularCatalogo(contexto.getBean(ProdutosService.class), 500);
+        int porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        http = HttpClient.newBuilder().executor(executor).build();
+        requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/api/api/produtos?tamanho=20"))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    @TearDown
+    public void encerrar() {
+        executor.shutdownNow();
+        contexto.close();
+    }
+
+    @Benchmark
+    public int listar() {
+        List<CompletableFuture<HttpResponse<Void>>> respostas = new ArrayList<>(clientes);
+        for (int i = 0; i < clientes; i++) {
+            respostas.add(http.sendAsync(requisicao, HttpResponse.BodyHandlers.discarding()));
+        }
+        int concluidas = 0;
+        for (CompletableFuture<HttpResponse<Void>> resposta : respostas) {
+            // Erro ou status diferente de 200 invalida a medição
+            int status = resposta.join().statusCode();
+            if (status != 200) {
+                throw new IllegalStateException("GET /api/produtos respondeu " + status);
+            }
+            concluidas++;
+        }
+        return concluidas;
+    }
+
+    private static void popularCatalogo(ProdutosService service, int quantidade) {
+        List<Produtos> produtos = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            Produtos produto = new Produtos();
+            produto.setNome("Produto benchmark " + i);
+            produto.setDescricao("Descrição do produto " + i);
+            produto.setPreco(BigDecimal.valueOf(10 + i % 90));
+            produto.setEstoque(100);
+            produtos.add(produto);
+        }
+        service.salvarLote(produtos);
+    }
+}
@@ -0,0 +1,112 @@
+package com.empresa.sistema.benchmark;
+
+import com.empresa.Application;
+import com.empresa.sistema.dto.ItemVenda;
+import com.empresa.sistema.dto.RegistroVenda;
+import com.empresa.sistema.entity.Produtos;
+import com.empresa.sistema.repository.VendasRepository;
+import com.empresa.sistema.service.ProdutosService;
+import com.empresa.sistema.service.VendasService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Vazão do registro de vendas com N caixas simultâneos (threads do JMH), cupons de 1 a 5
+ * linhas. Linhas gravadas e cupons recusados por espera (503) por segundo aparecem nos
+ * contadores "linhas" e "erros"; ao fim, a tabela tem de ter exatamente as linhas aceitas.
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="VendasIngestaoBenchmark -t 64"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@Threads(8)
+public class VendasIngestaoBenchmark {
+
+    private ConfigurableApplicationContext contexto;
+    private VendasService service;
+    private VendasRepository repository;
+    private List<Long> produtos;
+    private long linhasIniciais;
+    private final AtomicLong linhasAceitas = new AtomicLong();
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Contadores {
+        public long linhas;
+        public long erros;
+    }
+
+    @Setup
+    public void preparar() {
+        contexto = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.jpa.show-sql=false", "--logging.level.root=WARN",
+                        "--logging.level.com.empresa.sistema=WARN");
+        service = contexto.getBean(VendasService.class);
+        repository = contexto.getBean(VendasRepository.class);
+        produtos = popularCatalogo(contexto.getBean(ProdutosService.class), 200);
+        linhasIniciais = repository.count();
+    }
+
+    @TearDown
+    public void encerrar() {
+        long linhas = repository.count() - linhasIniciais;
+        contexto.close();
+        if (linhas != linhasAceitas.get()) {
+            throw new IllegalStateException("Linhas gravadas " + linhas + ", aceitas " + linhasAceitas.get());
+        }
+    }
+
+    @Benchmark
+    public void registrar(Contadores contadores) {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        List<ItemVenda> itens = new ArrayList<>();
+        for (int l = aleatorio.nextInt(1, 6); l > 0; l--) {
+            itens.add(new ItemVenda(produtos.get(aleatorio.nextInt(produtos.size())), aleatorio.nextInt(1, 4)));
+        }
+        try {
+            service.registrar(new RegistroVenda(null, itens));
+            contadores.linhas += itens.size();
+            linhasAceitas.addAndGet(itens.size());
+        } catch (IllegalStateException e) {
+            contadores.erros++;
+        }
+    }
+
+    private static List<Long> popularCatalogo(ProdutosService service, int quantidade) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            Produtos produto = new Produtos();
+            produto.setNome("Produto vendas benchmark " + i);
+            produto.setPreco(BigDecimal.valueOf(5 + i % 50));
+            ids.add(service.salvar(produto).getId());
+        }
+        return ids;
+    }
+}
@@ -1,4 +1,4 @@
-package com.empresa.projetomodernizadomodern;
+package com.empresa;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
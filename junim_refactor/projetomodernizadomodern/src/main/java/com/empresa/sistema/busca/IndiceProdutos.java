@@ -0,0 +1,271 @@
+package com.empresa.sistema.busca;
+
+import com.empresa.sistema.dto.ProdutoEncontrado;
+import com.empresa.sistema.dto.ResultadoBusca;
+import com.empresa.sistema.entity.Produtos;
+import com.empresa.sistema.event.EstoqueGravadoEvent;
+import com.empresa.sistema.event.ProdutoRemovidoEvent;
+import com.empresa.sistema.event.ProdutoSalvoEvent;
+import com.empresa.sistema.event.ProdutosAlteradosEvent;
+import com.empresa.sistema.repository.ProdutosRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.br.BrazilianAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Índice invertido (Lucene) sobre nome e descrição dos produtos.
+ * Reconstruído na inicialização e mantido incrementalmente pelos eventos de escrita,
+ * aplicados após o commit. Os campos exibidos na busca ficam armazenados no índice,
+ * de modo que a consulta não acessa o banco.
+ */
+@Component
+public class IndiceProdutos {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceProdutos.class);
+
+    // Profundidade máxima de paginação (pagina * tamanho)
+    private static final int PROFUNDIDADE_MAXIMA = 10_000;
+
+    private static final Map<String, Float> PESOS = Map.of("nome", 3.0f, "descricao", 1.0f);
+
+    @Autowired
+    private ProdutosRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.busca.diretorio:}")
+    private String diretorio;
+
+    private final Analyzer analyzer = new BrazilianAnalyzer();
+    private final Object escrita = new Object();
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private volatile boolean alteracoesPendentes;
+
+    @PostConstruct
+    public void abrir() throws IOException {
+        directory = diretorio.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(diretorio));
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE);
+        writer = new IndexWriter(directory, config);
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    @PreDestroy
+    public void fechar() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    /**
+     * Reconstrói o índice inteiro a partir do banco
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        synchronized (escrita) {
+            TransactionTemplate leitura = novaTransacaoLeitura();
+            leitura.executeWithoutResult(status -> {
+                try (Stream<Produtos> produtos = repository.streamTodos()) {
+                    writer.deleteAll();
+                    produtos.forEach(this::indexar);
+                    writer.commit();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            alteracoesPendentes = true;
+        }
+        log.info("Índice de produtos reconstruído com {} documentos", writer.getDocStats().numDocs);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoSalvar(ProdutoSalvoEvent evento) {
+        synchronized (escrita) {
+            indexar(evento.produto());
+            alteracoesPendentes = true;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoRemover(ProdutoRemovidoEvent evento) {
+        synchronized (escrita) {
+            remover(evento.id());
+            alteracoesPendentes = true;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarEmMassa(ProdutosAlteradosEvent evento) {
+        if (evento.isTodos()) {
+            reconstruir();
+            return;
+        }
+        reindexar(evento.ids());
+    }
+
+    /**
+     * Baixas de estoque das reservas gravadas em lote: o estoque armazenado no índice é relido
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoGravarEstoque(EstoqueGravadoEvent evento) {
+        reindexar(evento.ids());
+    }
+
+    private void reindexar(Collection<Long> ids) {
+        synchronized (escrita) {
+            Set<Long> restantes = new HashSet<>(ids);
+            novaTransacaoLeitura().executeWithoutResult(status -> {
+                for (Produtos produto : repository.findAllById(ids)) {
+                    indexar(produto);
+                    restantes.remove(produto.getId());
+                }
+            });
+            restantes.forEach(this::remover);
+            alteracoesPendentes = true;
+        }
+    }
+
+    /**
+     * Busca textual ordenada por relevância (nome pesa mais que descrição), apenas ativos
+     */
+    public ResultadoBusca<ProdutoEncontrado> buscar(String termos, int pagina, int tamanho) {
+        if (termos == null || termos.isBlank()) {
+            throw new IllegalArgumentException("Informe os termos da busca");
+        }
+        if (pagina < 0 || tamanho < 1 || (long) (pagina + 1) * tamanho > PROFUNDIDADE_MAXIMA) {
+            throw new IllegalArgumentException("Paginação fora do limite de " + PROFUNDIDADE_MAXIMA + " resultados");
+        }
+        Query consulta = new BooleanQuery.Builder()
+                .add(interpretar(termos), BooleanClause.Occur.MUST)
+                .add(new TermQuery(new Term("ativo", "true")), BooleanClause.Occur.FILTER)
+                .build();
+        try {
+            atualizarLeitor();
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs encontrados = searcher.search(consulta, (pagina + 1) * tamanho);
+                StoredFields campos = searcher.storedFields();
+                List<ProdutoEncontrado> itens = new ArrayList<>();
+                ScoreDoc[] documentos = encontrados.scoreDocs;
+                for (int i = pagina * tamanho; i < documentos.length; i++) {
+                    Document documento = campos.document(documentos[i].doc);
+                    itens.add(new ProdutoEncontrado(
+                            Long.valueOf(documento.get("id")),
+                            documento.get("nome"),
+                            documento.get("preco") == null ? null : new BigDecimal(documento.get("preco")),
+                            documento.getField("estoque").numericValue().intValue(),
+                            documentos[i].score));
+                }
+                return new ResultadoBusca<>(itens, encontrados.totalHits.value, pagina, tamanho);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Query interpretar(String termos) {
+        MultiFieldQueryParser parser = new MultiFieldQueryParser(
+                PESOS.keySet().toArray(new String[0]), analyzer, PESOS);
+        try {
+            return parser.parse(QueryParser.escape(termos));
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("Termos de busca inválidos", e);
+        }
+    }
+
+    /**
+     * Reabre o leitor NRT somente se houve escrita desde a última busca
+     */
+    private void atualizarLeitor() throws IOException {
+        if (alteracoesPendentes) {
+            alteracoesPendentes = false;
+            searcherManager.maybeRefreshBlocking();
+        }
+    }
+
+    private void indexar(Produtos produto) {
+        Document documento = new Document();
+        documento.add(new StringField("id", String.valueOf(produto.getId()), Field.Store.YES));
+        documento.add(new TextField("nome", produto.getNome(), Field.Store.YES));
+        if (produto.getDescricao() != null) {
+            documento.add(new TextField("descricao", produto.getDescricao(), Field.Store.NO));
+        }
+        documento.add(new StringField("ativo", String.valueOf(Boolean.TRUE.equals(produto.isAtivo())), Field.Store.NO));
+        if (produto.getPreco() != null) {
+            documento.add(new StoredField("preco", produto.getPreco().toPlainString()));
+        }
+        documento.add(new StoredField("estoque", produto.getEstoque() == null ? 0 : produto.getEstoque()));
+        try {
+            writer.updateDocument(new Term("id", String.valueOf(produto.getId())), documento);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void remover(Long id) {
+        try {
+            writer.deleteDocuments(new Term("id", String.valueOf(id)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private TransactionTemplate novaTransacaoLeitura() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        template.setReadOnly(true);
+        return template;
+    }
+}
@@ -0,0 +1,265 @@
+package com.empresa.sistema.busca;
+
+import com.empresa.sistema.dto.Sugestao;
+import com.empresa.sistema.entity.Clientes;
+import com.empresa.sistema.entity.Produtos;
+import com.empresa.sistema.entity.Vendas;
+import com.empresa.sistema.event.ClienteRemovidoEvent;
+import com.empresa.sistema.event.ClienteSalvoEvent;
+import com.empresa.sistema.event.ClientesAlteradosEvent;
+import com.empresa.sistema.event.ProdutoRemovidoEvent;
+import com.empresa.sistema.event.ProdutoSalvoEvent;
+import com.empresa.sistema.event.ProdutosAlteradosEvent;
+import com.empresa.sistema.event.VendasRegistradasEvent;
+import com.empresa.sistema.repository.ClientesRepository;
+import com.empresa.sistema.repository.ProdutosRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+/**
+ * Sugestões de autocompletar para nomes de produtos e clientes ativos.
+ * As tries são construídas na inicialização e mantidas pelos eventos de escrita,
+ * aplicados após o commit; a consulta não acessa o banco. A popularidade parte dos
+ * resumos de vendas (quantidade vendida por produto, compras por cliente) e depois
+ * acompanha as vendas registradas.
+ */
+@Component
+public class IndiceSugestoes {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceSugestoes.class);
+
+    // Sugestões mantidas por nó da trie; é também o máximo devolvido por consulta
+    public static final int MAXIMO_SUGESTOES = 10;
+
+    @Autowired
+    private ProdutosRepository produtosRepository;
+
+    @Autowired
+    private ClientesRepository clientesRepository;
+
+    private static final String SQL_VENDIDOS = "SELECT produto_id, SUM(quantidade) FROM vendas_mensais GROUP BY produto_id";
+
+    private static final String SQL_COMPRAS = "SELECT cliente_id, compras FROM clientes_resumo";
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Object escrita = new Object();
+    private volatile TriePrefixos produtos = new TriePrefixos(MAXIMO_SUGESTOES);
+    private volatile TriePrefixos clientes = new TriePrefixos(MAXIMO_SUGESTOES);
+
+    public List<Sugestao> sugerirProdutos(String prefixo, int limite) {
+        return sugerir(produtos, prefixo, limite);
+    }
+
+    public List<Sugestao> sugerirClientes(String prefixo, int limite) {
+        return sugerir(clientes, prefixo, limite);
+    }
+
+    /**
+     * Soma {@code delta} à popularidade do produto, que ordena as sugestões
+     */
+    public void registrarPopularidadeProduto(Long id, long delta) {
+        synchronized (escrita) {
+            produtos.ajustarPopularidade(id, delta);
+        }
+    }
+
+    /**
+     * Soma {@code delta} à popularidade do cliente, que ordena as sugestões
+     */
+    public void registrarPopularidadeCliente(Long id, long delta) {
+        synchronized (escrita) {
+            clientes.ajustarPopularidade(id, delta);
+        }
+    }
+
+    /**
+     * Vendas tornam produtos (pela quantidade) e clientes (por cupom) mais populares.
+     * Os incrementos do lote são somados antes, para reposicionar cada entrada uma só vez.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoRegistrarVendas(VendasRegistradasEvent evento) {
+        Map<Long, Long> porProduto = new HashMap<>();
+        Map<Long, Long> porCliente = new HashMap<>();
+        for (List<Vendas> cupom : evento.cupons()) {
+            for (Vendas venda : cupom) {
+                porProduto.merge(venda.getProdutoId(), (long) venda.getQuantidade(), Long::sum);
+            }
+            Long clienteId = cupom.get(0).getClienteId();
+            if (clienteId != null) {
+                porCliente.merge(clienteId, 1L, Long::sum);
+            }
+        }
+        synchronized (escrita) {
+            porProduto.forEach(produtos::ajustarPopularidade);
+            porCliente.forEach(clientes::ajustarPopularidade);
+        }
+    }
+
+    /**
+     * Reconstrói as duas tries a partir do banco, com a popularidade lida dos resumos de vendas
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        Map<Long, Long> vendidos = new HashMap<>();
+        Map<Long, Long> compras = new HashMap<>();
+        novaTransacaoLeitura().executeWithoutResult(status -> {
+            jdbcTemplate.query(SQL_VENDIDOS, rs -> {
+                vendidos.put(rs.getLong(1), rs.getLong(2));
+            });
+            jdbcTemplate.query(SQL_COMPRAS, rs -> {
+                compras.put(rs.getLong(1), rs.getLong(2));
+            });
+        });
+        reconstruirProdutos(id -> vendidos.getOrDefault(id, 0L));
+        reconstruirClientes(id -> compras.getOrDefault(id, 0L));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoSalvarProduto(ProdutoSalvoEvent evento) {
+        synchronized (escrita) {
+            indexar(evento.produto());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoRemoverProduto(ProdutoRemovidoEvent evento) {
+        synchronized (escrita) {
+            produtos.remover(evento.id());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarProdutosEmMassa(ProdutosAlteradosEvent evento) {
+        if (evento.isTodos()) {
+            reconstruirProdutos(null);
+            return;
+        }
+        synchronized (escrita) {
+            Set<Long> restantes = new HashSet<>(evento.ids());
+            novaTransacaoLeitura().executeWithoutResult(status -> {
+                for (Produtos produto : produtosRepository.findAllById(evento.ids())) {
+                    indexar(produto);
+                    restantes.remove(produto.getId());
+                }
+            });
+            restantes.forEach(produtos::remover);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoSalvarCliente(ClienteSalvoEvent evento) {
+        synchronized (escrita) {
+            indexar(evento.cliente());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoRemoverCliente(ClienteRemovidoEvent evento) {
+        synchronized (escrita) {
+            clientes.remover(evento.id());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarClientesEmMassa(ClientesAlteradosEvent evento) {
+        if (evento.isTodos()) {
+            reconstruirClientes(null);
+            return;
+        }
+        synchronized (escrita) {
+            Set<Long> restantes = new HashSet<>(evento.ids());
+            novaTransacaoLeitura().executeWithoutResult(status -> {
+                for (Clientes cliente : clientesRepository.findAllById(evento.ids())) {
+                    indexar(cliente);
+                    restantes.remove(cliente.getId());
+                }
+            });
+            restantes.forEach(clientes::remover);
+        }
+    }
+
+    // Sem popularidade informada, cada entrada mantém a da trie anterior
+    private void reconstruirProdutos(ToLongFunction<Long> popularidade) {
+        synchronized (escrita) {
+            ToLongFunction<Long> inicial = popularidade != null ? popularidade : produtos::popularidade;
+            TriePrefixos nova = new TriePrefixos(MAXIMO_SUGESTOES);
+            novaTransacaoLeitura().executeWithoutResult(status -> {
+                try (Stream<Produtos> registros = produtosRepository.streamTodos()) {
+                    registros.filter(p -> Boolean.TRUE.equals(p.isAtivo()))
+                            .forEach(p -> nova.colocar(p.getId(), p.getNome(), inicial.applyAsLong(p.getId())));
+                }
+            });
+            produtos = nova;
+            log.info("Sugestões de produtos reconstruídas com {} nomes", nova.tamanho());
+        }
+    }
+
+    private void reconstruirClientes(ToLongFunction<Long> popularidade) {
+        synchronized (escrita) {
+            ToLongFunction<Long> inicial = popularidade != null ? popularidade : clientes::popularidade;
+            TriePrefixos nova = new TriePrefixos(MAXIMO_SUGESTOES);
+            novaTransacaoLeitura().executeWithoutResult(status -> {
+                try (Stream<Clientes> registros = clientesRepository.streamTodos()) {
+                    registros.filter(c -> Boolean.TRUE.equals(c.isAtivo()))
+                            .forEach(c -> nova.colocar(c.getId(), c.getNome(), inicial.applyAsLong(c.getId())));
+                }
+            });
+            clientes = nova;
+            log.info("Sugestões de clientes reconstruídas com {} nomes", nova.tamanho());
+        }
+    }
+
+    private void indexar(Produtos produto) {
+        if (Boolean.TRUE.equals(produto.isAtivo())) {
+            produtos.colocar(produto.getId(), produto.getNome());
+        } else {
+            produtos.remover(produto.getId());
+        }
+    }
+
+    private void indexar(Clientes cliente) {
+        if (Boolean.TRUE.equals(cliente.isAtivo())) {
+            clientes.colocar(cliente.getId(), cliente.getNome());
+        } else {
+            clientes.remover(cliente.getId());
+        }
+    }
+
+    private static List<Sugestao> sugerir(TriePrefixos trie, String prefixo, int limite) {
+        if (prefixo == null || prefixo.isBlank()) {
+            throw new IllegalArgumentException("Informe o prefixo");
+        }
+        return trie.sugerir(prefixo, Math.max(1, Math.min(limite, MAXIMO_SUGESTOES))).stream()
+                .map(e -> new Sugestao(e.id(), e.nome()))
+                .toList();
+    }
+
+    private TransactionTemplate novaTransacaoLeitura() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        template.setReadOnly(true);
+        return template;
+    }
+}
@@ -0,0 +1,322 @@
+package com.empresa.sistema.busca;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Trie de prefixos para autocompletar nomes.
+ * Cada nome é indexado pelo texto completo e a partir de cada palavra, normalizado
+ * (minúsculas, sem acentos). Cada nó guarda as {@code capacidade} melhores entradas
+ * da sua subárvore, de modo que a sugestão é apenas a descida pelo prefixo.
+ * Leituras concorrentes; escritas exclusivas.
+ */
+public class TriePrefixos {
+
+    /**
+     * Entrada indexada; a ordem é popularidade decrescente, depois nome e id
+     */
+    public record Entrada(Long id, String nome, long popularidade) {
+    }
+
+    private static final Comparator<Entrada> ORDEM = Comparator
+            .comparingLong(Entrada::popularidade).reversed()
+            .thenComparing(Entrada::nome)
+            .thenComparing(Entrada::id);
+
+    private static final Entrada[] NENHUMA = new Entrada[0];
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    private static final class No {
+        char[] rotulos = new char[0];
+        No[] filhos = new No[0];
+        Entrada[] terminais = NENHUMA;
+        Entrada[] melhores = NENHUMA;
+
+        No filho(char c) {
+            int i = Arrays.binarySearch(rotulos, c);
+            return i >= 0 ? filhos[i] : null;
+        }
+
+        No filhoOuNovo(char c) {
+            int i = Arrays.binarySearch(rotulos, c);
+            if (i >= 0) {
+                return filhos[i];
+            }
+            int posicao = -i - 1;
+            No novo = new No();
+            char[] novosRotulos = new char[rotulos.length + 1];
+            No[] novosFilhos = new No[filhos.length + 1];
+            System.arraycopy(rotulos, 0, novosRotulos, 0, posicao);
+            System.arraycopy(filhos, 0, novosFilhos, 0, posicao);
+            novosRotulos[posicao] = c;
+            novosFilhos[posicao] = novo;
+            System.arraycopy(rotulos, posicao, novosRotulos, posicao + 1, rotulos.length - posicao);
+            System.arraycopy(filhos, posicao, novosFilhos, posicao + 1, filhos.length - posicao);
+            rotulos = novosRotulos;
+            filhos = novosFilhos;
+            return novo;
+        }
+
+        void removerFilho(char c) {
+            int i = Arrays.binarySearch(rotulos, c);
+            if (i < 0) {
+                return;
+            }
+            char[] novosRotulos = new char[rotulos.length - 1];
+            No[] novosFilhos = new No[filhos.length - 1];
+            System.arraycopy(rotulos, 0, novosRotulos, 0, i);
+            System.arraycopy(filhos, 0, novosFilhos, 0, i);
+            System.arraycopy(rotulos, i + 1, novosRotulos, i, rotulos.length - i - 1);
+            System.arraycopy(filhos, i + 1, novosFilhos, i, filhos.length - i - 1);
+            rotulos = novosRotulos;
+            filhos = novosFilhos;
+        }
+
+        boolean vazio() {
+            return rotulos.length == 0 && terminais.length == 0;
+        }
+    }
+
+    private final int capacidade;
+    private final No raiz = new No();
+    private final Map<Long, Entrada> entradas = new HashMap<>();
+    private final ReadWriteLock trava = new ReentrantReadWriteLock();
+
+    public TriePrefixos(int capacidade) {
+        if (capacidade < 1) {
+            throw new IllegalArgumentException("Capacidade deve ser positiva");
+        }
+        this.capacidade = capacidade;
+    }
+
+    /**
+     * Inclui ou renomeia uma entrada, preservando a popularidade já acumulada
+     */
+    public void colocar(Long id, String nome) {
+        trava.writeLock().lock();
+        try {
+            Entrada atual = entradas.get(id);
+            colocarSemTrava(id, nome, atual == null ? 0 : atual.popularidade());
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Inclui ou substitui uma entrada com a popularidade informada
+     */
+    public void colocar(Long id, String nome, long popularidade) {
+        trava.writeLock().lock();
+        try {
+            colocarSemTrava(id, nome, popularidade);
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Soma {@code delta} à popularidade da entrada; ignora ids não indexados
+     */
+    public void ajustarPopularidade(Long id, long delta) {
+        trava.writeLock().lock();
+        try {
+            Entrada atual = entradas.get(id);
+            if (atual != null) {
+                colocarSemTrava(id, atual.nome(), atual.popularidade() + delta);
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    public void remover(Long id) {
+        trava.writeLock().lock();
+        try {
+            removerSemTrava(id);
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Popularidade atual da entrada, ou zero se não indexada
+     */
+    public long popularidade(Long id) {
+        trava.readLock().lock();
+        try {
+            Entrada atual = entradas.get(id);
+            return atual == null ? 0 : atual.popularidade();
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        trava.readLock().lock();
+        try {
+            return entradas.size();
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Até {@code limite} entradas (no máximo a capacidade) cujo nome, ou uma de suas
+     * palavras, começa pelo prefixo
+     */
+    public List<Entrada> sugerir(String prefixo, int limite) {
+        String chave = normalizar(prefixo);
+        if (chave.isEmpty()) {
+            return List.of();
+        }
+        trava.readLock().lock();
+        try {
+            No no = raiz;
+            for (int i = 0; i < chave.length() && no != null; i++) {
+                no = no.filho(chave.charAt(i));
+            }
+            if (no == null) {
+                return List.of();
+            }
+            return List.of(no.melhores).subList(0, Math.min(limite, no.melhores.length));
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Minúsculas, sem acentos e com espaços simples; o espaço final é mantido para
+     * que "arroz " sugira apenas nomes com mais de uma palavra
+     */
+    static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcentos = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACOS.matcher(semAcentos.toLowerCase(Locale.ROOT)).replaceAll(" ").stripLeading();
+    }
+
+    private static Set<String> chaves(String nome) {
+        String completo = normalizar(nome).strip();
+        Set<String> chaves = new LinkedHashSet<>();
+        if (completo.isEmpty()) {
+            return chaves;
+        }
+        chaves.add(completo);
+        for (int i = completo.indexOf(' '); i >= 0; i = completo.indexOf(' ', i + 1)) {
+            chaves.add(completo.substring(i + 1));
+        }
+        return chaves;
+    }
+
+    private void colocarSemTrava(Long id, String nome, long popularidade) {
+        removerSemTrava(id);
+        Entrada entrada = new Entrada(id, nome, popularidade);
+        Set<String> chaves = chaves(nome);
+        if (chaves.isEmpty()) {
+            return;
+        }
+        entradas.put(id, entrada);
+        for (String chave : chaves) {
+            No no = raiz;
+            oferecer(no, entrada);
+            for (int i = 0; i < chave.length(); i++) {
+                no = no.filhoOuNovo(chave.charAt(i));
+                oferecer(no, entrada);
+            }
+            no.terminais = acrescentar(no.terminais, entrada);
+        }
+    }
+
+    private void removerSemTrava(Long id) {
+        Entrada entrada = entradas.remove(id);
+        if (entrada == null) {
+            return;
+        }
+        for (String chave : chaves(entrada.nome())) {
+            No[] caminho = new No[chave.length() + 1];
+            caminho[0] = raiz;
+            for (int i = 0; i < chave.length(); i++) {
+                caminho[i + 1] = caminho[i].filho(chave.charAt(i));
+            }
+            No ultimo = caminho[chave.length()];
+            ultimo.terminais = retirar(ultimo.terminais, id);
+            // De baixo para cima: poda nós vazios e recalcula os melhores onde a entrada aparecia
+            for (int i = chave.length(); i >= 0; i--) {
+                No no = caminho[i];
+                if (i > 0 && no.vazio()) {
+                    caminho[i - 1].removerFilho(chave.charAt(i - 1));
+                } else if (contem(no.melhores, id)) {
+                    recalcular(no);
+                }
+            }
+        }
+    }
+
+    /**
+     * Insere a entrada entre os melhores do nó, se couber
+     */
+    private void oferecer(No no, Entrada entrada) {
+        Entrada[] melhores = no.melhores;
+        if (contem(melhores, entrada.id())) {
+            return;
+        }
+        if (melhores.length == capacidade && ORDEM.compare(entrada, melhores[capacidade - 1]) >= 0) {
+            return;
+        }
+        int posicao = Arrays.binarySearch(melhores, entrada, ORDEM);
+        posicao = posicao >= 0 ? posicao : -posicao - 1;
+        int tamanho = Math.min(melhores.length + 1, capacidade);
+        Entrada[] novos = new Entrada[tamanho];
+        System.arraycopy(melhores, 0, novos, 0, posicao);
+        novos[posicao] = entrada;
+        System.arraycopy(melhores, posicao, novos, posicao + 1, tamanho - posicao - 1);
+        no.melhores = novos;
+    }
+
+    /**
+     * Melhores do nó a partir dos seus terminais e dos melhores de cada filho
+     */
+    private void recalcular(No no) {
+        List<Entrada> candidatas = new ArrayList<>(Arrays.asList(no.terminais));
+        for (No filho : no.filhos) {
+            candidatas.addAll(Arrays.asList(filho.melhores));
+        }
+        no.melhores = candidatas.stream()
+                .distinct()
+                .sorted(ORDEM)
+                .limit(capacidade)
+                .toArray(Entrada[]::new);
+    }
+
+    private static boolean contem(Entrada[] lista, Long id) {
+        for (Entrada entrada : lista) {
+            if (entrada.id().equals(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Entrada[] acrescentar(Entrada[] lista, Entrada entrada) {
+        Entrada[] novos = Arrays.copyOf(lista, lista.length + 1);
+        novos[lista.length] = entrada;
+        return novos;
+    }
+
+    private static Entrada[] retirar(Entrada[] lista, Long id) {
+        return Arrays.stream(lista).filter(e -> !e.id().equals(id)).toArray(Entrada[]::new);
+    }
+}
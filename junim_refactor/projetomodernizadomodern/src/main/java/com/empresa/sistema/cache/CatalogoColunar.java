@@ -0,0 +1,98 @@
+package com.empresa.sistema.cache;
+
+import com.empresa.sistema.event.EstoqueGravadoEvent;
+import com.empresa.sistema.event.ProdutoRemovidoEvent;
+import com.empresa.sistema.event.ProdutoSalvoEvent;
+import com.empresa.sistema.event.ProdutosAlteradosEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Instantâneo colunar do catálogo (ColunasProdutos) para filtros e agregações sem
+ * entidades. É imutável e trocado por inteiro: as consultas sempre veem um instantâneo
+ * completo. As escritas em produtos apenas o marcam como desatualizado; a reconstrução
+ * roda em segundo plano a cada {@code app.catalogo-colunar.intervalo}, juntando as
+ * escritas do intervalo em uma só leitura da tabela.
+ */
+@Component
+public class CatalogoColunar {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogoColunar.class);
+
+    private static final String SQL_PRODUTOS = "SELECT id, nome, preco, estoque, ativo FROM produtos ORDER BY id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Object escrita = new Object();
+    private final AtomicBoolean desatualizado = new AtomicBoolean();
+    private volatile ColunasProdutos colunas = ColunasProdutos.vazio();
+
+    /**
+     * Instantâneo atual; pode estar até um intervalo de reconstrução atrás das escritas
+     */
+    public ColunasProdutos colunas() {
+        return colunas;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        synchronized (escrita) {
+            desatualizado.set(false);
+            long inicio = System.nanoTime();
+            ColunasProdutos.Construtor construtor = new ColunasProdutos.Construtor();
+            TransactionTemplate leitura = new TransactionTemplate(transactionManager);
+            leitura.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            leitura.setReadOnly(true);
+            // Estoque e status nulos são lidos como 0 e inativo
+            leitura.executeWithoutResult(status -> jdbcTemplate.query(SQL_PRODUTOS, rs -> {
+                construtor.adicionar(rs.getLong(1), rs.getString(2), rs.getBigDecimal(3), rs.getInt(4), rs.getBoolean(5));
+            }));
+            colunas = construtor.construir();
+            log.debug("Catálogo colunar reconstruído: {} produtos em {} ms", colunas.tamanho(),
+                    (System.nanoTime() - inicio) / 1_000_000);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.catalogo-colunar.intervalo:PT1S}")
+    public void reconstruirSeDesatualizado() {
+        if (desatualizado.get()) {
+            reconstruir();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoSalvarProduto(ProdutoSalvoEvent evento) {
+        desatualizado.set(true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoRemoverProduto(ProdutoRemovidoEvent evento) {
+        desatualizado.set(true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarProdutosEmMassa(ProdutosAlteradosEvent evento) {
+        desatualizado.set(true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoGravarEstoque(EstoqueGravadoEvent evento) {
+        desatualizado.set(true);
+    }
+}
@@ -0,0 +1,112 @@
+package com.empresa.sistema.cache;
+
+import com.empresa.sistema.dto.PrecoProduto;
+import com.empresa.sistema.entity.Produtos;
+import com.empresa.sistema.event.ProdutoRemovidoEvent;
+import com.empresa.sistema.event.ProdutoSalvoEvent;
+import com.empresa.sistema.event.ProdutosAlteradosEvent;
+import com.empresa.sistema.repository.ProdutosRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Nome, preço e status de todos os produtos em memória, para que o registro de vendas não
+ * consulte o banco por linha. Carregado na inicialização e mantido pelos eventos de
+ * escrita, após o commit, como os demais índices.
+ */
+@Component
+public class CatalogoProdutos {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogoProdutos.class);
+
+    @Autowired
+    private ProdutosRepository produtosRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Object escrita = new Object();
+    private final Map<Long, PrecoProduto> precos = new ConcurrentHashMap<>();
+
+    /**
+     * Nome, preço e status atuais; {@code null} se o produto não existe
+     */
+    public PrecoProduto buscar(Long id) {
+        return precos.get(id);
+    }
+
+    public int tamanho() {
+        return precos.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        synchronized (escrita) {
+            Set<Long> carregados = new HashSet<>();
+            novaTransacaoLeitura().executeWithoutResult(status -> {
+                try (Stream<PrecoProduto> todos = produtosRepository.streamPrecos()) {
+                    todos.forEach(preco -> {
+                        precos.put(preco.id(), preco);
+                        carregados.add(preco.id());
+                    });
+                }
+            });
+            precos.keySet().retainAll(carregados);
+            log.info("Catálogo de preços carregado: {} produtos", carregados.size());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoSalvarProduto(ProdutoSalvoEvent evento) {
+        Produtos produto = evento.produto();
+        synchronized (escrita) {
+            precos.put(produto.getId(), new PrecoProduto(produto.getId(), produto.getNome(), produto.getPreco(), produto.isAtivo()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoRemoverProduto(ProdutoRemovidoEvent evento) {
+        synchronized (escrita) {
+            precos.remove(evento.id());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarProdutosEmMassa(ProdutosAlteradosEvent evento) {
+        if (evento.isTodos()) {
+            reconstruir();
+            return;
+        }
+        synchronized (escrita) {
+            Set<Long> restantes = new HashSet<>(evento.ids());
+            novaTransacaoLeitura().executeWithoutResult(status -> {
+                for (PrecoProduto preco : produtosRepository.buscarPrecos(evento.ids())) {
+                    precos.put(preco.id(), preco);
+                    restantes.remove(preco.id());
+                }
+            });
+            precos.keySet().removeAll(restantes);
+        }
+    }
+
+    private TransactionTemplate novaTransacaoLeitura() {
+        TransactionTemplate leitura = new TransactionTemplate(transactionManager);
+        leitura.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        leitura.setReadOnly(true);
+        return leitura;
+    }
+}
@@ -0,0 +1,247 @@
+package com.empresa.sistema.cache;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Instantâneo imutável do catálogo em colunas de tipos primitivos: ids, preços em
+ * centavos, estoque, status ativo em bitset e nomes codificados por dicionário (ordenado,
+ * de modo que a ordem dos códigos é a ordem alfabética). Filtros e agregações percorrem
+ * os arrays sem criar objetos por linha; com filtro de status só as linhas com o bit
+ * correspondente são visitadas.
+ */
+public final class ColunasProdutos {
+
+    // Preço nulo no cadastro
+    public static final long SEM_PRECO = Long.MIN_VALUE;
+
+    /**
+     * Critérios combinados por E; campos nulos não filtram. Preço em centavos, inclusive
+     */
+    public record Filtro(Boolean ativo, Long precoMinimoCentavos, Long precoMaximoCentavos, Integer estoqueMaximo) {
+    }
+
+    /**
+     * Agregados das linhas filtradas. Preços em centavos e só das linhas com preço;
+     * {@code porFaixa[k]} conta os preços em [limites[k-1], limites[k])
+     */
+    public record Estatisticas(long quantidade, long quantidadeComPreco, long precoMinimoCentavos,
+                               long precoMaximoCentavos, long somaPrecosCentavos, long estoqueTotal,
+                               long valorEstoqueCentavos, long[] porFaixa) {
+    }
+
+    private static final ColunasProdutos VAZIO = new Construtor().construir();
+
+    private final int tamanho;
+    private final long[] ids;
+    private final long[] precosCentavos;
+    private final int[] estoques;
+    private final long[] ativos;
+    private final int[] codigosNome;
+    private final String[] dicionario;
+
+    private ColunasProdutos(int tamanho, long[] ids, long[] precosCentavos, int[] estoques, long[] ativos,
+                            int[] codigosNome, String[] dicionario) {
+        this.tamanho = tamanho;
+        this.ids = ids;
+        this.precosCentavos = precosCentavos;
+        this.estoques = estoques;
+        this.ativos = ativos;
+        this.codigosNome = codigosNome;
+        this.dicionario = dicionario;
+    }
+
+    public static ColunasProdutos vazio() {
+        return VAZIO;
+    }
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Nomes distintos no dicionário
+     */
+    public int nomesDistintos() {
+        return dicionario.length;
+    }
+
+    public long id(int linha) {
+        return ids[linha];
+    }
+
+    public String nome(int linha) {
+        return dicionario[codigosNome[linha]];
+    }
+
+    public long precoCentavos(int linha) {
+        return precosCentavos[linha];
+    }
+
+    public int estoque(int linha) {
+        return estoques[linha];
+    }
+
+    public boolean ativo(int linha) {
+        return (ativos[linha >>> 6] & (1L << linha)) != 0;
+    }
+
+    /**
+     * Linhas que atendem ao filtro; só com filtro de status é uma contagem de bits
+     */
+    public long contar(Filtro filtro) {
+        if (filtro.precoMinimoCentavos() == null && filtro.precoMaximoCentavos() == null && filtro.estoqueMaximo() == null) {
+            long quantidade = 0;
+            for (int palavra = 0; palavra < ativos.length; palavra++) {
+                quantidade += Long.bitCount(candidatas(palavra, filtro.ativo()));
+            }
+            return quantidade;
+        }
+        return estatisticas(filtro, new long[0]).quantidade();
+    }
+
+    /**
+     * Agrega as linhas filtradas, contando os preços nas faixas delimitadas por
+     * {@code limitesCentavos} (em ordem crescente)
+     */
+    public Estatisticas estatisticas(Filtro filtro, long[] limitesCentavos) {
+        boolean filtraPreco = filtro.precoMinimoCentavos() != null || filtro.precoMaximoCentavos() != null;
+        long precoMinimo = filtro.precoMinimoCentavos() != null ? filtro.precoMinimoCentavos() : Long.MIN_VALUE;
+        long precoMaximo = filtro.precoMaximoCentavos() != null ? filtro.precoMaximoCentavos() : Long.MAX_VALUE;
+        int estoqueMaximo = filtro.estoqueMaximo() != null ? filtro.estoqueMaximo() : Integer.MAX_VALUE;
+        long[] porFaixa = new long[limitesCentavos.length + 1];
+        long quantidade = 0;
+        long comPreco = 0;
+        long menor = Long.MAX_VALUE;
+        long maior = Long.MIN_VALUE;
+        long soma = 0;
+        long estoqueTotal = 0;
+        long valorEstoque = 0;
+        for (int palavra = 0; palavra < ativos.length; palavra++) {
+            long bits = candidatas(palavra, filtro.ativo());
+            while (bits != 0) {
+                int linha = (palavra << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                long preco = precosCentavos[linha];
+                int estoque = estoques[linha];
+                if (estoque > estoqueMaximo
+                        || (filtraPreco && (preco == SEM_PRECO || preco < precoMinimo || preco > precoMaximo))) {
+                    continue;
+                }
+                quantidade++;
+                estoqueTotal += estoque;
+                if (preco != SEM_PRECO) {
+                    comPreco++;
+                    soma += preco;
+                    menor = Math.min(menor, preco);
+                    maior = Math.max(maior, preco);
+                    valorEstoque += preco * estoque;
+                    porFaixa[faixa(limitesCentavos, preco)]++;
+                }
+            }
+        }
+        return new Estatisticas(quantidade, comPreco, comPreco > 0 ? menor : SEM_PRECO, comPreco > 0 ? maior : SEM_PRECO,
+                soma, estoqueTotal, valorEstoque, porFaixa);
+    }
+
+    /**
+     * Até {@code maximo} linhas que atendem ao filtro, em ordem de id
+     */
+    public int[] linhas(Filtro filtro, int maximo) {
+        boolean filtraPreco = filtro.precoMinimoCentavos() != null || filtro.precoMaximoCentavos() != null;
+        long precoMinimo = filtro.precoMinimoCentavos() != null ? filtro.precoMinimoCentavos() : Long.MIN_VALUE;
+        long precoMaximo = filtro.precoMaximoCentavos() != null ? filtro.precoMaximoCentavos() : Long.MAX_VALUE;
+        int estoqueMaximo = filtro.estoqueMaximo() != null ? filtro.estoqueMaximo() : Integer.MAX_VALUE;
+        int[] encontradas = new int[Math.min(maximo, tamanho)];
+        int quantidade = 0;
+        for (int palavra = 0; palavra < ativos.length && quantidade < encontradas.length; palavra++) {
+            long bits = candidatas(palavra, filtro.ativo());
+            while (bits != 0 && quantidade < encontradas.length) {
+                int linha = (palavra << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                long preco = precosCentavos[linha];
+                if (estoques[linha] <= estoqueMaximo
+                        && (!filtraPreco || (preco != SEM_PRECO && preco >= precoMinimo && preco <= precoMaximo))) {
+                    encontradas[quantidade++] = linha;
+                }
+            }
+        }
+        return quantidade == encontradas.length ? encontradas : Arrays.copyOf(encontradas, quantidade);
+    }
+
+    // Bits das linhas da palavra que passam pelo filtro de status (todas as existentes se nulo)
+    private long candidatas(int palavra, Boolean ativo) {
+        int restantes = tamanho - (palavra << 6);
+        long existentes = restantes >= 64 ? -1L : (1L << restantes) - 1;
+        if (ativo == null) {
+            return existentes;
+        }
+        return ativo ? ativos[palavra] : ~ativos[palavra] & existentes;
+    }
+
+    // Índice da faixa: quantos limites são menores ou iguais ao preço
+    private static int faixa(long[] limites, long preco) {
+        int posicao = Arrays.binarySearch(limites, preco);
+        return posicao >= 0 ? posicao + 1 : -posicao - 1;
+    }
+
+    /**
+     * Centavos de um preço (arredondado) ou SEM_PRECO se nulo
+     */
+    public static long centavos(BigDecimal preco) {
+        return preco == null ? SEM_PRECO : preco.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /**
+     * Acumula as linhas em arrays que crescem e gera o instantâneo imutável
+     */
+    public static final class Construtor {
+        private int tamanho;
+        private long[] ids = new long[1024];
+        private long[] precosCentavos = new long[1024];
+        private int[] estoques = new int[1024];
+        private long[] ativos = new long[16];
+        private int[] codigosNome = new int[1024];
+        private final Map<String, Integer> codigos = new HashMap<>();
+
+        public Construtor adicionar(long id, String nome, BigDecimal preco, Integer estoque, Boolean ativo) {
+            if (tamanho == ids.length) {
+                int capacidade = tamanho * 2;
+                ids = Arrays.copyOf(ids, capacidade);
+                precosCentavos = Arrays.copyOf(precosCentavos, capacidade);
+                estoques = Arrays.copyOf(estoques, capacidade);
+                codigosNome = Arrays.copyOf(codigosNome, capacidade);
+                ativos = Arrays.copyOf(ativos, (capacidade + 63) >>> 6);
+            }
+            ids[tamanho] = id;
+            precosCentavos[tamanho] = centavos(preco);
+            estoques[tamanho] = estoque != null ? estoque : 0;
+            if (Boolean.TRUE.equals(ativo)) {
+                ativos[tamanho >>> 6] |= 1L << tamanho;
+            }
+            codigosNome[tamanho] = codigos.computeIfAbsent(nome != null ? nome : "", chave -> codigos.size());
+            tamanho++;
+            return this;
+        }
+
+        public ColunasProdutos construir() {
+            // Recodifica para que o código siga a ordem alfabética do dicionário
+            String[] dicionario = codigos.keySet().toArray(new String[0]);
+            Arrays.sort(dicionario);
+            int[] novoCodigo = new int[dicionario.length];
+            for (int i = 0; i < dicionario.length; i++) {
+                novoCodigo[codigos.get(dicionario[i])] = i;
+            }
+            int[] codigosOrdenados = new int[tamanho];
+            for (int i = 0; i < tamanho; i++) {
+                codigosOrdenados[i] = novoCodigo[codigosNome[i]];
+            }
+            return new ColunasProdutos(tamanho, Arrays.copyOf(ids, tamanho), Arrays.copyOf(precosCentavos, tamanho),
+                    Arrays.copyOf(estoques, tamanho), Arrays.copyOf(ativos, (tamanho + 63) >>> 6), codigosOrdenados,
+                    dicionario);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.empresa.sistema.cache;
+
+import com.empresa.sistema.event.ProdutoSalvoEvent;
+import com.empresa.sistema.event.ProdutosAlteradosEvent;
+import com.empresa.sistema.repository.ProdutosRepository;
+import com.empresa.sistema.util.FiltroBloomContador;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+/**
+ * Filtro de Bloom dos nomes de produtos já cadastrados, usado pelo lote para não
+ * consultar nomes que certamente são novos. Reconstruído na inicialização e mantido
+ * pelos eventos de escrita, após o commit.
+ * Remoções (uma a uma ou em massa por lista de ids) não são descontadas: o nome que
+ * fica no filtro custa apenas a consulta ao banco até a próxima reconstrução.
+ */
+@Component
+public class NomesCadastrados {
+
+    private static final Logger log = LoggerFactory.getLogger(NomesCadastrados.class);
+
+    @Autowired
+    private ProdutosRepository produtosRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.nomes.capacidade:1000000}")
+    private long capacidade;
+
+    @Value("${app.nomes.taxa-falsos-positivos:0.01}")
+    private double taxaFalsosPositivos;
+
+    private final Object escrita = new Object();
+    private volatile FiltroBloomContador produtos;
+
+    /**
+     * {@code false} garante que não existe produto com o nome; antes da primeira
+     * reconstrução responde sempre {@code true}
+     */
+    public boolean produtoTalvezExista(String nome) {
+        FiltroBloomContador filtro = produtos;
+        return filtro == null || filtro.talvezContenha(nome);
+    }
+
+    /**
+     * Reconstrói o filtro a partir do banco, dimensionado para o dobro dos registros
+     * atuais (no mínimo a capacidade configurada)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        synchronized (escrita) {
+            TransactionTemplate leitura = new TransactionTemplate(transactionManager);
+            leitura.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            leitura.setReadOnly(true);
+            produtos = leitura.execute(status -> {
+                FiltroBloomContador filtro = new FiltroBloomContador(
+                        Math.max(capacidade, 2 * produtosRepository.count()), taxaFalsosPositivos);
+                try (Stream<String> nomes = produtosRepository.streamNomes()) {
+                    nomes.filter(nome -> nome != null).forEach(filtro::adicionar);
+                }
+                return filtro;
+            });
+            log.info("Filtro de nomes de produtos reconstruído");
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoSalvarProduto(ProdutoSalvoEvent evento) {
+        synchronized (escrita) {
+            atualizar(produtos, evento.nomeAnterior(), evento.produto().getNome());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarProdutosEmMassa(ProdutosAlteradosEvent evento) {
+        if (evento.isTodos()) {
+            reconstruir();
+        }
+    }
+
+    private static void atualizar(FiltroBloomContador filtro, String nomeAnterior, String nome) {
+        if (filtro == null || nome == null || nome.equals(nomeAnterior)) {
+            return;
+        }
+        if (nomeAnterior != null) {
+            filtro.remover(nomeAnterior);
+        }
+        filtro.adicionar(nome);
+    }
+}
@@ -0,0 +1,174 @@
+package com.empresa.sistema.cache;
+
+import com.empresa.sistema.dto.EstatisticasCacheAplicacao;
+import com.empresa.sistema.entity.Produtos;
+import com.empresa.sistema.event.EstoqueGravadoEvent;
+import com.empresa.sistema.event.ProdutoRemovidoEvent;
+import com.empresa.sistema.event.ProdutoSalvoEvent;
+import com.empresa.sistema.event.ProdutosAlteradosEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Cache de aplicação à frente de ProdutosService.buscarPorId e buscarPorNome.
+ * Um acerto devolve a instância já carregada, sem transação, contexto de persistência
+ * ou hidratação; as instâncias em cache são compartilhadas e não devem ser alteradas.
+ * A invalidação é feita pelos eventos de escrita, após o commit: por id, e nas buscas
+ * por nome apenas os termos cujo resultado contém o produto ou passaria a contê-lo.
+ */
+@Component
+public class ProdutosCache {
+
+    @Value("${app.cache.aplicacao.produtos.tamanho-maximo:10000}")
+    private long tamanhoPorId;
+
+    @Value("${app.cache.aplicacao.produtos.buscas-tamanho-maximo:1000}")
+    private long tamanhoPorNome;
+
+    @Value("${app.cache.aplicacao.produtos.ttl:10m}")
+    private Duration ttl;
+
+    private Cache<Long, Optional<Produtos>> porId;
+    private Cache<String, List<Produtos>> porNome;
+
+    // Incrementada a cada invalidação; cargas iniciadas antes dela não são guardadas
+    private long geracao;
+
+    @PostConstruct
+    public void criar() {
+        porId = Caffeine.newBuilder()
+                .maximumSize(tamanhoPorId)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        porNome = Caffeine.newBuilder()
+                .maximumSize(tamanhoPorNome)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<Produtos> buscarPorId(Long id, Function<Long, Optional<Produtos>> carregar) {
+        Optional<Produtos> produto = porId.getIfPresent(id);
+        if (produto != null) {
+            return produto;
+        }
+        long inicio = geracaoAtual();
+        produto = carregar.apply(id);
+        guardar(porId, id, produto, inicio);
+        return produto;
+    }
+
+    public List<Produtos> buscarPorNome(String nome, Function<String, List<Produtos>> carregar) {
+        String termo = normalizar(nome);
+        List<Produtos> produtos = porNome.getIfPresent(termo);
+        if (produtos != null) {
+            return produtos;
+        }
+        long inicio = geracaoAtual();
+        produtos = List.copyOf(carregar.apply(nome));
+        guardar(porNome, termo, produtos, inicio);
+        return produtos;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoSalvar(ProdutoSalvoEvent evento) {
+        Produtos produto = evento.produto();
+        String nome = produto.getNome() == null ? "" : normalizar(produto.getNome());
+        synchronized (this) {
+            geracao++;
+            porId.invalidate(produto.getId());
+            porNome.asMap().entrySet().removeIf(e -> contem(e.getValue(), produto.getId()) || nome.contains(e.getKey()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoRemover(ProdutoRemovidoEvent evento) {
+        synchronized (this) {
+            geracao++;
+            porId.invalidate(evento.id());
+            porNome.asMap().values().removeIf(produtos -> contem(produtos, evento.id()));
+        }
+    }
+
+    /**
+     * Nas alterações em massa o nome não muda, apenas o status: basta invalidar por id
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarEmMassa(ProdutosAlteradosEvent evento) {
+        if (evento.isTodos()) {
+            limpar();
+            return;
+        }
+        invalidar(evento.ids());
+    }
+
+    /**
+     * Baixas de estoque das reservas gravadas em lote: somente o estoque mudou
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoGravarEstoque(EstoqueGravadoEvent evento) {
+        invalidar(evento.ids());
+    }
+
+    private synchronized void invalidar(Collection<Long> ids) {
+        geracao++;
+        porId.invalidateAll(ids);
+        porNome.asMap().values().removeIf(produtos -> produtos.stream().anyMatch(p -> ids.contains(p.getId())));
+    }
+
+    public synchronized void limpar() {
+        geracao++;
+        porId.invalidateAll();
+        porNome.invalidateAll();
+    }
+
+    public List<EstatisticasCacheAplicacao> buscarEstatisticas() {
+        return List.of(estatisticas("produtos-por-id", porId), estatisticas("produtos-por-nome", porNome));
+    }
+
+    private synchronized long geracaoAtual() {
+        return geracao;
+    }
+
+    /**
+     * Guarda o valor carregado somente se nenhuma invalidação ocorreu durante a carga
+     */
+    private synchronized <K, V> void guardar(Cache<K, V> cache, K chave, V valor, long inicio) {
+        if (geracao == inicio) {
+            cache.put(chave, valor);
+        }
+    }
+
+    private static EstatisticasCacheAplicacao estatisticas(String nome, Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        return new EstatisticasCacheAplicacao(nome, cache.estimatedSize(), stats.hitCount(), stats.missCount(),
+                stats.evictionCount(), stats.hitRate());
+    }
+
+    private static boolean contem(List<Produtos> produtos, Long id) {
+        for (Produtos produto : produtos) {
+            if (produto.getId().equals(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Mesma semântica do containing ignore case da consulta
+    private static String normalizar(String nome) {
+        return nome.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,12 @@
+package com.empresa.sistema.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Tarefas periódicas (@Scheduled): expiração de reservas e gravação das baixas de estoque
+ */
+@Configuration
+@EnableScheduling
+public class AgendamentoConfig {
+}
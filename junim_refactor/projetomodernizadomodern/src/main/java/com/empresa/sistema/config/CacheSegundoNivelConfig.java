@@ -0,0 +1,85 @@
+package com.empresa.sistema.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Cache de segundo nível do Hibernate (JCache sobre Caffeine).
+ * As regiões são criadas aqui, com tamanho e TTL configuráveis em app.cache.*, e o
+ * CacheManager é entregue ao Hibernate já montado. Estatísticas ficam habilitadas em
+ * todas as regiões (CacheStatisticsMXBean), lidas por CacheService.
+ */
+@Configuration
+public class CacheSegundoNivelConfig {
+
+    public static final String REGIAO_PRODUTOS = "produtos";
+    public static final String REGIAO_CLIENTES = "clientes";
+    public static final String REGIAO_CONSULTAS = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+    public static final String REGIAO_TIMESTAMPS = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+    public static final List<String> REGIOES = List.of(REGIAO_PRODUTOS, REGIAO_CLIENTES, REGIAO_CONSULTAS, REGIAO_TIMESTAMPS);
+
+    // Timestamps de atualização por tabela: poucas entradas, que não podem expirar
+    // antes dos resultados de consulta que validam
+    private static final long TAMANHO_TIMESTAMPS = 1_000;
+
+    @Value("${app.cache.produtos.tamanho-maximo:10000}")
+    private long tamanhoProdutos;
+
+    @Value("${app.cache.produtos.ttl:1h}")
+    private Duration ttlProdutos;
+
+    @Value("${app.cache.clientes.tamanho-maximo:10000}")
+    private long tamanhoClientes;
+
+    @Value("${app.cache.clientes.ttl:1h}")
+    private Duration ttlClientes;
+
+    @Value("${app.cache.consultas.tamanho-maximo:1000}")
+    private long tamanhoConsultas;
+
+    @Value("${app.cache.consultas.ttl:5m}")
+    private Duration ttlConsultas;
+
+    @Bean
+    public CacheManager cacheManagerSegundoNivel() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+        criarRegiao(cacheManager, REGIAO_PRODUTOS, tamanhoProdutos, ttlProdutos);
+        criarRegiao(cacheManager, REGIAO_CLIENTES, tamanhoClientes, ttlClientes);
+        criarRegiao(cacheManager, REGIAO_CONSULTAS, tamanhoConsultas, ttlConsultas);
+        criarRegiao(cacheManager, REGIAO_TIMESTAMPS, TAMANHO_TIMESTAMPS, null);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer cacheSegundoNivelCustomizer(CacheManager cacheManagerSegundoNivel) {
+        return propriedades -> propriedades.put(ConfigSettings.CACHE_MANAGER, cacheManagerSegundoNivel);
+    }
+
+    private static void criarRegiao(CacheManager cacheManager, String nome, long tamanhoMaximo, Duration ttl) {
+        if (cacheManager.getCache(nome) != null) {
+            return;
+        }
+        CaffeineConfiguration<Object, Object> configuracao = new CaffeineConfiguration<>();
+        configuracao.setStoreByValue(false);
+        configuracao.setStatisticsEnabled(true);
+        configuracao.setMaximumSize(OptionalLong.of(tamanhoMaximo));
+        if (ttl != null) {
+            configuracao.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        cacheManager.createCache(nome, configuracao);
+    }
+}
@@ -0,0 +1,32 @@
+package com.empresa.sistema.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Ajustes para execução em threads virtuais (spring.threads.virtual.enabled, Java 21).
+ * As requisições e o trabalho transacional dos services rodam em threads virtuais; o
+ * acesso ao banco é limitado por um semáforo do tamanho do pool Hikari, de modo que no
+ * máximo maximum-pool-size threads fiquem presas em código bloqueante do driver.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ThreadsVirtuaisConfig {
+
+    @Bean
+    public static BeanPostProcessor semaforoConexoesPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    return new DataSourceComSemaforo(hikari, hikari.getMaximumPoolSize());
+                }
+                return bean;
+            }
+        };
+    }
+}
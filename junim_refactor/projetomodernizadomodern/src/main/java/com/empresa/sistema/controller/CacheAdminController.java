@@ -0,0 +1,57 @@
+package com.empresa.sistema.controller;
+
+import com.empresa.sistema.dto.EstatisticasCache;
+import com.empresa.sistema.dto.EstatisticasCacheAplicacao;
+import com.empresa.sistema.service.CacheService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/cache")
+public class CacheAdminController {
+
+    @Autowired
+    private CacheService service;
+    
+    /**
+     * Acertos, faltas, inclusões, remoções e despejos por região do cache de segundo nível
+     */
+    @GetMapping
+    public ResponseEntity<List<EstatisticasCache>> listarEstatisticas() {
+        try {
+            List<EstatisticasCache> estatisticas = service.buscarEstatisticas();
+            return ResponseEntity.ok(estatisticas);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Tamanho, acertos, faltas e despejos dos caches de aplicação
+     */
+    @GetMapping("/aplicacao")
+    public ResponseEntity<List<EstatisticasCacheAplicacao>> listarEstatisticasAplicacao() {
+        try {
+            List<EstatisticasCacheAplicacao> estatisticas = service.buscarEstatisticasAplicacao();
+            return ResponseEntity.ok(estatisticas);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Esvazia os caches de aplicação
+     */
+    @DeleteMapping("/aplicacao")
+    public ResponseEntity<Void> limparAplicacao() {
+        try {
+            service.limparAplicacao();
+            return ResponseEntity.noContent().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
\ No newline at end of file
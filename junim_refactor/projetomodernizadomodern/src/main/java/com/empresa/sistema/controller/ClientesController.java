@@ -1,13 +1,27 @@
 package com.empresa.sistema.controller;
 
+import com.empresa.sistema.dto.AssinaturaColecao;
+import com.empresa.sistema.dto.AtualizacaoStatusLote;
+import com.empresa.sistema.dto.Pagina;
+import com.empresa.sistema.dto.ResultadoOperacaoLote;
+import com.empresa.sistema.dto.ResumoComprasCliente;
+import com.empresa.sistema.dto.Sugestao;
+import com.empresa.sistema.dto.ClienteResumo;
 import com.empresa.sistema.entity.Clientes;
 import com.empresa.sistema.service.ClientesService;
+import com.empresa.sistema.util.MergePatch;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import javax.validation.Valid;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -19,32 +33,125 @@ public class ClientesController {
     private ClientesService service;
     
     /**
-     * Lista todos os registros
+     * Lista os registros ativos, paginados por cursor.
+     * Responde 304 quando a assinatura da coleção não mudou desde a ETag informada.
      */
     @GetMapping
-    public ResponseEntity<List<Clientes>> listarTodos() {
+    public ResponseEntity<Pagina<Clientes>> listarTodos(@RequestParam(required = false) String cursor,
+                                                    @RequestParam(required = false) Integer tamanho,
+                                                    WebRequest request) {
         try {
-            List<Clientes> lista = service.buscarTodos();
-            return ResponseEntity.ok(lista);
+            AssinaturaColecao assinatura = service.buscarAssinatura();
+            String etag = ETags.colecao(assinatura);
+            if (request.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            Pagina<Clientes> pagina = service.buscarPagina(cursor, tamanho);
+            return ResponseEntity.ok().eTag(etag).body(pagina);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Lista os registros por status, paginados por cursor
+     */
+    @GetMapping("/status")
+    public ResponseEntity<Pagina<Clientes>> listarPorStatus(@RequestParam Boolean ativo,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) Integer tamanho) {
+        try {
+            Pagina<Clientes> pagina = service.buscarPaginaPorStatus(ativo, cursor, tamanho);
+            return ResponseEntity.ok(pagina);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
     /**
-     * Busca por ID
+     * Exporta todos os registros em NDJSON, escrevendo à medida que são lidos
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportar() {
+        StreamingResponseBody corpo = saida -> service.exportar(saida);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(corpo);
+    }
+    
+    /**
+     * Lista a projeção resumida dos registros ativos, paginada por cursor
+     */
+    @GetMapping("/resumo")
+    public ResponseEntity<Pagina<ClienteResumo>> listarResumo(@RequestParam(required = false) String cursor,
+                                                         @RequestParam(required = false) Integer tamanho) {
+        try {
+            Pagina<ClienteResumo> pagina = service.buscarResumo(cursor, tamanho);
+            return ResponseEntity.ok(pagina);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Busca por ID.
+     * Com If-None-Match, responde 304 sem carregar a entidade se a versão não mudou.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Clientes> buscarPorId(@PathVariable Long id) {
+    public ResponseEntity<Clientes> buscarPorId(@PathVariable Long id, WebRequest request) {
         try {
+            if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+                // Consulta apenas a versão; a entidade só é carregada se tiver mudado
+                Optional<Long> versao = service.buscarVersao(id);
+                if (versao.isEmpty()) {
+                    return ResponseEntity.notFound().build();
+                }
+                String etag = ETags.registro(id, versao.get());
+                if (request.checkNotModified(etag)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+                }
+            }
             Optional<Clientes> registro = service.buscarPorId(id);
-            return registro.map(ResponseEntity::ok)
+            return registro.map(r -> ResponseEntity.ok().eTag(ETags.registro(r.getId(), r.getVersao())).body(r))
                          .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
+    /**
+     * Resumo de compras do cliente: total gasto, compras, última compra e produto favorito
+     */
+    @GetMapping("/{id}/resumo")
+    public ResponseEntity<ResumoComprasCliente> buscarResumoCompras(@PathVariable Long id) {
+        try {
+            Optional<ResumoComprasCliente> resumo = service.buscarResumoCompras(id);
+            return resumo.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Recalcula os resumos de compras de todos os clientes a partir das vendas (carga inicial
+     * ou correção); as vendas aguardam até o fim
+     */
+    @PostMapping("/resumo/reconstrucao")
+    public ResponseEntity<Void> reconstruirResumosCompras() {
+        try {
+            service.reconstruirResumosCompras();
+            return ResponseEntity.noContent().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
     /**
      * Busca por nome
      */
@@ -58,6 +165,36 @@ public class ClientesController {
         }
     }
     
+    /**
+     * Autocompletar: nomes que começam pelo prefixo (ou com palavra que começa por ele),
+     * ordenados por popularidade
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<Sugestao>> sugerir(@RequestParam String prefix,
+                                                  @RequestParam(defaultValue = "10") int tamanho) {
+        try {
+            List<Sugestao> sugestoes = service.sugerir(prefix, tamanho);
+            return ResponseEntity.ok(sugestoes);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Busca por nome, retornando a projeção resumida
+     */
+    @GetMapping("/buscar/resumo")
+    public ResponseEntity<List<ClienteResumo>> buscarResumoPorNome(@RequestParam String nome) {
+        try {
+            List<ClienteResumo> lista = service.buscarResumoPorNome(nome);
+            return ResponseEntity.ok(lista);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
     /**
      * Cria novo registro
      */
@@ -74,14 +211,42 @@ public class ClientesController {
     }
     
     /**
-     * Atualiza registro
+     * Atualiza registro.
+     * Com If-Match, grava somente se a versão atual for a da ETag informada (412 caso contrário);
+     * sem ele, uma versão desatualizada no corpo resulta em 409.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Clientes> atualizar(@PathVariable Long id, @Valid @RequestBody Clientes entity) {
+    public ResponseEntity<Clientes> atualizar(@PathVariable Long id, @Valid @RequestBody Clientes entity,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
             entity.setId(id);
+            if (ifMatch != null && !"*".equals(ifMatch.trim())) {
+                Optional<Long> versao = ETags.versao(ifMatch, id);
+                if (versao.isEmpty()) {
+                    return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+                }
+                entity.setVersao(versao.get());
+            }
             Clientes salvo = service.salvar(entity);
-            return ResponseEntity.ok(salvo);
+            return ResponseEntity.ok().eTag(ETags.registro(salvo.getId(), salvo.getVersao())).body(salvo);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Atualização parcial (JSON Merge Patch): somente os campos enviados são alterados
+     */
+    @PatchMapping(value = "/{id}", consumes = {MergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Clientes> atualizarParcial(@PathVariable Long id, @RequestBody Map<String, Object> patch) {
+        try {
+            Optional<Clientes> salvo = service.aplicarPatch(id, patch);
+            return salvo.map(r -> ResponseEntity.ok().eTag(ETags.registro(r.getId(), r.getVersao())).body(r))
+                        .orElse(ResponseEntity.notFound().build());
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         } catch (Exception e) {
@@ -103,4 +268,35 @@ public class ClientesController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+    
+    /**
+     * Altera o status de vários registros
+     */
+    @PatchMapping("/lote/status")
+    public ResponseEntity<ResultadoOperacaoLote> atualizarStatusEmLote(@RequestBody AtualizacaoStatusLote requisicao) {
+        try {
+            ResultadoOperacaoLote resultado = service.atualizarStatusEmLote(requisicao);
+            return ResponseEntity.ok(resultado);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Remove em massa pela lista de ids (corpo) ou pelo status (parâmetro ativo)
+     */
+    @DeleteMapping("/lote")
+    public ResponseEntity<ResultadoOperacaoLote> removerEmLote(@RequestBody(required = false) List<Long> ids,
+                                                               @RequestParam(required = false) Boolean ativo) {
+        try {
+            ResultadoOperacaoLote resultado = service.removerEmLote(ids, ativo);
+            return ResponseEntity.ok(resultado);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
 }
\ No newline at end of file
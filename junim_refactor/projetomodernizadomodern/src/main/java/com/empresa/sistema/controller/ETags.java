@@ -0,0 +1,45 @@
+package com.empresa.sistema.controller;
+
+import com.empresa.sistema.dto.AssinaturaColecao;
+
+import java.util.Optional;
+
+/**
+ * Montagem das ETags fortes usadas nas requisições condicionais (If-None-Match, If-Match)
+ */
+final class ETags {
+
+    private ETags() {}
+
+    /**
+     * ETag de um registro, derivada do id e da coluna de versão
+     */
+    static String registro(Long id, Long versao) {
+        return "\"" + id + "-" + versao + "\"";
+    }
+
+    /**
+     * Versão contida na ETag de um registro (If-Match); vazio se a ETag não for deste registro
+     */
+    static Optional<Long> versao(String etag, Long id) {
+        String prefixo = "\"" + id + "-";
+        String valor = etag.trim();
+        if (!valor.startsWith(prefixo) || !valor.endsWith("\"") || valor.length() <= prefixo.length() + 1) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Long.valueOf(valor.substring(prefixo.length(), valor.length() - 1)));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * ETag de uma coleção, derivada da assinatura agregada
+     */
+    static String colecao(AssinaturaColecao assinatura) {
+        return "\"" + Long.toHexString(assinatura.quantidade())
+                + "-" + Long.toHexString(assinatura.somaVersoes())
+                + "-" + Long.toHexString(assinatura.somaIds()) + "\"";
+    }
+}
@@ -1,13 +1,33 @@
 package com.empresa.sistema.controller;
 
+import com.empresa.sistema.dto.AjusteEstoque;
+import com.empresa.sistema.dto.AssinaturaColecao;
+import com.empresa.sistema.dto.AtualizacaoStatusLote;
+import com.empresa.sistema.dto.EstatisticasCatalogo;
+import com.empresa.sistema.dto.Pagina;
+import com.empresa.sistema.dto.ProdutoEncontrado;
+import com.empresa.sistema.dto.ProdutoCompradoJunto;
+import com.empresa.sistema.dto.ProdutoMaisVendido;
+import com.empresa.sistema.dto.ResultadoOperacaoLote;
+import com.empresa.sistema.dto.Sugestao;
+import com.empresa.sistema.dto.ProdutoResumo;
+import com.empresa.sistema.dto.ResultadoBusca;
+import com.empresa.sistema.dto.ResultadoLote;
 import com.empresa.sistema.entity.Produtos;
 import com.empresa.sistema.service.ProdutosService;
+import com.empresa.sistema.util.MergePatch;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import javax.validation.Valid;
+import org.springframework.web.context.request.WebRequest;
+import jakarta.validation.Valid;
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -19,26 +39,81 @@ public class ProdutosController {
     private ProdutosService service;
     
     /**
-     * Lista todos os registros
+     * Lista os registros ativos, paginados por cursor.
+     * Responde 304 quando a assinatura da coleção não mudou desde a ETag informada.
      */
     @GetMapping
-    public ResponseEntity<List<Produtos>> listarTodos() {
+    public ResponseEntity<Pagina<Produtos>> listarTodos(@RequestParam(required = false) String cursor,
+                                                    @RequestParam(required = false) Integer tamanho,
+                                                    WebRequest request) {
         try {
-            List<Produtos> lista = service.buscarTodos();
-            return ResponseEntity.ok(lista);
+            AssinaturaColecao assinatura = service.buscarAssinatura();
+            String etag = ETags.colecao(assinatura);
+            if (request.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            Pagina<Produtos> pagina = service.buscarPagina(cursor, tamanho);
+            return ResponseEntity.ok().eTag(etag).body(pagina);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Lista os registros por status, paginados por cursor
+     */
+    @GetMapping("/status")
+    public ResponseEntity<Pagina<Produtos>> listarPorStatus(@RequestParam Boolean ativo,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) Integer tamanho) {
+        try {
+            Pagina<Produtos> pagina = service.buscarPaginaPorStatus(ativo, cursor, tamanho);
+            return ResponseEntity.ok(pagina);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
     
     /**
-     * Busca por ID
+     * Lista a projeção resumida dos registros ativos, paginada por cursor
+     */
+    @GetMapping("/resumo")
+    public ResponseEntity<Pagina<ProdutoResumo>> listarResumo(@RequestParam(required = false) String cursor,
+                                                         @RequestParam(required = false) Integer tamanho) {
+        try {
+            Pagina<ProdutoResumo> pagina = service.buscarResumo(cursor, tamanho);
+            return ResponseEntity.ok(pagina);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Busca por ID.
+     * Com If-None-Match, responde 304 sem carregar a entidade se a versão não mudou.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Produtos> buscarPorId(@PathVariable Long id) {
+    public ResponseEntity<Produtos> buscarPorId(@PathVariable Long id, WebRequest request) {
         try {
+            if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+                // Consulta apenas a versão; a entidade só é carregada se tiver mudado
+                Optional<Long> versao = service.buscarVersao(id);
+                if (versao.isEmpty()) {
+                    return ResponseEntity.notFound().build();
+                }
+                String etag = ETags.registro(id, versao.get());
+                if (request.checkNotModified(etag)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+                }
+            }
             Optional<Produtos> registro = service.buscarPorId(id);
-            return registro.map(ResponseEntity::ok)
+            return registro.map(r -> ResponseEntity.ok().eTag(ETags.registro(r.getId(), r.getVersao())).body(r))
                          .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -58,6 +133,119 @@ public class ProdutosController {
         }
     }
     
+    /**
+     * Busca textual em nome e descrição, ordenada por relevância e paginada
+     */
+    @GetMapping(value = "/buscar", params = "q")
+    public ResponseEntity<ResultadoBusca<ProdutoEncontrado>> buscarTexto(@RequestParam String q,
+                                                                         @RequestParam(defaultValue = "0") int pagina,
+                                                                         @RequestParam(defaultValue = "20") int tamanho) {
+        try {
+            ResultadoBusca<ProdutoEncontrado> resultado = service.buscarTexto(q, pagina, tamanho);
+            return ResponseEntity.ok(resultado);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Autocompletar: nomes que começam pelo prefixo (ou com palavra que começa por ele),
+     * ordenados por popularidade
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<Sugestao>> sugerir(@RequestParam String prefix,
+                                                  @RequestParam(defaultValue = "10") int tamanho) {
+        try {
+            List<Sugestao> sugestoes = service.sugerir(prefix, tamanho);
+            return ResponseEntity.ok(sugestoes);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Produtos mais vendidos na última hora ({@code janela=hora}) ou no dia ({@code janela=dia}),
+     * servidos da memória
+     */
+    @GetMapping("/mais-vendidos")
+    public ResponseEntity<List<ProdutoMaisVendido>> buscarMaisVendidos(@RequestParam(defaultValue = "hora") String janela,
+                                                                      @RequestParam(defaultValue = "10") int tamanho) {
+        try {
+            List<ProdutoMaisVendido> ranking = service.buscarMaisVendidos(janela, tamanho);
+            return ResponseEntity.ok(ranking);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Produtos mais comprados no mesmo cupom que o produto, servidos da memória
+     */
+    @GetMapping("/{id}/comprados-junto")
+    public ResponseEntity<List<ProdutoCompradoJunto>> buscarCompradosJunto(@PathVariable Long id,
+                                                                         @RequestParam(defaultValue = "5") int tamanho) {
+        try {
+            return service.buscarCompradosJunto(id, tamanho)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Quantidade, preços e estoque agregados do catálogo filtrado, com contagem por faixas de
+     * preço ({@code faixas=10,50,100}); calculado em memória sobre o instantâneo colunar
+     */
+    @GetMapping("/analise")
+    public ResponseEntity<EstatisticasCatalogo> analisarCatalogo(@RequestParam(required = false) Boolean ativo,
+                                                                 @RequestParam(required = false) BigDecimal precoMinimo,
+                                                                 @RequestParam(required = false) BigDecimal precoMaximo,
+                                                                 @RequestParam(required = false) Integer estoqueMaximo,
+                                                                 @RequestParam(required = false) List<BigDecimal> faixas) {
+        try {
+            return ResponseEntity.ok(service.analisarCatalogo(ativo, precoMinimo, precoMaximo, estoqueMaximo, faixas));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Produtos ativos com estoque até {@code limite}
+     */
+    @GetMapping("/estoque-baixo")
+    public ResponseEntity<List<ProdutoResumo>> buscarEstoqueBaixo(@RequestParam(defaultValue = "5") int limite,
+                                                                  @RequestParam(required = false) Integer tamanho) {
+        try {
+            return ResponseEntity.ok(service.buscarEstoqueBaixo(limite, tamanho));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Busca por nome, retornando a projeção resumida
+     */
+    @GetMapping("/buscar/resumo")
+    public ResponseEntity<List<ProdutoResumo>> buscarResumoPorNome(@RequestParam String nome) {
+        try {
+            List<ProdutoResumo> lista = service.buscarResumoPorNome(nome);
+            return ResponseEntity.ok(lista);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
     /**
      * Cria novo registro
      */
@@ -74,14 +262,79 @@ public class ProdutosController {
     }
     
     /**
-     * Atualiza registro
+     * Inclui ou atualiza registros em lote, identificados pelo nome
+     */
+    @PostMapping("/lote")
+    public ResponseEntity<ResultadoLote> salvarLote(@RequestBody List<Produtos> entidades) {
+        try {
+            ResultadoLote resultado = service.salvarLote(entidades);
+            return ResponseEntity.ok(resultado);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Atualiza registro.
+     * Com If-Match, grava somente se a versão atual for a da ETag informada (412 caso contrário);
+     * sem ele, uma versão desatualizada no corpo resulta em 409.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Produtos> atualizar(@PathVariable Long id, @Valid @RequestBody Produtos entity) {
+    public ResponseEntity<Produtos> atualizar(@PathVariable Long id, @Valid @RequestBody Produtos entity,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
             entity.setId(id);
+            if (ifMatch != null && !"*".equals(ifMatch.trim())) {
+                Optional<Long> versao = ETags.versao(ifMatch, id);
+                if (versao.isEmpty()) {
+                    return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+                }
+                entity.setVersao(versao.get());
+            }
             Produtos salvo = service.salvar(entity);
-            return ResponseEntity.ok(salvo);
+            return ResponseEntity.ok().eTag(ETags.registro(salvo.getId(), salvo.getVersao())).body(salvo);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Atualização parcial (JSON Merge Patch): somente os campos enviados são alterados
+     */
+    @PatchMapping(value = "/{id}", consumes = {MergePatch.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Produtos> atualizarParcial(@PathVariable Long id, @RequestBody Map<String, Object> patch) {
+        try {
+            Optional<Produtos> salvo = service.aplicarPatch(id, patch);
+            return salvo.map(r -> ResponseEntity.ok().eTag(ETags.registro(r.getId(), r.getVersao())).body(r))
+                        .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Soma a quantidade ao estoque (negativa para baixa), com controle otimista e
+     * novas tentativas em caso de escrita concorrente; 409 se o conflito persistir
+     */
+    @PostMapping("/{id}/estoque")
+    public ResponseEntity<Produtos> ajustarEstoque(@PathVariable Long id, @RequestBody AjusteEstoque ajuste) {
+        try {
+            if (ajuste.quantidade() == null) {
+                return ResponseEntity.badRequest().build();
+            }
+            Optional<Produtos> salvo = service.ajustarEstoque(id, ajuste.quantidade());
+            return salvo.map(r -> ResponseEntity.ok().eTag(ETags.registro(r.getId(), r.getVersao())).body(r))
+                        .orElse(ResponseEntity.notFound().build());
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         } catch (Exception e) {
@@ -103,4 +356,35 @@ public class ProdutosController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+    
+    /**
+     * Altera o status de vários registros
+     */
+    @PatchMapping("/lote/status")
+    public ResponseEntity<ResultadoOperacaoLote> atualizarStatusEmLote(@RequestBody AtualizacaoStatusLote requisicao) {
+        try {
+            ResultadoOperacaoLote resultado = service.atualizarStatusEmLote(requisicao);
+            return ResponseEntity.ok(resultado);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Remove em massa pela lista de ids (corpo) ou pelo status (parâmetro ativo)
+     */
+    @DeleteMapping("/lote")
+    public ResponseEntity<ResultadoOperacaoLote> removerEmLote(@RequestBody(required = false) List<Long> ids,
+                                                               @RequestParam(required = false) Boolean ativo) {
+        try {
+            ResultadoOperacaoLote resultado = service.removerEmLote(ids, ativo);
+            return ResponseEntity.ok(resultado);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
 }
\ No newline at end of file
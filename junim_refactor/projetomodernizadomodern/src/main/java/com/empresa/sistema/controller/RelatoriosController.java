@@ -0,0 +1,116 @@
+package com.empresa.sistema.controller;
+
+import com.empresa.sistema.dto.ClientesDistintosPeriodo;
+import com.empresa.sistema.dto.ResumoVendasPeriodo;
+import com.empresa.sistema.dto.TotalVendas;
+import com.empresa.sistema.service.RelatoriosService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/relatorios/vendas")
+@CrossOrigin(origins = "*")
+public class RelatoriosController {
+
+    @Autowired
+    private RelatoriosService service;
+    
+    /**
+     * Vendas do produto por dia (padrão: últimos 30 dias)
+     */
+    @GetMapping("/diario")
+    public ResponseEntity<List<ResumoVendasPeriodo>> buscarDiario(
+            @RequestParam Long produtoId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim) {
+        try {
+            LocalDate ate = fim != null ? fim : LocalDate.now();
+            LocalDate desde = inicio != null ? inicio : ate.minusDays(29);
+            return ResponseEntity.ok(service.buscarDiario(produtoId, desde, ate));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Vendas do produto por mês, AAAA-MM (padrão: últimos 12 meses)
+     */
+    @GetMapping("/mensal")
+    public ResponseEntity<List<ResumoVendasPeriodo>> buscarMensal(
+            @RequestParam Long produtoId,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth inicio,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth fim) {
+        try {
+            YearMonth ate = fim != null ? fim : YearMonth.now();
+            YearMonth desde = inicio != null ? inicio : ate.minusMonths(11);
+            return ResponseEntity.ok(service.buscarMensal(produtoId, desde, ate));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Clientes distintos do produto por dia, semana ou mês (estimativa HyperLogLog)
+     */
+    @GetMapping("/clientes-distintos")
+    public ResponseEntity<List<ClientesDistintosPeriodo>> buscarClientesDistintos(
+            @RequestParam Long produtoId,
+            @RequestParam(defaultValue = "dia") String agrupamento,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim) {
+        try {
+            LocalDate ate = fim != null ? fim : LocalDate.now();
+            return ResponseEntity.ok(service.buscarClientesDistintos(produtoId, agrupamento, inicio, ate));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Quantidade e receita das vendas no total ou por dia, mês, produto ou cliente
+     * (padrão: últimos 30 dias), calculadas em memória
+     */
+    @GetMapping("/agregado")
+    public ResponseEntity<List<TotalVendas>> agregarVendas(
+            @RequestParam(defaultValue = "total") String agrupamento,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(required = false) Long produtoId,
+            @RequestParam(required = false) Long clienteId,
+            @RequestParam(required = false) Integer tamanho) {
+        try {
+            LocalDate ate = fim != null ? fim : LocalDate.now();
+            LocalDate desde = inicio != null ? inicio : ate.minusDays(29);
+            return ResponseEntity.ok(service.agregarVendas(agrupamento, desde, ate, produtoId, clienteId, tamanho));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Recalcula os resumos a partir das vendas (também executado diariamente)
+     */
+    @PostMapping("/reconciliacao")
+    public ResponseEntity<Void> reconciliar() {
+        try {
+            service.reconciliar();
+            return ResponseEntity.noContent().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
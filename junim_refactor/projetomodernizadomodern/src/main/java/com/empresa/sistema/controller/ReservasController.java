@@ -0,0 +1,78 @@
+package com.empresa.sistema.controller;
+
+import com.empresa.sistema.dto.Reserva;
+import com.empresa.sistema.dto.SolicitacaoReserva;
+import com.empresa.sistema.service.ReservasService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+@RestController
+@RequestMapping("/api/reservas")
+@CrossOrigin(origins = "*")
+public class ReservasController {
+
+    @Autowired
+    private ReservasService service;
+
+    /**
+     * Reserva estoque de um produto; 409 se não houver saldo disponível
+     */
+    @PostMapping
+    public ResponseEntity<Reserva> reservar(@RequestBody SolicitacaoReserva solicitacao) {
+        try {
+            if (solicitacao.produtoId() == null || solicitacao.quantidade() == null) {
+                return ResponseEntity.badRequest().build();
+            }
+            Optional<Reserva> reserva = service.reservar(solicitacao.produtoId(), solicitacao.quantidade());
+            return reserva.map(r -> ResponseEntity.status(HttpStatus.CREATED).body(r))
+                          .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Confirma a reserva (baixa definitiva); 404 se inexistente, já resolvida ou expirada
+     */
+    @PostMapping("/{id}/confirmacao")
+    public ResponseEntity<Void> confirmar(@PathVariable String id) {
+        try {
+            return service.confirmar(id) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Libera a reserva, devolvendo a quantidade ao disponível
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> liberar(@PathVariable String id) {
+        try {
+            return service.liberar(id) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Quantidade disponível para reserva (estoque menos reservas pendentes e baixas não gravadas)
+     */
+    @GetMapping("/disponivel/{produtoId}")
+    public ResponseEntity<Long> buscarDisponivel(@PathVariable Long produtoId) {
+        try {
+            OptionalLong disponivel = service.buscarDisponivel(produtoId);
+            return disponivel.isPresent() ? ResponseEntity.ok(disponivel.getAsLong()) : ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.empresa.sistema.controller;
+
+import com.empresa.sistema.dto.RegistroVenda;
+import com.empresa.sistema.dto.ResultadoVenda;
+import com.empresa.sistema.entity.Vendas;
+import com.empresa.sistema.service.VendasService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/vendas")
+@CrossOrigin(origins = "*")
+public class VendasController {
+
+    @Autowired
+    private VendasService service;
+    
+    /**
+     * Busca por ID
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<Vendas> buscarPorId(@PathVariable Long id) {
+        try {
+            Optional<Vendas> registro = service.buscarPorId(id);
+            return registro.map(ResponseEntity::ok)
+                         .orElse(ResponseEntity.notFound().build());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Vendas mais recentes do cliente
+     */
+    @GetMapping("/clientes/{clienteId}")
+    public ResponseEntity<List<Vendas>> buscarPorCliente(@PathVariable Long clienteId,
+                                                        @RequestParam(required = false) Integer tamanho) {
+        try {
+            return ResponseEntity.ok(service.buscarRecentesPorCliente(clienteId, tamanho));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+    
+    /**
+     * Registra um cupom de venda; responde após a gravação.
+     * 503 quando a fila de gravação está cheia: o cliente deve reenviar.
+     */
+    @PostMapping
+    public ResponseEntity<ResultadoVenda> registrar(@RequestBody RegistroVenda registro) {
+        try {
+            ResultadoVenda resultado = service.registrar(registro);
+            return ResponseEntity.status(HttpStatus.CREATED).body(resultado);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.empresa.sistema.dto;
+
+/**
+ * Requisição de ajuste de estoque: quantidade a somar (negativa para baixa)
+ */
+public record AjusteEstoque(Integer quantidade) {
+}
@@ -0,0 +1,9 @@
+package com.empresa.sistema.dto;
+
+/**
+ * Assinatura barata de uma coleção, calculada por uma única consulta agregada.
+ * Inclusões e exclusões alteram a quantidade e a soma dos ids; qualquer atualização
+ * incrementa a versão do registro e, portanto, a soma das versões.
+ */
+public record AssinaturaColecao(Long quantidade, Long somaVersoes, Long somaIds) {
+}
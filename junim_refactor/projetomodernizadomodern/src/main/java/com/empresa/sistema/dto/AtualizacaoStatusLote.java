@@ -0,0 +1,9 @@
+package com.empresa.sistema.dto;
+
+import java.util.List;
+
+/**
+ * Requisição de alteração do status (ativo/inativo) de vários registros
+ */
+public record AtualizacaoStatusLote(List<Long> ids, Boolean ativo) {
+}
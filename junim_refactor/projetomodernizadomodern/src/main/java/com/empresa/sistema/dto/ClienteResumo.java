@@ -0,0 +1,7 @@
+package com.empresa.sistema.dto;
+
+/**
+ * Projeção resumida de Clientes para telas de listagem
+ */
+public record ClienteResumo(Long id, String nome, String email, String telefone) {
+}
@@ -0,0 +1,8 @@
+package com.empresa.sistema.dto;
+
+/**
+ * Clientes distintos que compraram o produto em um período: dia (AAAA-MM-DD), semana ISO
+ * (AAAA-Www) ou mês (AAAA-MM). Estimativa com erro padrão relativo {@code erroRelativo}
+ */
+public record ClientesDistintosPeriodo(Long produtoId, String periodo, long clientes, double erroRelativo) {
+}
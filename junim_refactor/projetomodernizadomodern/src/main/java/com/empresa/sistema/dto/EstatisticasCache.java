@@ -0,0 +1,8 @@
+package com.empresa.sistema.dto;
+
+/**
+ * Contadores de uma região de cache desde a inicialização
+ */
+public record EstatisticasCache(String regiao, long acertos, long faltas, long inclusoes,
+                                long remocoes, long despejos, float percentualAcertos) {
+}
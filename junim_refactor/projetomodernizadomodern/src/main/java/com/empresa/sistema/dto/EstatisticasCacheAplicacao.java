@@ -0,0 +1,8 @@
+package com.empresa.sistema.dto;
+
+/**
+ * Tamanho e contadores de um cache de aplicação desde a última inicialização
+ */
+public record EstatisticasCacheAplicacao(String cache, long tamanho, long acertos, long faltas,
+                                         long despejos, double taxaAcertos) {
+}
@@ -0,0 +1,13 @@
+package com.empresa.sistema.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Agregados dos produtos filtrados. Preços mínimo, máximo e médio consideram só os
+ * produtos com preço (nulos se nenhum); valor do estoque é a soma de preço x estoque
+ */
+public record EstatisticasCatalogo(long quantidade, BigDecimal precoMinimo, BigDecimal precoMaximo,
+                                   BigDecimal precoMedio, long estoqueTotal, BigDecimal valorEstoque,
+                                   List<FaixaPreco> faixas) {
+}
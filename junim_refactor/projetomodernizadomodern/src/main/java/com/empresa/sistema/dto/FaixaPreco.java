@@ -0,0 +1,9 @@
+package com.empresa.sistema.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Produtos com preço em [de, ate); {@code de} nulo na primeira faixa e {@code ate} na última
+ */
+public record FaixaPreco(BigDecimal de, BigDecimal ate, long quantidade) {
+}
@@ -0,0 +1,15 @@
+package com.empresa.sistema.dto;
+
+/**
+ * Resultado de um item do lote; {@code indice} é a posição do item no corpo da requisição
+ */
+public record ItemResultadoLote(int indice, String nome, Long id, StatusItemLote status, String erro) {
+
+    public static ItemResultadoLote sucesso(int indice, String nome, Long id, StatusItemLote status) {
+        return new ItemResultadoLote(indice, nome, id, status, null);
+    }
+
+    public static ItemResultadoLote falha(int indice, String nome, String erro) {
+        return new ItemResultadoLote(indice, nome, null, StatusItemLote.FALHA, erro);
+    }
+}
@@ -0,0 +1,7 @@
+package com.empresa.sistema.dto;
+
+/**
+ * Linha de um cupom de venda
+ */
+public record ItemVenda(Long produtoId, Integer quantidade) {
+}
@@ -0,0 +1,36 @@
+package com.empresa.sistema.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de resultados de uma listagem paginada por cursor.
+ * O campo {@code next} é nulo quando não há mais registros.
+ */
+public record Pagina<T>(List<T> itens, String next) {
+
+    public static final int TAMANHO_PADRAO = 50;
+    public static final int TAMANHO_MAXIMO = 200;
+
+    /**
+     * Normaliza o tamanho de página solicitado para o intervalo permitido
+     */
+    public static int limitarTamanho(Integer tamanho) {
+        if (tamanho == null) {
+            return TAMANHO_PADRAO;
+        }
+        return Math.max(1, Math.min(tamanho, TAMANHO_MAXIMO));
+    }
+
+    /**
+     * Monta a página a partir de uma consulta que buscou {@code limite + 1} registros;
+     * o registro excedente apenas indica que existe uma próxima página.
+     */
+    public static <T> Pagina<T> de(List<T> registros, int limite, Function<T, Cursor> cursorDe) {
+        if (registros.size() <= limite) {
+            return new Pagina<>(registros, null);
+        }
+        List<T> itens = List.copyOf(registros.subList(0, limite));
+        return new Pagina<>(itens, cursorDe.apply(itens.get(limite - 1)).codificar());
+    }
+}
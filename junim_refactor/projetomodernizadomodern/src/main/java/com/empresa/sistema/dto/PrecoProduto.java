@@ -0,0 +1,9 @@
+package com.empresa.sistema.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Nome, preço e status de um produto, mantidos em memória para o registro e os rankings de vendas
+ */
+public record PrecoProduto(Long id, String nome, BigDecimal preco, Boolean ativo) {
+}
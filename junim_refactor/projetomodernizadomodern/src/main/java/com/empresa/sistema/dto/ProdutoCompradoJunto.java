@@ -0,0 +1,7 @@
+package com.empresa.sistema.dto;
+
+/**
+ * Produto comprado junto com outro: {@code cupons} é quantos cupons tiveram os dois
+ */
+public record ProdutoCompradoJunto(Long id, String nome, int cupons) {
+}
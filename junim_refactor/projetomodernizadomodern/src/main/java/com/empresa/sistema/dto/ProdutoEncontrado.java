@@ -0,0 +1,9 @@
+package com.empresa.sistema.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Produto retornado pela busca textual, com a relevância calculada pelo índice
+ */
+public record ProdutoEncontrado(Long id, String nome, BigDecimal preco, Integer estoque, float relevancia) {
+}
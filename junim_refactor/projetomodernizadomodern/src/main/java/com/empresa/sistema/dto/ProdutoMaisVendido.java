@@ -0,0 +1,7 @@
+package com.empresa.sistema.dto;
+
+/**
+ * Posição no ranking de mais vendidos: quantidade estimada, que pode exceder a real em até {@code erroMaximo}
+ */
+public record ProdutoMaisVendido(Long id, String nome, long quantidade, long erroMaximo) {
+}
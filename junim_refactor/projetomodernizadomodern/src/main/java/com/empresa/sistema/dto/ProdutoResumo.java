@@ -0,0 +1,9 @@
+package com.empresa.sistema.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Projeção resumida de Produtos para telas de listagem
+ */
+public record ProdutoResumo(Long id, String nome, BigDecimal preco, Integer estoque) {
+}
@@ -0,0 +1,9 @@
+package com.empresa.sistema.dto;
+
+import java.util.List;
+
+/**
+ * Corpo de POST /api/vendas: um cupom, com cliente opcional e uma ou mais linhas
+ */
+public record RegistroVenda(Long clienteId, List<ItemVenda> itens) {
+}
@@ -0,0 +1,9 @@
+package com.empresa.sistema.dto;
+
+import java.time.Instant;
+
+/**
+ * Reserva de estoque pendente: deve ser confirmada ou liberada antes de {@code expiraEm}
+ */
+public record Reserva(String id, Long produtoId, int quantidade, Instant expiraEm) {
+}
@@ -0,0 +1,9 @@
+package com.empresa.sistema.dto;
+
+import java.util.List;
+
+/**
+ * Página de resultados de uma busca ordenada por relevância
+ */
+public record ResultadoBusca<T>(List<T> itens, long total, int pagina, int tamanho) {
+}
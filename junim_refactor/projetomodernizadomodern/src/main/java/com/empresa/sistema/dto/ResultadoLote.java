@@ -0,0 +1,23 @@
+package com.empresa.sistema.dto;
+
+import java.util.List;
+
+/**
+ * Relatório de um processamento em lote, com totais e o resultado de cada item
+ */
+public record ResultadoLote(int total, int inseridos, int atualizados, int falhas, List<ItemResultadoLote> itens) {
+
+    public static ResultadoLote de(List<ItemResultadoLote> itens) {
+        int inseridos = 0;
+        int atualizados = 0;
+        int falhas = 0;
+        for (ItemResultadoLote item : itens) {
+            switch (item.status()) {
+                case INSERIDO -> inseridos++;
+                case ATUALIZADO -> atualizados++;
+                case FALHA -> falhas++;
+            }
+        }
+        return new ResultadoLote(itens.size(), inseridos, atualizados, falhas, itens);
+    }
+}
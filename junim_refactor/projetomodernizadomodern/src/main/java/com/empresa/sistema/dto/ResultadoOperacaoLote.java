@@ -0,0 +1,7 @@
+package com.empresa.sistema.dto;
+
+/**
+ * Resultado de uma operação em massa: quantidade de registros afetados
+ */
+public record ResultadoOperacaoLote(int afetados) {
+}
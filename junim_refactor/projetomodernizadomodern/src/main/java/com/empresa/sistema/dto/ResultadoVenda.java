@@ -0,0 +1,10 @@
+package com.empresa.sistema.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Cupom gravado: quantidade de linhas, valor total e data da venda
+ */
+public record ResultadoVenda(int itens, BigDecimal valorTotal, LocalDateTime dataVenda) {
+}
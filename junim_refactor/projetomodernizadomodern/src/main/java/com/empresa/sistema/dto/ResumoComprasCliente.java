@@ -0,0 +1,12 @@
+package com.empresa.sistema.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Compras de um cliente: total gasto, cupons, data da última compra e produto favorito
+ * (maior quantidade comprada); última compra e favorito são nulos sem compras
+ */
+public record ResumoComprasCliente(Long clienteId, BigDecimal totalGasto, long compras, LocalDateTime ultimaCompra,
+                                   Long produtoFavoritoId, String produtoFavoritoNome) {
+}
@@ -0,0 +1,9 @@
+package com.empresa.sistema.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Quantidade e receita de um produto em um período: dia (AAAA-MM-DD) ou mês (AAAA-MM)
+ */
+public record ResumoVendasPeriodo(Long produtoId, String periodo, long quantidade, BigDecimal valorTotal) {
+}
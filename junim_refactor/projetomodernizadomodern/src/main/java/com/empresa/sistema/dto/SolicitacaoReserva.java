@@ -0,0 +1,7 @@
+package com.empresa.sistema.dto;
+
+/**
+ * Corpo de POST /api/reservas
+ */
+public record SolicitacaoReserva(Long produtoId, Integer quantidade) {
+}
@@ -0,0 +1,10 @@
+package com.empresa.sistema.dto;
+
+/**
+ * Situação de um item processado em lote
+ */
+public enum StatusItemLote {
+    INSERIDO,
+    ATUALIZADO,
+    FALHA
+}
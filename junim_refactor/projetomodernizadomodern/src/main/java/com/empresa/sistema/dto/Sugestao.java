@@ -0,0 +1,7 @@
+package com.empresa.sistema.dto;
+
+/**
+ * Sugestão de autocompletar: identificador e nome do registro
+ */
+public record Sugestao(Long id, String nome) {
+}
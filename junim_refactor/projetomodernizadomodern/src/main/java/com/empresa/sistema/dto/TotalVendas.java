@@ -0,0 +1,10 @@
+package com.empresa.sistema.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Quantidade e receita de um grupo de vendas: dia (AAAA-MM-DD), mês (AAAA-MM), id do
+ * produto, id do cliente ou "total"
+ */
+public record TotalVendas(String grupo, long quantidade, BigDecimal valorTotal) {
+}
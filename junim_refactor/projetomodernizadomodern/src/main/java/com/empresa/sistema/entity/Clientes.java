@@ -2,6 +2,9 @@ package com.empresa.sistema.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDate;
 import java.math.BigDecimal;
 import java.util.Objects;
@@ -12,9 +15,19 @@ import java.util.Objects;
  * Tabela: clientes
  */
 @Entity
-@Table(name = "clientes")
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "clientes")
+@Table(name = "clientes", uniqueConstraints = {
+        @UniqueConstraint(name = Clientes.RESTRICAO_NOME_UNICO, columnNames = "nome")
+}, indexes = {
+        @Index(name = "idx_clientes_ativo_nome_id", columnList = "ativo, nome, id")
+})
 public class Clientes {
 
+    // Índice único que garante a unicidade do nome
+    public static final String RESTRICAO_NOME_UNICO = "uk_clientes_nome";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -30,6 +43,11 @@ public class Clientes {
     private String endereco;
     @Column(name = "dataCadastro")
     private LocalDate dataCadastro;
+    @Column(name = "ativo")
+    private Boolean ativo = true;
+    @Version
+    @Column(name = "versao")
+    private Long versao;
 
     // Construtores
     public Clientes() {}
@@ -83,6 +101,22 @@ public class Clientes {
         this.dataCadastro = dataCadastro;
     }
 
+    public Boolean isAtivo() {
+        return ativo;
+    }
+
+    public void setAtivo(Boolean ativo) {
+        this.ativo = ativo;
+    }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -100,7 +134,7 @@ public class Clientes {
     public String toString() {
         return "Clientes{" +
                 "id=" + id +
-                ", nome='" + nome + ''' +
+                ", nome='" + nome + '\'' +
                 '}';
     }
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.empresa.sistema.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Esboço HyperLogLog dos clientes distintos que compraram o produto no dia, mantido na
+ * mesma transação que grava as vendas (ClientesDistintos). Semanas e meses saem da
+ * fusão dos esboços diários. Tabela: clientes_distintos_diarios
+ */
+@Entity
+@IdClass(ClientesDistintosDiarios.Chave.class)
+@Table(name = "clientes_distintos_diarios")
+public class ClientesDistintosDiarios {
+
+    @Id
+    @Column(name = "produtoId")
+    private Long produtoId;
+    @Id
+    @Column(name = "dia")
+    private LocalDate dia;
+    // Forma serializada de HyperLogLog (esparsa enquanto houver poucos clientes)
+    @Lob
+    @Column(name = "esboco", nullable = false)
+    private byte[] esboco;
+
+    // Construtores
+    public ClientesDistintosDiarios() {}
+
+
+    public Long getProdutoId() {
+        return produtoId;
+    }
+
+    public LocalDate getDia() {
+        return dia;
+    }
+
+    public byte[] getEsboco() {
+        return esboco;
+    }
+
+    public static class Chave implements Serializable {
+        private Long produtoId;
+        private LocalDate dia;
+
+        public Chave() {}
+
+        public Chave(Long produtoId, LocalDate dia) {
+            this.produtoId = produtoId;
+            this.dia = dia;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Chave chave = (Chave) o;
+            return Objects.equals(produtoId, chave.produtoId) && Objects.equals(dia, chave.dia);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(produtoId, dia);
+        }
+    }
+}
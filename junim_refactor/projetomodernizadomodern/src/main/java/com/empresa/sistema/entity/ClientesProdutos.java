@@ -0,0 +1,65 @@
+package com.empresa.sistema.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Quantidade comprada por cliente e produto, base do produto favorito em clientes_resumo.
+ * Mantida por ResumosClientes. Tabela: clientes_produtos
+ */
+@Entity
+@IdClass(ClientesProdutos.Chave.class)
+@Table(name = "clientes_produtos")
+public class ClientesProdutos {
+
+    @Id
+    @Column(name = "clienteId")
+    private Long clienteId;
+    @Id
+    @Column(name = "produtoId")
+    private Long produtoId;
+    @Column(name = "quantidade")
+    private Long quantidade;
+
+    // Construtores
+    public ClientesProdutos() {}
+
+
+    public Long getClienteId() {
+        return clienteId;
+    }
+
+    public Long getProdutoId() {
+        return produtoId;
+    }
+
+    public Long getQuantidade() {
+        return quantidade;
+    }
+
+    public static class Chave implements Serializable {
+        private Long clienteId;
+        private Long produtoId;
+
+        public Chave() {}
+
+        public Chave(Long clienteId, Long produtoId) {
+            this.clienteId = clienteId;
+            this.produtoId = produtoId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Chave chave = (Chave) o;
+            return Objects.equals(clienteId, chave.clienteId) && Objects.equals(produtoId, chave.produtoId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(clienteId, produtoId);
+        }
+    }
+}
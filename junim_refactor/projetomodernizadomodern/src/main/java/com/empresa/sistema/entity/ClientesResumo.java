@@ -0,0 +1,58 @@
+package com.empresa.sistema.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Resumo de compras por cliente, mantido incrementalmente na mesma transação que grava
+ * as vendas (ResumosClientes). O favorito é o produto de maior quantidade comprada,
+ * acompanhada em clientes_produtos. Tabela: clientes_resumo
+ */
+@Entity
+@Table(name = "clientes_resumo")
+public class ClientesResumo {
+
+    @Id
+    @Column(name = "clienteId")
+    private Long clienteId;
+    @Column(name = "totalGasto")
+    private BigDecimal totalGasto;
+    // Cupons registrados
+    @Column(name = "compras")
+    private Long compras;
+    @Column(name = "ultimaCompra")
+    private LocalDateTime ultimaCompra;
+    @Column(name = "produtoFavorito")
+    private Long produtoFavorito;
+    @Column(name = "quantidadeFavorito")
+    private Long quantidadeFavorito;
+
+    // Construtores
+    public ClientesResumo() {}
+
+
+    public Long getClienteId() {
+        return clienteId;
+    }
+
+    public BigDecimal getTotalGasto() {
+        return totalGasto;
+    }
+
+    public Long getCompras() {
+        return compras;
+    }
+
+    public LocalDateTime getUltimaCompra() {
+        return ultimaCompra;
+    }
+
+    public Long getProdutoFavorito() {
+        return produtoFavorito;
+    }
+
+    public Long getQuantidadeFavorito() {
+        return quantidadeFavorito;
+    }
+}
@@ -2,6 +2,9 @@ package com.empresa.sistema.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDate;
 import java.math.BigDecimal;
 import java.util.Objects;
@@ -12,11 +15,22 @@ import java.util.Objects;
  * Tabela: produtos
  */
 @Entity
-@Table(name = "produtos")
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "produtos")
+@Table(name = "produtos", uniqueConstraints = {
+        @UniqueConstraint(name = Produtos.RESTRICAO_NOME_UNICO, columnNames = "nome")
+}, indexes = {
+        @Index(name = "idx_produtos_ativo_nome_id", columnList = "ativo, nome, id")
+})
 public class Produtos {
 
+    // Índice único que garante a unicidade do nome
+    public static final String RESTRICAO_NOME_UNICO = "uk_produtos_nome";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "produtos_seq")
+    @SequenceGenerator(name = "produtos_seq", sequenceName = "produtos_seq", allocationSize = 50)
     private Long id;
     @NotBlank(message = "Campo obrigatório")
     @Column(name = "nome")
@@ -31,6 +45,9 @@ public class Produtos {
     private Integer estoque = 0;
     @Column(name = "ativo")
     private Boolean ativo = true;
+    @Version
+    @Column(name = "versao")
+    private Long versao;
 
     // Construtores
     public Produtos() {}
@@ -84,6 +101,14 @@ public class Produtos {
         this.ativo = ativo;
     }
 
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -101,7 +126,7 @@ public class Produtos {
     public String toString() {
         return "Produtos{" +
                 "id=" + id +
-                ", nome='" + nome + ''' +
+                ", nome='" + nome + '\'' +
                 '}';
     }
 }
\ No newline at end of file
@@ -0,0 +1,130 @@
+package com.empresa.sistema.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Entidade Vendas
+ * Tabela vendas do projeto Delphi (ClienteID, ProdutoID, Quantidade, ValorTotal, DataVenda);
+ * DataVenda passa a guardar também o horário, e CupomId identifica as linhas de um mesmo cupom.
+ * As inclusões são feitas em lote por JDBC (GravadorVendas), não pelo EntityManager.
+ */
+@Entity
+@Table(name = "vendas", indexes = {
+        @Index(name = "idx_vendas_cliente_id", columnList = "clienteId, id"),
+        @Index(name = "idx_vendas_produto_data", columnList = "produtoId, dataVenda")
+})
+public class Vendas {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(name = "clienteId")
+    private Long clienteId;
+    @NotNull(message = "Campo obrigatório")
+    @Column(name = "produtoId")
+    private Long produtoId;
+    @NotNull(message = "Campo obrigatório")
+    @Positive(message = "Deve ser maior que zero")
+    @Column(name = "quantidade")
+    private Integer quantidade;
+    @Column(name = "valorTotal")
+    private BigDecimal valorTotal;
+    @Column(name = "dataVenda")
+    private LocalDateTime dataVenda;
+    @Column(name = "cupomId")
+    private Long cupomId;
+
+    // Construtores
+    public Vendas() {}
+
+    public Vendas(Long clienteId, Long produtoId, Integer quantidade, BigDecimal valorTotal, LocalDateTime dataVenda) {
+        this.clienteId = clienteId;
+        this.produtoId = produtoId;
+        this.quantidade = quantidade;
+        this.valorTotal = valorTotal;
+        this.dataVenda = dataVenda;
+    }
+
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getClienteId() {
+        return clienteId;
+    }
+
+    public void setClienteId(Long clienteId) {
+        this.clienteId = clienteId;
+    }
+
+    public Long getProdutoId() {
+        return produtoId;
+    }
+
+    public void setProdutoId(Long produtoId) {
+        this.produtoId = produtoId;
+    }
+
+    public Integer getQuantidade() {
+        return quantidade;
+    }
+
+    public void setQuantidade(Integer quantidade) {
+        this.quantidade = quantidade;
+    }
+
+    public BigDecimal getValorTotal() {
+        return valorTotal;
+    }
+
+    public void setValorTotal(BigDecimal valorTotal) {
+        this.valorTotal = valorTotal;
+    }
+
+    public LocalDateTime getDataVenda() {
+        return dataVenda;
+    }
+
+    public void setDataVenda(LocalDateTime dataVenda) {
+        this.dataVenda = dataVenda;
+    }
+
+    public Long getCupomId() {
+        return cupomId;
+    }
+
+    public void setCupomId(Long cupomId) {
+        this.cupomId = cupomId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Vendas vendas = (Vendas) o;
+        return Objects.equals(id, vendas.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "Vendas{" +
+                "id=" + id +
+                ", produtoId=" + produtoId +
+                ", quantidade=" + quantidade +
+                '}';
+    }
+}
@@ -0,0 +1,73 @@
+package com.empresa.sistema.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Resumo de vendas por produto e dia, mantido incrementalmente na mesma transação que
+ * grava as vendas (ResumosVendas). Tabela: vendas_diarias
+ */
+@Entity
+@IdClass(VendasDiarias.Chave.class)
+@Table(name = "vendas_diarias")
+public class VendasDiarias {
+
+    @Id
+    @Column(name = "produtoId")
+    private Long produtoId;
+    @Id
+    @Column(name = "dia")
+    private LocalDate dia;
+    @Column(name = "quantidade")
+    private Long quantidade;
+    @Column(name = "valorTotal")
+    private BigDecimal valorTotal;
+
+    // Construtores
+    public VendasDiarias() {}
+
+
+    public Long getProdutoId() {
+        return produtoId;
+    }
+
+    public LocalDate getDia() {
+        return dia;
+    }
+
+    public Long getQuantidade() {
+        return quantidade;
+    }
+
+    public BigDecimal getValorTotal() {
+        return valorTotal;
+    }
+
+    public static class Chave implements Serializable {
+        private Long produtoId;
+        private LocalDate dia;
+
+        public Chave() {}
+
+        public Chave(Long produtoId, LocalDate dia) {
+            this.produtoId = produtoId;
+            this.dia = dia;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Chave chave = (Chave) o;
+            return Objects.equals(produtoId, chave.produtoId) && Objects.equals(dia, chave.dia);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(produtoId, dia);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.empresa.sistema.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Resumo de vendas por produto e mês, mantido incrementalmente na mesma transação que
+ * grava as vendas (ResumosVendas). O mês é guardado como AAAAMM. Tabela: vendas_mensais
+ */
+@Entity
+@IdClass(VendasMensais.Chave.class)
+@Table(name = "vendas_mensais")
+public class VendasMensais {
+
+    @Id
+    @Column(name = "produtoId")
+    private Long produtoId;
+    @Id
+    @Column(name = "mes")
+    private Integer mes;
+    @Column(name = "quantidade")
+    private Long quantidade;
+    @Column(name = "valorTotal")
+    private BigDecimal valorTotal;
+
+    // Construtores
+    public VendasMensais() {}
+
+
+    public Long getProdutoId() {
+        return produtoId;
+    }
+
+    public Integer getMes() {
+        return mes;
+    }
+
+    public Long getQuantidade() {
+        return quantidade;
+    }
+
+    public BigDecimal getValorTotal() {
+        return valorTotal;
+    }
+
+    public static class Chave implements Serializable {
+        private Long produtoId;
+        private Integer mes;
+
+        public Chave() {}
+
+        public Chave(Long produtoId, Integer mes) {
+            this.produtoId = produtoId;
+            this.mes = mes;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Chave chave = (Chave) o;
+            return Objects.equals(produtoId, chave.produtoId) && Objects.equals(mes, chave.mes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(produtoId, mes);
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.empresa.sistema.estoque;
+
+import com.empresa.sistema.entity.Produtos;
+import com.empresa.sistema.event.EstoqueGravadoEvent;
+import com.empresa.sistema.event.ProdutoRemovidoEvent;
+import com.empresa.sistema.event.ProdutoSalvoEvent;
+import com.empresa.sistema.event.ProdutosAlteradosEvent;
+import com.empresa.sistema.util.ContadorFaixas;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Saldos de estoque em memória usados pelas reservas, um par de contadores por produto:
+ * o disponível (estoque gravado menos reservas pendentes e baixas ainda não gravadas) e
+ * as baixas confirmadas que aguardam gravação. Reservar e confirmar não tocam o banco;
+ * as baixas são gravadas em lote periodicamente (write-behind), em uma instrução
+ * {@code estoque = estoque + ?} por produto.
+ * Alterações de estoque feitas por outros caminhos (PUT, PATCH, ajuste) chegam pelos
+ * eventos de escrita e são conciliadas relendo o estoque do banco, uma consulta por bloco
+ * de ids e, para os produtos salvos, uma conciliação por transação (o lote publica um
+ * evento por item).
+ * Baixas confirmadas depois da última gravação se perdem se o processo cair sem parada normal.
+ */
+@Component
+public class SaldosEstoque {
+
+    private static final Logger log = LoggerFactory.getLogger(SaldosEstoque.class);
+
+    // Ids por consulta de conciliação
+    private static final int BLOCO_CONCILIACAO = 1_000;
+
+    private static final String SQL_BAIXA =
+            "UPDATE produtos SET estoque = COALESCE(estoque, 0) - ?, versao = versao + 1 WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ApplicationEventPublisher eventos;
+
+    private final Map<Long, Saldo> saldos = new ConcurrentHashMap<>();
+
+    // Serializa gravação e conciliação: o estoque gravado de cada saldo só muda sob este lock
+    private final Object escrita = new Object();
+
+    private static final class Saldo {
+        final ContadorFaixas disponivel;
+        // Baixas em quantidade positiva: inclusões nas faixas não passam pela trava do contador
+        final ContadorFaixas confirmado = new ContadorFaixas(0);
+        long gravado;
+
+        Saldo(long estoque) {
+            this.disponivel = new ContadorFaixas(estoque);
+            this.gravado = estoque;
+        }
+    }
+
+    public boolean conhece(Long produtoId) {
+        return saldos.containsKey(produtoId);
+    }
+
+    public OptionalLong disponivel(Long produtoId) {
+        Saldo saldo = saldos.get(produtoId);
+        return saldo == null ? OptionalLong.empty() : OptionalLong.of(saldo.disponivel.soma());
+    }
+
+    /**
+     * Retira a quantidade do disponível; {@code false} se não houver saldo
+     */
+    public boolean reservar(Long produtoId, int quantidade) {
+        Saldo saldo = saldos.get(produtoId);
+        return saldo != null && saldo.disponivel.tentarRetirar(quantidade);
+    }
+
+    /**
+     * Devolve ao disponível uma reserva liberada ou expirada
+     */
+    public void devolver(Long produtoId, int quantidade) {
+        Saldo saldo = saldos.get(produtoId);
+        if (saldo != null) {
+            saldo.disponivel.adicionar(quantidade);
+        }
+    }
+
+    /**
+     * Transforma uma reserva em baixa, gravada no próximo ciclo; {@code false} se o produto
+     * foi removido
+     */
+    public boolean confirmar(Long produtoId, int quantidade) {
+        Saldo saldo = saldos.get(produtoId);
+        if (saldo == null) {
+            return false;
+        }
+        saldo.confirmado.adicionar(quantidade);
+        return true;
+    }
+
+    /**
+     * Grava as baixas confirmadas desde o último ciclo, em um único lote JDBC
+     */
+    @Scheduled(fixedDelayString = "${app.reservas.intervalo-gravacao:PT1S}")
+    public void gravarConfirmados() {
+        Map<Long, Long> baixas = new HashMap<>();
+        synchronized (escrita) {
+            saldos.forEach((id, saldo) -> {
+                long baixa = saldo.confirmado.drenar();
+                if (baixa != 0) {
+                    baixas.put(id, baixa);
+                }
+            });
+            if (baixas.isEmpty()) {
+                return;
+            }
+            List<Object[]> argumentos = new ArrayList<>(baixas.size());
+            baixas.forEach((id, baixa) -> argumentos.add(new Object[] {baixa, id}));
+            try {
+                novaTransacao(false).executeWithoutResult(status -> jdbcTemplate.batchUpdate(SQL_BAIXA, argumentos));
+            } catch (RuntimeException e) {
+                // Voltam para o próximo ciclo
+                baixas.forEach((id, baixa) -> {
+                    Saldo saldo = saldos.get(id);
+                    if (saldo != null) {
+                        saldo.confirmado.adicionar(baixa);
+                    }
+                });
+                log.warn("Falha ao gravar baixas de estoque de {} produtos; nova tentativa no próximo ciclo", baixas.size(), e);
+                return;
+            }
+            baixas.forEach((id, baixa) -> {
+                Saldo saldo = saldos.get(id);
+                if (saldo != null) {
+                    saldo.gravado -= baixa;
+                }
+            });
+        }
+        // As instruções JDBC não passam pelo Hibernate: as entradas do segundo nível são descartadas aqui
+        for (Long id : baixas.keySet()) {
+            entityManagerFactory.getCache().evict(Produtos.class, id);
+        }
+        eventos.publishEvent(new EstoqueGravadoEvent(baixas.keySet()));
+        log.debug("Baixas de estoque gravadas para {} produtos", baixas.size());
+    }
+
+    /**
+     * Carrega os saldos a partir do banco na inicialização
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruir() {
+        synchronized (escrita) {
+            Map<Long, Long> estoques = new HashMap<>();
+            novaTransacao(true).executeWithoutResult(status -> jdbcTemplate.query(
+                    "SELECT id, COALESCE(estoque, 0) FROM produtos",
+                    rs -> {
+                        estoques.put(rs.getLong(1), rs.getLong(2));
+                    }));
+            saldos.keySet().retainAll(estoques.keySet());
+            estoques.forEach(this::conciliar);
+            log.info("Saldos de estoque carregados: {} produtos", estoques.size());
+        }
+    }
+
+    /**
+     * Junta os ids salvos na transação e os concilia de uma vez após o commit; sem
+     * transação, concilia na hora
+     */
+    @EventListener
+    public void aoSalvarProduto(ProdutoSalvoEvent evento) {
+        Long id = evento.produto().getId();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            conciliar(List.of(id));
+            return;
+        }
+        // Sincronizações são por transação: uma REQUIRES_NEW interna tem a sua
+        Conciliacao conciliacao = TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(sincronizacao -> sincronizacao instanceof Conciliacao c && c.dono() == this)
+                .map(Conciliacao.class::cast)
+                .findFirst()
+                .orElseGet(() -> {
+                    Conciliacao nova = new Conciliacao(this, new LinkedHashSet<>());
+                    TransactionSynchronizationManager.registerSynchronization(nova);
+                    return nova;
+                });
+        conciliacao.ids().add(id);
+    }
+
+    private record Conciliacao(SaldosEstoque dono, Set<Long> ids) implements TransactionSynchronization {
+        @Override
+        public void afterCommit() {
+            dono.conciliar(ids);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoRemoverProduto(ProdutoRemovidoEvent evento) {
+        synchronized (escrita) {
+            saldos.remove(evento.id());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarProdutosEmMassa(ProdutosAlteradosEvent evento) {
+        if (evento.isTodos()) {
+            reconstruir();
+            return;
+        }
+        conciliar(evento.ids());
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        gravarConfirmados();
+    }
+
+    private void conciliar(Collection<Long> ids) {
+        synchronized (escrita) {
+            Set<Long> restantes = new HashSet<>(ids);
+            List<Long> lista = new ArrayList<>(restantes);
+            novaTransacao(true).executeWithoutResult(status -> {
+                for (int inicio = 0; inicio < lista.size(); inicio += BLOCO_CONCILIACAO) {
+                    List<Long> parte = lista.subList(inicio, Math.min(inicio + BLOCO_CONCILIACAO, lista.size()));
+                    String sql = "SELECT id, COALESCE(estoque, 0) FROM produtos WHERE id IN ("
+                            + String.join(", ", Collections.nCopies(parte.size(), "?")) + ")";
+                    jdbcTemplate.query(sql, rs -> {
+                        long id = rs.getLong(1);
+                        conciliar(id, rs.getLong(2));
+                        restantes.remove(id);
+                    }, parte.toArray());
+                }
+            });
+            saldos.keySet().removeAll(restantes);
+        }
+    }
+
+    /**
+     * Aplica ao disponível a diferença entre o estoque no banco e o último gravado conhecido.
+     * Chamado sob o lock de escrita, que também envolve a gravação das baixas: o estoque
+     * lido nunca está entre a gravação de um lote e a atualização de {@code gravado}.
+     */
+    private void conciliar(Long id, long estoque) {
+        Saldo saldo = saldos.get(id);
+        if (saldo == null) {
+            saldos.put(id, new Saldo(estoque));
+            return;
+        }
+        long diferenca = estoque - saldo.gravado;
+        if (diferenca != 0) {
+            saldo.gravado = estoque;
+            saldo.disponivel.adicionar(diferenca);
+        }
+    }
+
+    private TransactionTemplate novaTransacao(boolean somenteLeitura) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        template.setReadOnly(somenteLeitura);
+        return template;
+    }
+}
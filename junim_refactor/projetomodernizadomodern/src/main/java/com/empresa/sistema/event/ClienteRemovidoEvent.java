@@ -0,0 +1,7 @@
+package com.empresa.sistema.event;
+
+/**
+ * Publicado quando um cliente é removido; tratado após o commit
+ */
+public record ClienteRemovidoEvent(Long id) {
+}
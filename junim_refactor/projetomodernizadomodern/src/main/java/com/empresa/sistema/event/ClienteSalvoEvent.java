@@ -0,0 +1,9 @@
+package com.empresa.sistema.event;
+
+import com.empresa.sistema.entity.Clientes;
+
+/**
+ * Publicado quando um cliente é incluído ou atualizado; tratado após o commit
+ */
+public record ClienteSalvoEvent(Clientes cliente) {
+}
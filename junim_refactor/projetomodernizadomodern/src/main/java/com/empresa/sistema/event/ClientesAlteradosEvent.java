@@ -0,0 +1,19 @@
+package com.empresa.sistema.event;
+
+import java.util.Collection;
+
+/**
+ * Publicado após alterações em massa (instruções set-based) em clientes.
+ * {@code ids} nulo indica que os registros afetados não são conhecidos (filtro por status);
+ * nesse caso os interessados devem se reconstruir a partir do banco.
+ */
+public record ClientesAlteradosEvent(Collection<Long> ids) {
+
+    public static ClientesAlteradosEvent todos() {
+        return new ClientesAlteradosEvent(null);
+    }
+
+    public boolean isTodos() {
+        return ids == null;
+    }
+}
@@ -0,0 +1,10 @@
+package com.empresa.sistema.event;
+
+import java.util.Collection;
+
+/**
+ * Publicado após a gravação em lote das baixas de estoque confirmadas pelas reservas
+ * (instruções JDBC, fora do Hibernate); somente estoque e versão dos ids mudaram.
+ */
+public record EstoqueGravadoEvent(Collection<Long> ids) {
+}
@@ -0,0 +1,7 @@
+package com.empresa.sistema.event;
+
+/**
+ * Publicado quando um produto é removido; tratado após o commit
+ */
+public record ProdutoRemovidoEvent(Long id) {
+}
@@ -0,0 +1,10 @@
+package com.empresa.sistema.event;
+
+import com.empresa.sistema.entity.Produtos;
+
+/**
+ * Publicado quando um produto é incluído ou atualizado; tratado após o commit.
+ * {@code nomeAnterior} é o nome antes da gravação, nulo nas inclusões.
+ */
+public record ProdutoSalvoEvent(Produtos produto, String nomeAnterior) {
+}
@@ -0,0 +1,18 @@
+package com.empresa.sistema.event;
+
+import com.empresa.sistema.entity.Vendas;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Publicado pelo gravador de vendas após o commit de cada lote, na thread do gravador:
+ * os interessados devem apenas atualizar estruturas em memória.
+ * Cada elemento de {@code cupons} são as linhas de uma mesma requisição.
+ */
+public record VendasRegistradasEvent(List<List<Vendas>> cupons) {
+
+    public Stream<Vendas> vendas() {
+        return cupons.stream().flatMap(List::stream);
+    }
+}
@@ -1,26 +1,96 @@
 package com.empresa.sistema.repository;
 
+import com.empresa.sistema.dto.AssinaturaColecao;
+import com.empresa.sistema.dto.ClienteResumo;
 import com.empresa.sistema.entity.Clientes;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ClientesRepository extends JpaRepository<Clientes, Long> {
 
+    // Linhas trazidas do banco por ida ao cursor durante a exportação
+    int FETCH_SIZE_EXPORTACAO = 500;
+
     // Busca por nome/descrição
     List<Clientes> findByNomeContainingIgnoreCase(String nome);
     
     // Busca por status ativo
     List<Clientes> findByAtivoTrue();
     
-    // Query customizada
+    // Query customizada; resultado no cache de consultas, invalidado a cada escrita na tabela
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT e FROM Clientes e WHERE e.ativo = :ativo ORDER BY e.nome")
     List<Clientes> buscarPorStatus(@Param("ativo") Boolean ativo);
     
+    // Primeira página da paginação por cursor, ordenada por (nome, id)
+    @Query("SELECT e FROM Clientes e WHERE e.ativo = :ativo ORDER BY e.nome, e.id")
+    List<Clientes> buscarPrimeiraPaginaPorStatus(@Param("ativo") Boolean ativo, Pageable pageable);
+    
+    // Páginas seguintes: registros posteriores ao cursor (nome, id)
+    @Query("SELECT e FROM Clientes e WHERE e.ativo = :ativo " +
+           "AND (e.nome > :nome OR (e.nome = :nome AND e.id > :id)) ORDER BY e.nome, e.id")
+    List<Clientes> buscarPaginaPorStatus(@Param("ativo") Boolean ativo, @Param("nome") String nome,
+                                        @Param("id") Long id, Pageable pageable);
+    
+    // Exportação: cursor forward-only, sem snapshot de dirty checking (somente leitura) e sem povoar o cache
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + FETCH_SIZE_EXPORTACAO),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT e FROM Clientes e ORDER BY e.id")
+    Stream<Clientes> streamTodos();
+    
+    // Projeção resumida: primeira página dos ativos, ordenada por (nome, id)
+    @Query("SELECT new com.empresa.sistema.dto.ClienteResumo(e.id, e.nome, e.email, e.telefone) FROM Clientes e " +
+           "WHERE e.ativo = true ORDER BY e.nome, e.id")
+    List<ClienteResumo> buscarResumoPrimeiraPagina(Pageable pageable);
+    
+    // Projeção resumida: páginas seguintes ao cursor (nome, id)
+    @Query("SELECT new com.empresa.sistema.dto.ClienteResumo(e.id, e.nome, e.email, e.telefone) FROM Clientes e " +
+           "WHERE e.ativo = true AND (e.nome > :nome OR (e.nome = :nome AND e.id > :id)) ORDER BY e.nome, e.id")
+    List<ClienteResumo> buscarResumoPagina(@Param("nome") String nome, @Param("id") Long id, Pageable pageable);
+    
+    // Projeção resumida da busca por nome
+    List<ClienteResumo> findResumoByNomeContainingIgnoreCase(String nome);
+    
+    // Versão atual do registro, sem carregar a entidade
+    @Query("SELECT e.versao FROM Clientes e WHERE e.id = :id")
+    Optional<Long> buscarVersao(@Param("id") Long id);
+    
+    // Assinatura dos ativos para a ETag da listagem
+    @Query("SELECT new com.empresa.sistema.dto.AssinaturaColecao(COUNT(e), COALESCE(SUM(e.versao), 0L), " +
+           "COALESCE(SUM(e.id), 0L)) FROM Clientes e WHERE e.ativo = true")
+    AssinaturaColecao buscarAssinaturaAtivos();
+    
+    // Remoção em massa por lista de ids
+    @Modifying
+    @Query("DELETE FROM Clientes e WHERE e.id IN :ids")
+    int removerPorIds(@Param("ids") Collection<Long> ids);
+    
+    // Remoção em massa por status
+    @Modifying
+    @Query("DELETE FROM Clientes e WHERE e.ativo = :ativo")
+    int removerPorStatus(@Param("ativo") Boolean ativo);
+    
+    // Alteração de status em massa; incrementa a versão para invalidar as ETags
+    @Modifying
+    @Query("UPDATE Clientes e SET e.ativo = :ativo, e.versao = e.versao + 1 " +
+           "WHERE e.id IN :ids AND e.ativo <> :ativo")
+    int atualizarStatus(@Param("ids") Collection<Long> ids, @Param("ativo") Boolean ativo);
+    
     // Existe por nome
     boolean existsByNome(String nome);
 }
\ No newline at end of file
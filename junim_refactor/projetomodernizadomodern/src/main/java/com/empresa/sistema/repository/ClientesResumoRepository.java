@@ -0,0 +1,9 @@
+package com.empresa.sistema.repository;
+
+import com.empresa.sistema.entity.ClientesResumo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ClientesResumoRepository extends JpaRepository<ClientesResumo, Long> {
+}
@@ -1,26 +1,114 @@
 package com.empresa.sistema.repository;
 
+import com.empresa.sistema.dto.AssinaturaColecao;
+import com.empresa.sistema.dto.PrecoProduto;
+import com.empresa.sistema.dto.ProdutoResumo;
 import com.empresa.sistema.entity.Produtos;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProdutosRepository extends JpaRepository<Produtos, Long> {
 
+    // Linhas trazidas do banco por ida ao cursor nas leituras completas (reconstrução de índices)
+    int FETCH_SIZE_LEITURA_COMPLETA = 500;
+
     // Busca por nome/descrição
     List<Produtos> findByNomeContainingIgnoreCase(String nome);
     
     // Busca por status ativo
     List<Produtos> findByAtivoTrue();
     
-    // Query customizada
+    // Query customizada; resultado no cache de consultas, invalidado a cada escrita na tabela
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT e FROM Produtos e WHERE e.ativo = :ativo ORDER BY e.nome")
     List<Produtos> buscarPorStatus(@Param("ativo") Boolean ativo);
     
+    // Primeira página da paginação por cursor, ordenada por (nome, id)
+    @Query("SELECT e FROM Produtos e WHERE e.ativo = :ativo ORDER BY e.nome, e.id")
+    List<Produtos> buscarPrimeiraPaginaPorStatus(@Param("ativo") Boolean ativo, Pageable pageable);
+    
+    // Páginas seguintes: registros posteriores ao cursor (nome, id)
+    @Query("SELECT e FROM Produtos e WHERE e.ativo = :ativo " +
+           "AND (e.nome > :nome OR (e.nome = :nome AND e.id > :id)) ORDER BY e.nome, e.id")
+    List<Produtos> buscarPaginaPorStatus(@Param("ativo") Boolean ativo, @Param("nome") String nome,
+                                        @Param("id") Long id, Pageable pageable);
+    
+    // Projeção resumida: primeira página dos ativos, ordenada por (nome, id)
+    @Query("SELECT new com.empresa.sistema.dto.ProdutoResumo(e.id, e.nome, e.preco, e.estoque) FROM Produtos e " +
+           "WHERE e.ativo = true ORDER BY e.nome, e.id")
+    List<ProdutoResumo> buscarResumoPrimeiraPagina(Pageable pageable);
+    
+    // Projeção resumida: páginas seguintes ao cursor (nome, id)
+    @Query("SELECT new com.empresa.sistema.dto.ProdutoResumo(e.id, e.nome, e.preco, e.estoque) FROM Produtos e " +
+           "WHERE e.ativo = true AND (e.nome > :nome OR (e.nome = :nome AND e.id > :id)) ORDER BY e.nome, e.id")
+    List<ProdutoResumo> buscarResumoPagina(@Param("nome") String nome, @Param("id") Long id, Pageable pageable);
+    
+    // Projeção resumida da busca por nome
+    List<ProdutoResumo> findResumoByNomeContainingIgnoreCase(String nome);
+    
+    // Versão atual do registro, sem carregar a entidade
+    @Query("SELECT e.versao FROM Produtos e WHERE e.id = :id")
+    Optional<Long> buscarVersao(@Param("id") Long id);
+    
+    // Assinatura dos ativos para a ETag da listagem
+    @Query("SELECT new com.empresa.sistema.dto.AssinaturaColecao(COUNT(e), COALESCE(SUM(e.versao), 0L), " +
+           "COALESCE(SUM(e.id), 0L)) FROM Produtos e WHERE e.ativo = true")
+    AssinaturaColecao buscarAssinaturaAtivos();
+    
+    // Localiza os existentes de um bloco do lote em uma única consulta
+    List<Produtos> findByNomeIn(Collection<String> nomes);
+    
+    // Remoção em massa por lista de ids
+    @Modifying
+    @Query("DELETE FROM Produtos e WHERE e.id IN :ids")
+    int removerPorIds(@Param("ids") Collection<Long> ids);
+    
+    // Remoção em massa por status
+    @Modifying
+    @Query("DELETE FROM Produtos e WHERE e.ativo = :ativo")
+    int removerPorStatus(@Param("ativo") Boolean ativo);
+    
+    // Alteração de status em massa; incrementa a versão para invalidar as ETags
+    @Modifying
+    @Query("UPDATE Produtos e SET e.ativo = :ativo, e.versao = e.versao + 1 " +
+           "WHERE e.id IN :ids AND e.ativo <> :ativo")
+    int atualizarStatus(@Param("ids") Collection<Long> ids, @Param("ativo") Boolean ativo);
+    
+    // Leitura completa: cursor forward-only, somente leitura, sem povoar o cache de segundo nível
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + FETCH_SIZE_LEITURA_COMPLETA),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT e FROM Produtos e ORDER BY e.id")
+    Stream<Produtos> streamTodos();
+    
+    // Todos os nomes, para reconstruir o filtro de nomes cadastrados
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + FETCH_SIZE_LEITURA_COMPLETA))
+    @Query("SELECT e.nome FROM Produtos e")
+    Stream<String> streamNomes();
+    
+    // Nome, preço e status de todos os produtos, para carregar o catálogo de vendas
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + FETCH_SIZE_LEITURA_COMPLETA))
+    @Query("SELECT new com.empresa.sistema.dto.PrecoProduto(e.id, e.nome, e.preco, e.ativo) FROM Produtos e")
+    Stream<PrecoProduto> streamPrecos();
+    
+    // Nome, preço e status dos ids informados
+    @Query("SELECT new com.empresa.sistema.dto.PrecoProduto(e.id, e.nome, e.preco, e.ativo) FROM Produtos e WHERE e.id IN :ids")
+    List<PrecoProduto> buscarPrecos(@Param("ids") Collection<Long> ids);
+    
     // Existe por nome
     boolean existsByNome(String nome);
 }
\ No newline at end of file
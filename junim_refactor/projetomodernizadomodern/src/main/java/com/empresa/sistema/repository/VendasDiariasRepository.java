@@ -0,0 +1,18 @@
+package com.empresa.sistema.repository;
+
+import com.empresa.sistema.entity.VendasDiarias;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface VendasDiariasRepository extends JpaRepository<VendasDiarias, VendasDiarias.Chave> {
+
+    // Faixa da chave primária (produto, dia): custo proporcional ao intervalo, não ao histórico
+    @Query("SELECT e FROM VendasDiarias e WHERE e.produtoId = :produtoId AND e.dia BETWEEN :inicio AND :fim ORDER BY e.dia")
+    List<VendasDiarias> buscarPeriodo(@Param("produtoId") Long produtoId, @Param("inicio") LocalDate inicio,
+                                      @Param("fim") LocalDate fim);
+}
@@ -0,0 +1,17 @@
+package com.empresa.sistema.repository;
+
+import com.empresa.sistema.entity.VendasMensais;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface VendasMensaisRepository extends JpaRepository<VendasMensais, VendasMensais.Chave> {
+
+    // Faixa da chave primária (produto, mês AAAAMM)
+    @Query("SELECT e FROM VendasMensais e WHERE e.produtoId = :produtoId AND e.mes BETWEEN :inicio AND :fim ORDER BY e.mes")
+    List<VendasMensais> buscarPeriodo(@Param("produtoId") Long produtoId, @Param("inicio") Integer inicio,
+                                      @Param("fim") Integer fim);
+}
@@ -0,0 +1,17 @@
+package com.empresa.sistema.repository;
+
+import com.empresa.sistema.entity.Vendas;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface VendasRepository extends JpaRepository<Vendas, Long> {
+
+    // Vendas mais recentes do cliente
+    @Query("SELECT e FROM Vendas e WHERE e.clienteId = :clienteId ORDER BY e.id DESC")
+    List<Vendas> buscarRecentesPorCliente(@Param("clienteId") Long clienteId, Pageable pageable);
+}
@@ -0,0 +1,74 @@
+package com.empresa.sistema.service;
+
+import com.empresa.sistema.cache.ProdutosCache;
+import com.empresa.sistema.config.CacheSegundoNivelConfig;
+import com.empresa.sistema.dto.EstatisticasCache;
+import com.empresa.sistema.dto.EstatisticasCacheAplicacao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.cache.management.CacheStatisticsMXBean;
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Administração dos caches: estatísticas das regiões do cache de segundo nível,
+ * publicadas pelo provedor JCache como CacheStatisticsMXBean, e dos caches de aplicação
+ */
+@Service
+public class CacheService {
+
+    @Autowired
+    private ProdutosCache produtosCache;
+    
+    private final MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+
+    /**
+     * Estatísticas de todas as regiões configuradas
+     */
+    public List<EstatisticasCache> buscarEstatisticas() {
+        List<EstatisticasCache> estatisticas = new ArrayList<>();
+        for (String regiao : CacheSegundoNivelConfig.REGIOES) {
+            CacheStatisticsMXBean bean = localizar(regiao);
+            if (bean != null) {
+                estatisticas.add(new EstatisticasCache(regiao, bean.getCacheHits(), bean.getCacheMisses(),
+                        bean.getCachePuts(), bean.getCacheRemovals(), bean.getCacheEvictions(),
+                        bean.getCacheHitPercentage()));
+            }
+        }
+        return estatisticas;
+    }
+
+    /**
+     * Estatísticas dos caches de aplicação
+     */
+    public List<EstatisticasCacheAplicacao> buscarEstatisticasAplicacao() {
+        return produtosCache.buscarEstatisticas();
+    }
+    
+    /**
+     * Esvazia os caches de aplicação
+     */
+    public void limparAplicacao() {
+        produtosCache.limpar();
+    }
+    
+    private CacheStatisticsMXBean localizar(String regiao) {
+        try {
+            ObjectName padrao = new ObjectName("javax.cache:type=CacheStatistics,Cache=" + regiao + ",*");
+            Set<ObjectName> nomes = servidor.queryNames(padrao, null);
+            if (nomes.isEmpty()) {
+                return null;
+            }
+            return JMX.newMXBeanProxy(servidor, nomes.iterator().next(), CacheStatisticsMXBean.class);
+        } catch (MalformedObjectNameException e) {
+            throw new IllegalArgumentException("Região inválida: " + regiao, e);
+        }
+    }
+}
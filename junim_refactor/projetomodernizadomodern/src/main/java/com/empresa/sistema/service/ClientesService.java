@@ -1,20 +1,87 @@
 package com.empresa.sistema.service;
 
+import com.empresa.sistema.busca.IndiceSugestoes;
+import com.empresa.sistema.cache.CatalogoProdutos;
+import com.empresa.sistema.dto.AssinaturaColecao;
+import com.empresa.sistema.dto.AtualizacaoStatusLote;
+import com.empresa.sistema.dto.Cursor;
+import com.empresa.sistema.dto.Pagina;
+import com.empresa.sistema.dto.PrecoProduto;
+import com.empresa.sistema.dto.ResumoComprasCliente;
+import com.empresa.sistema.dto.ResultadoOperacaoLote;
+import com.empresa.sistema.dto.ClienteResumo;
+import com.empresa.sistema.dto.Sugestao;
 import com.empresa.sistema.entity.Clientes;
+import com.empresa.sistema.entity.ClientesResumo;
+import com.empresa.sistema.event.ClienteRemovidoEvent;
+import com.empresa.sistema.event.ClienteSalvoEvent;
+import com.empresa.sistema.event.ClientesAlteradosEvent;
 import com.empresa.sistema.repository.ClientesRepository;
+import com.empresa.sistema.repository.ClientesResumoRepository;
+import com.empresa.sistema.util.MergePatch;
+import com.empresa.sistema.util.Restricoes;
+import com.empresa.sistema.vendas.ResumosVendas;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class ClientesService {
 
+    // Máximo de ids por cláusula IN nas operações em massa
+    private static final int TAMANHO_MAXIMO_IN = 1000;
+    
+    // Campos alteráveis por PATCH
+    private static final Set<String> CAMPOS_PATCH =
+            Set.of("nome", "email", "telefone", "endereco", "dataCadastro", "ativo");
+
     @Autowired
     private ClientesRepository repository;
     
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Autowired
+    private ApplicationEventPublisher eventos;
+    
+    @Autowired
+    private IndiceSugestoes sugestoes;
+    
+    @Autowired
+    private ClientesResumoRepository resumoRepository;
+    
+    @Autowired
+    private CatalogoProdutos catalogo;
+    
+    @Autowired
+    private ResumosVendas resumosVendas;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
     /**
      * Busca todos os registros ativos
      */
@@ -23,6 +90,48 @@ public class ClientesService {
         return repository.findByAtivoTrue();
     }
     
+    /**
+     * Busca uma página dos registros ativos, a partir do cursor informado
+     */
+    @Transactional(readOnly = true)
+    public Pagina<Clientes> buscarPagina(String cursor, Integer tamanho) {
+        return buscarPaginaPorStatus(true, cursor, tamanho);
+    }
+    
+    /**
+     * Busca uma página por status, ordenada por (nome, id)
+     */
+    @Transactional(readOnly = true)
+    public Pagina<Clientes> buscarPaginaPorStatus(Boolean ativo, String cursor, Integer tamanho) {
+        int limite = Pagina.limitarTamanho(tamanho);
+        Pageable pageable = PageRequest.of(0, limite + 1);
+        List<Clientes> registros;
+        if (cursor == null || cursor.isBlank()) {
+            registros = repository.buscarPrimeiraPaginaPorStatus(ativo, pageable);
+        } else {
+            Cursor posicao = Cursor.decodificar(cursor);
+            registros = repository.buscarPaginaPorStatus(ativo, posicao.nome(), posicao.id(), pageable);
+        }
+        return Pagina.de(registros, limite, e -> new Cursor(e.getNome(), e.getId()));
+    }
+    
+    /**
+     * Busca uma página da projeção resumida dos registros ativos
+     */
+    @Transactional(readOnly = true)
+    public Pagina<ClienteResumo> buscarResumo(String cursor, Integer tamanho) {
+        int limite = Pagina.limitarTamanho(tamanho);
+        Pageable pageable = PageRequest.of(0, limite + 1);
+        List<ClienteResumo> registros;
+        if (cursor == null || cursor.isBlank()) {
+            registros = repository.buscarResumoPrimeiraPagina(pageable);
+        } else {
+            Cursor posicao = Cursor.decodificar(cursor);
+            registros = repository.buscarResumoPagina(posicao.nome(), posicao.id(), pageable);
+        }
+        return Pagina.de(registros, limite, r -> new Cursor(r.nome(), r.id()));
+    }
+    
     /**
      * Busca por ID
      */
@@ -31,6 +140,49 @@ public class ClientesService {
         return repository.findById(id);
     }
     
+    /**
+     * Resumo de compras do cliente, lido de uma linha de clientes_resumo; vazio se o
+     * cliente não existe
+     */
+    @Transactional(readOnly = true)
+    public Optional<ResumoComprasCliente> buscarResumoCompras(Long id) {
+        Optional<ClientesResumo> resumo = resumoRepository.findById(id);
+        if (resumo.isEmpty()) {
+            // Sem compras: o cliente existe? (cache de segundo nível)
+            return entityManager.find(Clientes.class, id) == null
+                    ? Optional.empty()
+                    : Optional.of(new ResumoComprasCliente(id, BigDecimal.ZERO, 0, null, null, null));
+        }
+        ClientesResumo r = resumo.get();
+        PrecoProduto favorito = r.getProdutoFavorito() != null ? catalogo.buscar(r.getProdutoFavorito()) : null;
+        return Optional.of(new ResumoComprasCliente(id, r.getTotalGasto(), r.getCompras(), r.getUltimaCompra(),
+                r.getProdutoFavorito(), favorito != null ? favorito.nome() : null));
+    }
+    
+    /**
+     * Recalcula os resumos de compras de todos os clientes a partir das vendas, em paralelo
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void reconstruirResumosCompras() {
+        resumosVendas.reconstruirClientes();
+    }
+    
+    /**
+     * Versão atual do registro, para requisições condicionais
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> buscarVersao(Long id) {
+        return repository.buscarVersao(id);
+    }
+    
+    /**
+     * Assinatura agregada dos registros ativos, para requisições condicionais
+     */
+    @Transactional(readOnly = true)
+    public AssinaturaColecao buscarAssinatura() {
+        return repository.buscarAssinaturaAtivos();
+    }
+    
     /**
      * Busca por nome
      */
@@ -39,24 +191,131 @@ public class ClientesService {
         return repository.findByNomeContainingIgnoreCase(nome);
     }
     
+    /**
+     * Sugestões de nomes que começam pelo prefixo, servidas da memória
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<Sugestao> sugerir(String prefixo, int limite) {
+        return sugestoes.sugerirClientes(prefixo, limite);
+    }
+    
+    /**
+     * Exporta todos os registros em NDJSON (um JSON por linha).
+     * Cada entidade é desanexada após ser escrita, mantendo o contexto de persistência vazio.
+     */
+    @Transactional(readOnly = true)
+    public long exportar(OutputStream saida) throws IOException {
+        long total = 0;
+        try (Stream<Clientes> registros = repository.streamTodos()) {
+            Iterator<Clientes> iterador = registros.iterator();
+            while (iterador.hasNext()) {
+                Clientes registro = iterador.next();
+                saida.write(objectMapper.writeValueAsBytes(registro));
+                saida.write('\n');
+                entityManager.detach(registro);
+                total++;
+            }
+        }
+        saida.flush();
+        return total;
+    }
+    
+    /**
+     * Busca por nome, retornando a projeção resumida
+     */
+    @Transactional(readOnly = true)
+    public List<ClienteResumo> buscarResumoPorNome(String nome) {
+        return repository.findResumoByNomeContainingIgnoreCase(nome);
+    }
+    
     /**
      * Salva ou atualiza
      */
     public Clientes salvar(Clientes entity) {
         // Validações de negócio
         validar(entity);
-        return repository.save(entity);
+        if (entity.getId() != null && entity.getVersao() == null) {
+            // Atualização sem versão informada: assume a versão atual (última escrita prevalece)
+            entity.setVersao(repository.buscarVersao(entity.getId()).orElse(null));
+        }
+        Clientes salvo = gravar(entity);
+        eventos.publishEvent(new ClienteSalvoEvent(salvo));
+        return salvo;
+    }
+    
+    /**
+     * Atualização parcial por JSON Merge Patch. A entidade vem do cache de segundo nível
+     * quando presente, sem SELECT, e o UPDATE grava somente as colunas alteradas.
+     */
+    public Optional<Clientes> aplicarPatch(Long id, Map<String, Object> patch) {
+        Clientes atual = entityManager.find(Clientes.class, id);
+        if (atual == null) {
+            return Optional.empty();
+        }
+        MergePatch.aplicar(objectMapper, validator, atual, patch, CAMPOS_PATCH);
+        Clientes salvo = gravar(atual);
+        eventos.publishEvent(new ClienteSalvoEvent(salvo));
+        return Optional.of(salvo);
     }
     
     /**
      * Remove por ID
      */
     public void remover(Long id) {
-        if (repository.existsById(id)) {
-            repository.deleteById(id);
-        } else {
-            throw new RuntimeException("Registro não encontrado: " + id);
+        // Pela entidade, em geral lida do segundo nível: só a entrada do id sai do cache,
+        // enquanto um DELETE JPQL descartaria a região inteira
+        Clientes cliente = repository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Registro não encontrado: " + id));
+        repository.delete(cliente);
+        eventos.publishEvent(new ClienteRemovidoEvent(id));
+    }
+    
+    /**
+     * Remove em massa por lista de ids ou por status; exatamente um dos filtros deve ser informado
+     */
+    public ResultadoOperacaoLote removerEmLote(List<Long> ids, Boolean ativo) {
+        boolean porIds = ids != null && !ids.isEmpty();
+        if (porIds == (ativo != null)) {
+            throw new IllegalArgumentException("Informe a lista de ids ou o status, não ambos");
+        }
+        if (!porIds) {
+            int afetados = repository.removerPorStatus(ativo);
+            eventos.publishEvent(ClientesAlteradosEvent.todos());
+            return new ResultadoOperacaoLote(afetados);
+        }
+        int afetados = 0;
+        for (List<Long> bloco : particionar(ids)) {
+            afetados += repository.removerPorIds(bloco);
+        }
+        eventos.publishEvent(new ClientesAlteradosEvent(ids));
+        return new ResultadoOperacaoLote(afetados);
+    }
+    
+    /**
+     * Altera o status de vários registros em instruções UPDATE únicas por bloco de ids
+     */
+    public ResultadoOperacaoLote atualizarStatusEmLote(AtualizacaoStatusLote requisicao) {
+        if (requisicao.ativo() == null || requisicao.ids() == null || requisicao.ids().isEmpty()) {
+            throw new IllegalArgumentException("Informe os ids e o status");
+        }
+        int afetados = 0;
+        for (List<Long> bloco : particionar(requisicao.ids())) {
+            afetados += repository.atualizarStatus(bloco, requisicao.ativo());
+        }
+        eventos.publishEvent(new ClientesAlteradosEvent(requisicao.ids()));
+        return new ResultadoOperacaoLote(afetados);
+    }
+    
+    /**
+     * Divide a lista de ids em blocos para manter as cláusulas IN com tamanho limitado
+     */
+    private static List<List<Long>> particionar(List<Long> ids) {
+        List<Long> distintos = ids.stream().distinct().toList();
+        List<List<Long>> blocos = new ArrayList<>();
+        for (int inicio = 0; inicio < distintos.size(); inicio += TAMANHO_MAXIMO_IN) {
+            blocos.add(distintos.subList(inicio, Math.min(inicio + TAMANHO_MAXIMO_IN, distintos.size())));
         }
+        return blocos;
     }
     
     /**
@@ -66,10 +325,19 @@ public class ClientesService {
         if (entity.getNome() == null || entity.getNome().trim().isEmpty()) {
             throw new IllegalArgumentException("Nome é obrigatório");
         }
-        
-        // Verificar duplicação
-        if (entity.getId() == null && repository.existsByNome(entity.getNome())) {
-            throw new IllegalArgumentException("Já existe um registro com este nome");
+    }
+    
+    /**
+     * Grava em uma única instrução; a duplicidade de nome é detectada pelo índice único
+     */
+    private Clientes gravar(Clientes entity) {
+        try {
+            return repository.saveAndFlush(entity);
+        } catch (DataIntegrityViolationException e) {
+            if (Restricoes.violou(e, Clientes.RESTRICAO_NOME_UNICO)) {
+                throw new IllegalArgumentException("Já existe um registro com este nome", e);
+            }
+            throw e;
         }
     }
 }
\ No newline at end of file
@@ -1,20 +1,147 @@
 package com.empresa.sistema.service;
 
+import com.empresa.sistema.busca.IndiceProdutos;
+import com.empresa.sistema.busca.IndiceSugestoes;
+import com.empresa.sistema.cache.CatalogoColunar;
+import com.empresa.sistema.cache.CatalogoProdutos;
+import com.empresa.sistema.cache.ColunasProdutos;
+import com.empresa.sistema.cache.NomesCadastrados;
+import com.empresa.sistema.cache.ProdutosCache;
+import com.empresa.sistema.dto.AssinaturaColecao;
+import com.empresa.sistema.dto.AtualizacaoStatusLote;
+import com.empresa.sistema.dto.Cursor;
+import com.empresa.sistema.dto.EstatisticasCatalogo;
+import com.empresa.sistema.dto.FaixaPreco;
+import com.empresa.sistema.dto.ItemResultadoLote;
+import com.empresa.sistema.dto.Pagina;
+import com.empresa.sistema.dto.PrecoProduto;
+import com.empresa.sistema.dto.ProdutoEncontrado;
+import com.empresa.sistema.dto.ProdutoCompradoJunto;
+import com.empresa.sistema.dto.ProdutoMaisVendido;
+import com.empresa.sistema.dto.ProdutoResumo;
+import com.empresa.sistema.dto.ResultadoBusca;
+import com.empresa.sistema.dto.ResultadoLote;
+import com.empresa.sistema.dto.ResultadoOperacaoLote;
+import com.empresa.sistema.dto.StatusItemLote;
+import com.empresa.sistema.dto.Sugestao;
 import com.empresa.sistema.entity.Produtos;
+import com.empresa.sistema.event.ProdutoRemovidoEvent;
+import com.empresa.sistema.event.ProdutoSalvoEvent;
+import com.empresa.sistema.event.ProdutosAlteradosEvent;
 import com.empresa.sistema.repository.ProdutosRepository;
+import com.empresa.sistema.util.MatrizCoocorrencia;
+import com.empresa.sistema.util.MergePatch;
+import com.empresa.sistema.util.Restricoes;
+import com.empresa.sistema.util.Retentativas;
+import com.empresa.sistema.vendas.CompradosJunto;
+import com.empresa.sistema.vendas.MaisVendidos;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class ProdutosService {
 
+    // Limite de itens aceitos por chamada de salvarLote
+    public static final int TAMANHO_MAXIMO_LOTE = 10_000;
+    
+    // Itens gravados por transação no lote (múltiplo de hibernate.jdbc.batch_size)
+    private static final int TAMANHO_BLOCO_LOTE = 500;
+    
+    // Máximo de ids por cláusula IN nas operações em massa
+    private static final int TAMANHO_MAXIMO_IN = 1000;
+    
+    // Maior ranking de mais vendidos por consulta
+    public static final int MAXIMO_MAIS_VENDIDOS = 50;
+    
+    // Maior lista de comprados junto por consulta
+    public static final int MAXIMO_COMPRADOS_JUNTO = 20;
+    
+    // Limites de faixa de preço aceitos por análise do catálogo
+    public static final int MAXIMO_LIMITES_FAIXA = 50;
+    
+    // Campos alteráveis por PATCH
+    private static final Set<String> CAMPOS_PATCH = Set.of("nome", "descricao", "preco", "estoque", "ativo");
+
     @Autowired
     private ProdutosRepository repository;
     
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Autowired
+    private ApplicationEventPublisher eventos;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private IndiceProdutos indice;
+    
+    @Autowired
+    private IndiceSugestoes sugestoes;
+    
+    @Autowired
+    private ProdutosCache cache;
+    
+    @Autowired
+    private NomesCadastrados nomesCadastrados;
+    
+    @Autowired
+    private CatalogoProdutos catalogo;
+    
+    @Autowired
+    private MaisVendidos maisVendidos;
+    
+    @Autowired
+    private CompradosJunto compradosJunto;
+    
+    @Autowired
+    private CatalogoColunar catalogoColunar;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${app.estoque.tentativas:5}")
+    private int tentativasEstoque;
+    
+    @Value("${app.estoque.espera-base:5ms}")
+    private Duration esperaBaseEstoque;
+    
+    @Value("${app.estoque.espera-maxima:200ms}")
+    private Duration esperaMaximaEstoque;
+    
     /**
      * Busca todos os registros ativos
      */
@@ -24,19 +151,202 @@ public class ProdutosService {
     }
     
     /**
-     * Busca por ID
+     * Busca uma página dos registros ativos, a partir do cursor informado
+     */
+    @Transactional(readOnly = true)
+    public Pagina<Produtos> buscarPagina(String cursor, Integer tamanho) {
+        return buscarPaginaPorStatus(true, cursor, tamanho);
+    }
+    
+    /**
+     * Busca uma página por status, ordenada por (nome, id)
+     */
+    @Transactional(readOnly = true)
+    public Pagina<Produtos> buscarPaginaPorStatus(Boolean ativo, String cursor, Integer tamanho) {
+        int limite = Pagina.limitarTamanho(tamanho);
+        Pageable pageable = PageRequest.of(0, limite + 1);
+        List<Produtos> registros;
+        if (cursor == null || cursor.isBlank()) {
+            registros = repository.buscarPrimeiraPaginaPorStatus(ativo, pageable);
+        } else {
+            Cursor posicao = Cursor.decodificar(cursor);
+            registros = repository.buscarPaginaPorStatus(ativo, posicao.nome(), posicao.id(), pageable);
+        }
+        return Pagina.de(registros, limite, e -> new Cursor(e.getNome(), e.getId()));
+    }
+    
+    /**
+     * Busca uma página da projeção resumida dos registros ativos
      */
     @Transactional(readOnly = true)
+    public Pagina<ProdutoResumo> buscarResumo(String cursor, Integer tamanho) {
+        int limite = Pagina.limitarTamanho(tamanho);
+        Pageable pageable = PageRequest.of(0, limite + 1);
+        List<ProdutoResumo> registros;
+        if (cursor == null || cursor.isBlank()) {
+            registros = repository.buscarResumoPrimeiraPagina(pageable);
+        } else {
+            Cursor posicao = Cursor.decodificar(cursor);
+            registros = repository.buscarResumoPagina(posicao.nome(), posicao.id(), pageable);
+        }
+        return Pagina.de(registros, limite, r -> new Cursor(r.nome(), r.id()));
+    }
+    
+    /**
+     * Busca por ID; acertos no cache não abrem transação
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Optional<Produtos> buscarPorId(Long id) {
-        return repository.findById(id);
+        return cache.buscarPorId(id, repository::findById);
     }
     
     /**
-     * Busca por nome
+     * Versão atual do registro, para requisições condicionais
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> buscarVersao(Long id) {
+        return repository.buscarVersao(id);
+    }
+    
+    /**
+     * Assinatura agregada dos registros ativos, para requisições condicionais
      */
     @Transactional(readOnly = true)
+    public AssinaturaColecao buscarAssinatura() {
+        return repository.buscarAssinaturaAtivos();
+    }
+    
+    /**
+     * Busca por nome
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<Produtos> buscarPorNome(String nome) {
-        return repository.findByNomeContainingIgnoreCase(nome);
+        return cache.buscarPorNome(nome, repository::findByNomeContainingIgnoreCase);
+    }
+    
+    /**
+     * Busca textual em nome e descrição, ordenada por relevância
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResultadoBusca<ProdutoEncontrado> buscarTexto(String termos, int pagina, int tamanho) {
+        return indice.buscar(termos, pagina, tamanho);
+    }
+    
+    /**
+     * Sugestões de nomes que começam pelo prefixo, servidas da memória
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<Sugestao> sugerir(String prefixo, int limite) {
+        return sugestoes.sugerirProdutos(prefixo, limite);
+    }
+    
+    /**
+     * Ranking de mais vendidos da janela ("hora" ou "dia"), estimado em memória; produtos
+     * removidos depois da venda são omitidos
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<ProdutoMaisVendido> buscarMaisVendidos(String janela, int tamanho) {
+        MaisVendidos.Janela periodo = switch (janela == null ? "" : janela.toLowerCase(Locale.ROOT)) {
+            case "hora" -> MaisVendidos.Janela.HORA;
+            case "dia" -> MaisVendidos.Janela.DIA;
+            default -> throw new IllegalArgumentException("Janela inválida: use hora ou dia");
+        };
+        if (tamanho < 1 || tamanho > MAXIMO_MAIS_VENDIDOS) {
+            throw new IllegalArgumentException("Tamanho deve estar entre 1 e " + MAXIMO_MAIS_VENDIDOS);
+        }
+        List<ProdutoMaisVendido> ranking = new ArrayList<>(tamanho);
+        // Busca alguns a mais para compensar os removidos
+        for (MaisVendidos.Estimativa estimativa : maisVendidos.buscar(periodo, tamanho * 2)) {
+            PrecoProduto produto = catalogo.buscar(estimativa.produtoId());
+            if (produto != null && ranking.size() < tamanho) {
+                ranking.add(new ProdutoMaisVendido(produto.id(), produto.nome(), estimativa.quantidade(), estimativa.erro()));
+            }
+        }
+        return ranking;
+    }
+    
+    /**
+     * Produtos ativos que mais aparecem nos mesmos cupons que o produto, da memória;
+     * vazio se o produto não existe
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<List<ProdutoCompradoJunto>> buscarCompradosJunto(Long id, int tamanho) {
+        if (tamanho < 1 || tamanho > MAXIMO_COMPRADOS_JUNTO) {
+            throw new IllegalArgumentException("Tamanho deve estar entre 1 e " + MAXIMO_COMPRADOS_JUNTO);
+        }
+        if (catalogo.buscar(id) == null) {
+            return Optional.empty();
+        }
+        List<ProdutoCompradoJunto> produtos = new ArrayList<>(tamanho);
+        // Busca alguns a mais para compensar os removidos e inativos
+        for (MatrizCoocorrencia.Par par : compradosJunto.buscar(id, tamanho * 2)) {
+            PrecoProduto produto = catalogo.buscar(par.item());
+            if (produto != null && Boolean.TRUE.equals(produto.ativo()) && produtos.size() < tamanho) {
+                produtos.add(new ProdutoCompradoJunto(produto.id(), produto.nome(), par.contagem()));
+            }
+        }
+        return Optional.of(produtos);
+    }
+    
+    /**
+     * Agregados do catálogo filtrado por status, faixa de preço e estoque máximo, com a
+     * contagem por faixas de preço delimitadas por {@code limitesFaixa}. Calculado sobre o
+     * instantâneo colunar em memória, sem consultar o banco
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public EstatisticasCatalogo analisarCatalogo(Boolean ativo, BigDecimal precoMinimo, BigDecimal precoMaximo,
+                                                 Integer estoqueMaximo, List<BigDecimal> limitesFaixa) {
+        List<BigDecimal> limites = limitesFaixa != null ? limitesFaixa : List.of();
+        if (limites.size() > MAXIMO_LIMITES_FAIXA) {
+            throw new IllegalArgumentException("No máximo " + MAXIMO_LIMITES_FAIXA + " limites de faixa");
+        }
+        long[] limitesCentavos = new long[limites.size()];
+        for (int i = 0; i < limitesCentavos.length; i++) {
+            limitesCentavos[i] = ColunasProdutos.centavos(limites.get(i));
+            if (limites.get(i) == null || (i > 0 && limitesCentavos[i] <= limitesCentavos[i - 1])) {
+                throw new IllegalArgumentException("Limites de faixa devem ser crescentes");
+            }
+        }
+        ColunasProdutos.Estatisticas estatisticas = catalogoColunar.colunas().estatisticas(
+                filtro(ativo, precoMinimo, precoMaximo, estoqueMaximo), limitesCentavos);
+        List<FaixaPreco> faixas = new ArrayList<>();
+        if (!limites.isEmpty()) {
+            for (int i = 0; i <= limites.size(); i++) {
+                faixas.add(new FaixaPreco(i > 0 ? limites.get(i - 1) : null, i < limites.size() ? limites.get(i) : null,
+                        estatisticas.porFaixa()[i]));
+            }
+        }
+        boolean comPreco = estatisticas.quantidadeComPreco() > 0;
+        return new EstatisticasCatalogo(estatisticas.quantidade(),
+                comPreco ? BigDecimal.valueOf(estatisticas.precoMinimoCentavos(), 2) : null,
+                comPreco ? BigDecimal.valueOf(estatisticas.precoMaximoCentavos(), 2) : null,
+                comPreco ? BigDecimal.valueOf(estatisticas.somaPrecosCentavos(), 2)
+                        .divide(BigDecimal.valueOf(estatisticas.quantidadeComPreco()), 2, RoundingMode.HALF_UP) : null,
+                estatisticas.estoqueTotal(), BigDecimal.valueOf(estatisticas.valorEstoqueCentavos(), 2), faixas);
+    }
+    
+    /**
+     * Produtos ativos com estoque até {@code limite}, em ordem de id, do instantâneo colunar
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<ProdutoResumo> buscarEstoqueBaixo(int limite, Integer tamanho) {
+        ColunasProdutos colunas = catalogoColunar.colunas();
+        int[] linhas = colunas.linhas(filtro(true, null, null, limite), Pagina.limitarTamanho(tamanho));
+        List<ProdutoResumo> produtos = new ArrayList<>(linhas.length);
+        for (int linha : linhas) {
+            long centavos = colunas.precoCentavos(linha);
+            produtos.add(new ProdutoResumo(colunas.id(linha), colunas.nome(linha),
+                    centavos == ColunasProdutos.SEM_PRECO ? null : BigDecimal.valueOf(centavos, 2), colunas.estoque(linha)));
+        }
+        return produtos;
+    }
+    
+    /**
+     * Busca por nome, retornando a projeção resumida
+     */
+    @Transactional(readOnly = true)
+    public List<ProdutoResumo> buscarResumoPorNome(String nome) {
+        return repository.findResumoByNomeContainingIgnoreCase(nome);
     }
     
     /**
@@ -45,18 +355,231 @@ public class ProdutosService {
     public Produtos salvar(Produtos entity) {
         // Validações de negócio
         validar(entity);
-        return repository.save(entity);
+        String nomeAnterior = null;
+        if (entity.getId() != null) {
+            // Estado atual, que o merge carregaria de qualquer forma: fornece o nome anterior e a versão
+            Produtos atual = entityManager.find(Produtos.class, entity.getId());
+            if (atual != null) {
+                nomeAnterior = atual.getNome();
+                if (entity.getVersao() == null) {
+                    // Atualização sem versão informada: assume a versão atual (última escrita prevalece)
+                    entity.setVersao(atual.getVersao());
+                }
+            }
+        }
+        Produtos salvo = gravar(entity);
+        eventos.publishEvent(new ProdutoSalvoEvent(salvo, nomeAnterior));
+        return salvo;
+    }
+    
+    /**
+     * Atualização parcial por JSON Merge Patch. A entidade vem do cache de segundo nível
+     * quando presente, sem SELECT, e o UPDATE grava somente as colunas alteradas.
+     */
+    public Optional<Produtos> aplicarPatch(Long id, Map<String, Object> patch) {
+        Produtos atual = entityManager.find(Produtos.class, id);
+        if (atual == null) {
+            return Optional.empty();
+        }
+        String nomeAnterior = atual.getNome();
+        MergePatch.aplicar(objectMapper, validator, atual, patch, CAMPOS_PATCH);
+        Produtos salvo = gravar(atual);
+        eventos.publishEvent(new ProdutoSalvoEvent(salvo, nomeAnterior));
+        return Optional.of(salvo);
+    }
+    
+    /**
+     * Soma {@code quantidade} ao estoque (negativa para baixa) sob controle otimista.
+     * Em conflito de versão a operação é refeita por inteiro, em nova transação, até o
+     * limite de tentativas, com espera exponencial aleatória entre elas.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<Produtos> ajustarEstoque(Long id, int quantidade) {
+        return Retentativas.executar(tentativasEstoque, esperaBaseEstoque, esperaMaximaEstoque,
+                OptimisticLockingFailureException.class,
+                () -> transactionTemplate.execute(status -> ajustarEstoqueUmaVez(id, quantidade)));
+    }
+    
+    private Optional<Produtos> ajustarEstoqueUmaVez(Long id, int quantidade) {
+        Produtos atual = entityManager.find(Produtos.class, id);
+        if (atual == null) {
+            return Optional.empty();
+        }
+        int estoque = (atual.getEstoque() == null ? 0 : atual.getEstoque()) + quantidade;
+        if (estoque < 0) {
+            throw new IllegalArgumentException("Estoque insuficiente");
+        }
+        atual.setEstoque(estoque);
+        Produtos salvo = repository.saveAndFlush(atual);
+        eventos.publishEvent(new ProdutoSalvoEvent(salvo, salvo.getNome()));
+        return Optional.of(salvo);
+    }
+    
+    /**
+     * Inclui ou atualiza em lote, identificando os registros pelo nome.
+     * Os itens são gravados em blocos, cada um em sua própria transação: uma falha de
+     * banco afeta apenas o bloco em que ocorreu e é reportada item a item.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResultadoLote salvarLote(List<Produtos> entidades) {
+        if (entidades.size() > TAMANHO_MAXIMO_LOTE) {
+            throw new IllegalArgumentException("Lote excede o limite de " + TAMANHO_MAXIMO_LOTE + " itens");
+        }
+        ItemResultadoLote[] resultados = new ItemResultadoLote[entidades.size()];
+        
+        // Validação e deduplicação pelo nome: a última ocorrência no lote prevalece
+        Map<String, Integer> indicePorNome = new LinkedHashMap<>();
+        for (int i = 0; i < entidades.size(); i++) {
+            Produtos item = entidades.get(i);
+            String erro = validarItemLote(item);
+            if (erro != null) {
+                resultados[i] = ItemResultadoLote.falha(i, item == null ? null : item.getNome(), erro);
+                continue;
+            }
+            Integer anterior = indicePorNome.put(item.getNome(), i);
+            if (anterior != null) {
+                resultados[anterior] = ItemResultadoLote.falha(anterior, item.getNome(),
+                        "Nome repetido no lote; prevaleceu o item " + i);
+            }
+        }
+        
+        List<Integer> indices = new ArrayList<>(indicePorNome.values());
+        for (int inicio = 0; inicio < indices.size(); inicio += TAMANHO_BLOCO_LOTE) {
+            List<Integer> bloco = indices.subList(inicio, Math.min(inicio + TAMANHO_BLOCO_LOTE, indices.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> salvarBloco(entidades, bloco, resultados));
+            } catch (RuntimeException e) {
+                for (int i : bloco) {
+                    resultados[i] = ItemResultadoLote.falha(i, entidades.get(i).getNome(),
+                            "Falha ao gravar o bloco: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                }
+            }
+        }
+        return ResultadoLote.de(Arrays.asList(resultados));
+    }
+    
+    /**
+     * Grava um bloco do lote: uma consulta para localizar os existentes e um flush,
+     * que o Hibernate envia como batches JDBC de INSERT e UPDATE.
+     * Só os nomes que o filtro de nomes cadastrados não descarta são consultados.
+     */
+    private void salvarBloco(List<Produtos> entidades, List<Integer> bloco, ItemResultadoLote[] resultados) {
+        Set<String> nomes = bloco.stream()
+                .map(i -> entidades.get(i).getNome())
+                .filter(nomesCadastrados::produtoTalvezExista)
+                .collect(Collectors.toSet());
+        Map<String, Produtos> existentes = new HashMap<>();
+        if (!nomes.isEmpty()) {
+            for (Produtos existente : repository.findByNomeIn(nomes)) {
+                existentes.put(existente.getNome(), existente);
+            }
+        }
+        
+        Map<Integer, Produtos> gravados = new LinkedHashMap<>();
+        Map<Integer, StatusItemLote> situacoes = new HashMap<>();
+        for (int i : bloco) {
+            Produtos item = entidades.get(i);
+            Produtos atual = existentes.get(item.getNome());
+            if (atual != null) {
+                atual.setDescricao(item.getDescricao());
+                atual.setPreco(item.getPreco());
+                atual.setEstoque(item.getEstoque());
+                atual.setAtivo(item.isAtivo());
+                gravados.put(i, atual);
+                situacoes.put(i, StatusItemLote.ATUALIZADO);
+            } else {
+                item.setId(null);
+                item.setVersao(null);
+                entityManager.persist(item);
+                gravados.put(i, item);
+                situacoes.put(i, StatusItemLote.INSERIDO);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        
+        gravados.forEach((i, produto) -> {
+            resultados[i] = ItemResultadoLote.sucesso(i, produto.getNome(), produto.getId(), situacoes.get(i));
+            String nomeAnterior = situacoes.get(i) == StatusItemLote.ATUALIZADO ? produto.getNome() : null;
+            eventos.publishEvent(new ProdutoSalvoEvent(produto, nomeAnterior));
+        });
+    }
+    
+    /**
+     * Valida um item do lote com as restrições da entidade, sem consultar o banco
+     */
+    private String validarItemLote(Produtos item) {
+        if (item == null) {
+            return "Item nulo";
+        }
+        Set<ConstraintViolation<Produtos>> violacoes = validator.validate(item);
+        if (violacoes.isEmpty()) {
+            return null;
+        }
+        return violacoes.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
     }
     
     /**
      * Remove por ID
      */
     public void remover(Long id) {
-        if (repository.existsById(id)) {
-            repository.deleteById(id);
-        } else {
-            throw new RuntimeException("Registro não encontrado: " + id);
+        // Pela entidade, em geral lida do segundo nível: só a entrada do id sai do cache,
+        // enquanto um DELETE JPQL descartaria a região inteira
+        Produtos produto = repository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Registro não encontrado: " + id));
+        repository.delete(produto);
+        eventos.publishEvent(new ProdutoRemovidoEvent(id));
+    }
+    
+    /**
+     * Remove em massa por lista de ids ou por status; exatamente um dos filtros deve ser informado
+     */
+    public ResultadoOperacaoLote removerEmLote(List<Long> ids, Boolean ativo) {
+        boolean porIds = ids != null && !ids.isEmpty();
+        if (porIds == (ativo != null)) {
+            throw new IllegalArgumentException("Informe a lista de ids ou o status, não ambos");
         }
+        if (!porIds) {
+            int afetados = repository.removerPorStatus(ativo);
+            eventos.publishEvent(ProdutosAlteradosEvent.todos());
+            return new ResultadoOperacaoLote(afetados);
+        }
+        int afetados = 0;
+        for (List<Long> bloco : particionar(ids)) {
+            afetados += repository.removerPorIds(bloco);
+        }
+        eventos.publishEvent(new ProdutosAlteradosEvent(ids));
+        return new ResultadoOperacaoLote(afetados);
+    }
+    
+    /**
+     * Altera o status de vários registros em instruções UPDATE únicas por bloco de ids
+     */
+    public ResultadoOperacaoLote atualizarStatusEmLote(AtualizacaoStatusLote requisicao) {
+        if (requisicao.ativo() == null || requisicao.ids() == null || requisicao.ids().isEmpty()) {
+            throw new IllegalArgumentException("Informe os ids e o status");
+        }
+        int afetados = 0;
+        for (List<Long> bloco : particionar(requisicao.ids())) {
+            afetados += repository.atualizarStatus(bloco, requisicao.ativo());
+        }
+        eventos.publishEvent(new ProdutosAlteradosEvent(requisicao.ids()));
+        return new ResultadoOperacaoLote(afetados);
+    }
+    
+    /**
+     * Divide a lista de ids em blocos para manter as cláusulas IN com tamanho limitado
+     */
+    private static List<List<Long>> particionar(List<Long> ids) {
+        List<Long> distintos = ids.stream().distinct().toList();
+        List<List<Long>> blocos = new ArrayList<>();
+        for (int inicio = 0; inicio < distintos.size(); inicio += TAMANHO_MAXIMO_IN) {
+            blocos.add(distintos.subList(inicio, Math.min(inicio + TAMANHO_MAXIMO_IN, distintos.size())));
+        }
+        return blocos;
     }
     
     /**
@@ -66,10 +589,27 @@ public class ProdutosService {
         if (entity.getNome() == null || entity.getNome().trim().isEmpty()) {
             throw new IllegalArgumentException("Nome é obrigatório");
         }
-        
-        // Verificar duplicação
-        if (entity.getId() == null && repository.existsByNome(entity.getNome())) {
-            throw new IllegalArgumentException("Já existe um registro com este nome");
+    }
+    
+    /**
+     * Grava em uma única instrução; a duplicidade de nome é detectada pelo índice único
+     */
+    private Produtos gravar(Produtos entity) {
+        try {
+            return repository.saveAndFlush(entity);
+        } catch (DataIntegrityViolationException e) {
+            if (Restricoes.violou(e, Produtos.RESTRICAO_NOME_UNICO)) {
+                throw new IllegalArgumentException("Já existe um registro com este nome", e);
+            }
+            throw e;
         }
     }
-}
\ No newline at end of file
+    
+    private static ColunasProdutos.Filtro filtro(Boolean ativo, BigDecimal precoMinimo, BigDecimal precoMaximo,
+                                                 Integer estoqueMaximo) {
+        return new ColunasProdutos.Filtro(ativo,
+                precoMinimo != null ? ColunasProdutos.centavos(precoMinimo) : null,
+                precoMaximo != null ? ColunasProdutos.centavos(precoMaximo) : null,
+                estoqueMaximo);
+    }
+}
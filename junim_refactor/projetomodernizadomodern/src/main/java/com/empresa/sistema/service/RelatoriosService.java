@@ -0,0 +1,182 @@
+package com.empresa.sistema.service;
+
+import com.empresa.sistema.dto.ClientesDistintosPeriodo;
+import com.empresa.sistema.dto.Pagina;
+import com.empresa.sistema.dto.ResumoVendasPeriodo;
+import com.empresa.sistema.dto.TotalVendas;
+import com.empresa.sistema.entity.ClientesDistintosDiarios;
+import com.empresa.sistema.repository.ClientesDistintosDiariosRepository;
+import com.empresa.sistema.repository.VendasDiariasRepository;
+import com.empresa.sistema.repository.VendasMensaisRepository;
+import com.empresa.sistema.util.HyperLogLog;
+import com.empresa.sistema.vendas.AgregadorVendas;
+import com.empresa.sistema.vendas.ParticaoVendas;
+import com.empresa.sistema.vendas.ResumosVendas;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.IsoFields;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+@Service
+@Transactional(readOnly = true)
+public class RelatoriosService {
+
+    // Maior intervalo aceito por consulta: o custo depende só dele, nunca do histórico
+    public static final int MAXIMO_DIAS = 366;
+    public static final int MAXIMO_MESES = 120;
+
+    @Autowired
+    private VendasDiariasRepository diariasRepository;
+
+    @Autowired
+    private VendasMensaisRepository mensaisRepository;
+
+    @Autowired
+    private ClientesDistintosDiariosRepository clientesDistintosRepository;
+
+    @Autowired
+    private ResumosVendas resumos;
+
+    @Autowired
+    private AgregadorVendas agregadorVendas;
+
+    /**
+     * Quantidade e receita do produto por dia, de {@code inicio} a {@code fim} inclusive;
+     * dias sem venda não aparecem
+     */
+    public List<ResumoVendasPeriodo> buscarDiario(Long produtoId, LocalDate inicio, LocalDate fim) {
+        if (inicio.isAfter(fim) || ChronoUnit.DAYS.between(inicio, fim) >= MAXIMO_DIAS) {
+            throw new IllegalArgumentException("Intervalo inválido: no máximo " + MAXIMO_DIAS + " dias");
+        }
+        return diariasRepository.buscarPeriodo(produtoId, inicio, fim).stream()
+                .map(r -> new ResumoVendasPeriodo(r.getProdutoId(), r.getDia().toString(), r.getQuantidade(), r.getValorTotal()))
+                .toList();
+    }
+
+    /**
+     * Quantidade e receita do produto por mês, de {@code inicio} a {@code fim} inclusive;
+     * meses sem venda não aparecem
+     */
+    public List<ResumoVendasPeriodo> buscarMensal(Long produtoId, YearMonth inicio, YearMonth fim) {
+        if (inicio.isAfter(fim) || ChronoUnit.MONTHS.between(inicio, fim) >= MAXIMO_MESES) {
+            throw new IllegalArgumentException("Intervalo inválido: no máximo " + MAXIMO_MESES + " meses");
+        }
+        return mensaisRepository.buscarPeriodo(produtoId, ResumosVendas.mes(inicio.atDay(1)), ResumosVendas.mes(fim.atDay(1)))
+                .stream()
+                .map(r -> new ResumoVendasPeriodo(r.getProdutoId(),
+                        YearMonth.of(r.getMes() / 100, r.getMes() % 100).toString(), r.getQuantidade(), r.getValorTotal()))
+                .toList();
+    }
+
+    /**
+     * Clientes distintos que compraram o produto por dia, semana ISO ou mês, de
+     * {@code inicio} a {@code fim} inclusive. Semanas e meses são a fusão dos esboços
+     * diários do período que caem no intervalo. Sem {@code inicio}: últimos 30 dias,
+     * 12 semanas ou 12 meses. Períodos sem venda a cliente identificado não aparecem.
+     */
+    public List<ClientesDistintosPeriodo> buscarClientesDistintos(Long produtoId, String agrupamento,
+                                                                  LocalDate inicio, LocalDate fim) {
+        String tipo = agrupamento == null ? "" : agrupamento.toLowerCase(Locale.ROOT);
+        Function<LocalDate, String> periodo = switch (tipo) {
+            case "dia" -> LocalDate::toString;
+            case "semana" -> dia -> String.format(Locale.ROOT, "%d-W%02d",
+                    dia.get(IsoFields.WEEK_BASED_YEAR), dia.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+            case "mes", "mês" -> dia -> YearMonth.from(dia).toString();
+            default -> throw new IllegalArgumentException("Agrupamento inválido: use dia, semana ou mes");
+        };
+        LocalDate desde = inicio != null ? inicio : switch (tipo) {
+            case "dia" -> fim.minusDays(29);
+            case "semana" -> fim.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).minusWeeks(11);
+            default -> fim.withDayOfMonth(1).minusMonths(11);
+        };
+        if (desde.isAfter(fim) || ChronoUnit.DAYS.between(desde, fim) >= MAXIMO_DIAS) {
+            throw new IllegalArgumentException("Intervalo inválido: no máximo " + MAXIMO_DIAS + " dias");
+        }
+        // Dias em ordem, logo os períodos também
+        Map<String, HyperLogLog> esbocos = new LinkedHashMap<>();
+        for (ClientesDistintosDiarios diario : clientesDistintosRepository.buscarPeriodo(produtoId, desde, fim)) {
+            esbocos.merge(periodo.apply(diario.getDia()), HyperLogLog.deBytes(diario.getEsboco()), (a, b) -> {
+                a.fundir(b);
+                return a;
+            });
+        }
+        List<ClientesDistintosPeriodo> periodos = new ArrayList<>(esbocos.size());
+        esbocos.forEach((chave, esboco) ->
+                periodos.add(new ClientesDistintosPeriodo(produtoId, chave, esboco.estimativa(), esboco.erroRelativo())));
+        return periodos;
+    }
+
+    /**
+     * Quantidade e receita das vendas de {@code inicio} a {@code fim} inclusive, no total ou
+     * agrupadas por dia, mês, produto ou cliente, opcionalmente só de um produto e/ou
+     * cliente. Calculado sobre a cópia colunar das vendas em memória, sem consultar o banco.
+     * Dias e meses saem em ordem, sem os períodos sem venda; produtos e clientes, os
+     * {@code tamanho} de maior receita.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<TotalVendas> agregarVendas(String agrupamento, LocalDate inicio, LocalDate fim, Long produtoId,
+                                           Long clienteId, Integer tamanho) {
+        String tipo = agrupamento == null ? "" : agrupamento.toLowerCase(Locale.ROOT);
+        ParticaoVendas.Agrupamento grupo = switch (tipo) {
+            case "total" -> ParticaoVendas.Agrupamento.TOTAL;
+            case "dia", "mes", "mês" -> ParticaoVendas.Agrupamento.DIA;
+            case "produto" -> ParticaoVendas.Agrupamento.PRODUTO;
+            case "cliente" -> ParticaoVendas.Agrupamento.CLIENTE;
+            default -> throw new IllegalArgumentException("Agrupamento inválido: use total, dia, mes, produto ou cliente");
+        };
+        boolean porDia = tipo.equals("dia");
+        if (inicio.isAfter(fim) || (porDia ? ChronoUnit.DAYS.between(inicio, fim) >= MAXIMO_DIAS
+                : ChronoUnit.MONTHS.between(inicio, fim) >= MAXIMO_MESES)) {
+            throw new IllegalArgumentException("Intervalo inválido: no máximo "
+                    + (porDia ? MAXIMO_DIAS + " dias" : MAXIMO_MESES + " meses"));
+        }
+        ParticaoVendas.Acumulador totais = agregadorVendas.agregar(new ParticaoVendas.Consulta(
+                (int) inicio.toEpochDay(), (int) fim.toEpochDay(), produtoId, clienteId, grupo));
+        // Meses somam os dias, que já estão em ordem
+        Map<String, long[]> grupos = new LinkedHashMap<>();
+        for (int i = 0; i < totais.grupos(); i++) {
+            if (grupo != ParticaoVendas.Agrupamento.TOTAL && totais.quantidade(i) == 0 && totais.valorCentavos(i) == 0) {
+                continue;
+            }
+            String chave = switch (tipo) {
+                case "total" -> "total";
+                case "dia" -> LocalDate.ofEpochDay(totais.chave(i)).toString();
+                case "mes", "mês" -> YearMonth.from(LocalDate.ofEpochDay(totais.chave(i))).toString();
+                default -> Long.toString(totais.chave(i));
+            };
+            long[] soma = grupos.computeIfAbsent(chave, c -> new long[2]);
+            soma[0] += totais.quantidade(i);
+            soma[1] += totais.valorCentavos(i);
+        }
+        List<TotalVendas> resultado = new ArrayList<>(grupos.size());
+        grupos.forEach((chave, soma) -> resultado.add(new TotalVendas(chave, soma[0], BigDecimal.valueOf(soma[1], 2))));
+        if (grupo == ParticaoVendas.Agrupamento.PRODUTO || grupo == ParticaoVendas.Agrupamento.CLIENTE) {
+            resultado.sort(Comparator.comparing(TotalVendas::valorTotal).reversed()
+                    .thenComparingLong(total -> Long.parseLong(total.grupo())));
+            return List.copyOf(resultado.subList(0, Math.min(resultado.size(), Pagina.limitarTamanho(tamanho))));
+        }
+        return resultado;
+    }
+
+    /**
+     * Recalcula os resumos a partir das vendas
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void reconciliar() {
+        resumos.reconciliar();
+    }
+}
@@ -0,0 +1,103 @@
+package com.empresa.sistema.service;
+
+import com.empresa.sistema.dto.Reserva;
+import com.empresa.sistema.estoque.SaldosEstoque;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reservas de estoque para o checkout, mantidas em memória sobre os saldos de
+ * SaldosEstoque: nenhuma operação abre transação. Cada reserva é confirmada (vira baixa,
+ * gravada em lote) ou liberada exatamente uma vez; as não resolvidas dentro do TTL
+ * são devolvidas ao disponível.
+ */
+@Service
+public class ReservasService {
+
+    @Autowired
+    private SaldosEstoque saldos;
+
+    @Value("${app.reservas.ttl:10m}")
+    private Duration ttl;
+
+    private final Map<String, Reserva> reservas = new ConcurrentHashMap<>();
+
+    /**
+     * Reserva a quantidade; vazio se o produto não existe, IllegalStateException sem saldo
+     */
+    public Optional<Reserva> reservar(Long produtoId, int quantidade) {
+        if (quantidade <= 0) {
+            throw new IllegalArgumentException("Quantidade deve ser maior que zero");
+        }
+        if (!saldos.conhece(produtoId)) {
+            return Optional.empty();
+        }
+        if (!saldos.reservar(produtoId, quantidade)) {
+            throw new IllegalStateException("Estoque insuficiente");
+        }
+        Reserva reserva = new Reserva(UUID.randomUUID().toString(), produtoId, quantidade, Instant.now().plus(ttl));
+        reservas.put(reserva.id(), reserva);
+        return Optional.of(reserva);
+    }
+
+    /**
+     * Confirma a reserva; {@code false} se ela não existe, já foi resolvida ou expirou
+     */
+    public boolean confirmar(String id) {
+        Reserva reserva = reservas.remove(id);
+        if (reserva == null) {
+            return false;
+        }
+        if (expirada(reserva, Instant.now())) {
+            saldos.devolver(reserva.produtoId(), reserva.quantidade());
+            return false;
+        }
+        return saldos.confirmar(reserva.produtoId(), reserva.quantidade());
+    }
+
+    /**
+     * Libera a reserva, devolvendo a quantidade ao disponível
+     */
+    public boolean liberar(String id) {
+        Reserva reserva = reservas.remove(id);
+        if (reserva == null) {
+            return false;
+        }
+        saldos.devolver(reserva.produtoId(), reserva.quantidade());
+        return true;
+    }
+
+    /**
+     * Quantidade ainda disponível para reserva
+     */
+    public OptionalLong buscarDisponivel(Long produtoId) {
+        return saldos.disponivel(produtoId);
+    }
+
+    /**
+     * Devolve ao disponível as reservas vencidas
+     */
+    @Scheduled(fixedDelayString = "${app.reservas.intervalo-expiracao:PT1S}")
+    public void expirar() {
+        Instant agora = Instant.now();
+        reservas.forEach((id, reserva) -> {
+            // remove(id, reserva) garante que confirmação e expiração não resolvam a mesma reserva
+            if (expirada(reserva, agora) && reservas.remove(id, reserva)) {
+                saldos.devolver(reserva.produtoId(), reserva.quantidade());
+            }
+        });
+    }
+
+    private static boolean expirada(Reserva reserva, Instant agora) {
+        return !agora.isBefore(reserva.expiraEm());
+    }
+}
@@ -0,0 +1,97 @@
+package com.empresa.sistema.service;
+
+import com.empresa.sistema.cache.CatalogoProdutos;
+import com.empresa.sistema.dto.ItemVenda;
+import com.empresa.sistema.dto.Pagina;
+import com.empresa.sistema.dto.PrecoProduto;
+import com.empresa.sistema.dto.RegistroVenda;
+import com.empresa.sistema.dto.ResultadoVenda;
+import com.empresa.sistema.entity.Clientes;
+import com.empresa.sistema.entity.Vendas;
+import com.empresa.sistema.repository.VendasRepository;
+import com.empresa.sistema.vendas.GravadorVendas;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@Transactional
+public class VendasService {
+
+    // Limite de linhas por cupom
+    public static final int MAXIMO_ITENS = 500;
+
+    @Autowired
+    private VendasRepository repository;
+
+    @Autowired
+    private CatalogoProdutos catalogo;
+
+    @Autowired
+    private GravadorVendas gravador;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Busca por ID
+     */
+    @Transactional(readOnly = true)
+    public Optional<Vendas> buscarPorId(Long id) {
+        return repository.findById(id);
+    }
+
+    /**
+     * Vendas mais recentes do cliente
+     */
+    @Transactional(readOnly = true)
+    public List<Vendas> buscarRecentesPorCliente(Long clienteId, Integer tamanho) {
+        return repository.buscarRecentesPorCliente(clienteId, PageRequest.of(0, Pagina.limitarTamanho(tamanho)));
+    }
+
+    /**
+     * Registra um cupom. Preços vêm do catálogo em memória e o cliente do cache de segundo
+     * nível; a gravação é feita pelo gravador em micro-lotes, fora desta thread, e o método
+     * retorna após o commit. O valor total de cada linha é preço x quantidade no momento
+     * do registro.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResultadoVenda registrar(RegistroVenda registro) {
+        if (registro.itens() == null || registro.itens().isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um item");
+        }
+        if (registro.itens().size() > MAXIMO_ITENS) {
+            throw new IllegalArgumentException("Cupom excede o limite de " + MAXIMO_ITENS + " itens");
+        }
+        if (registro.clienteId() != null && entityManager.find(Clientes.class, registro.clienteId()) == null) {
+            throw new IllegalArgumentException("Cliente não encontrado: " + registro.clienteId());
+        }
+        LocalDateTime dataVenda = LocalDateTime.now();
+        BigDecimal total = BigDecimal.ZERO;
+        List<Vendas> vendas = new ArrayList<>(registro.itens().size());
+        for (ItemVenda item : registro.itens()) {
+            if (item.produtoId() == null || item.quantidade() == null || item.quantidade() <= 0) {
+                throw new IllegalArgumentException("Item inválido: produto e quantidade positiva são obrigatórios");
+            }
+            PrecoProduto preco = catalogo.buscar(item.produtoId());
+            if (preco == null || !Boolean.TRUE.equals(preco.ativo()) || preco.preco() == null) {
+                throw new IllegalArgumentException("Produto não disponível para venda: " + item.produtoId());
+            }
+            BigDecimal valor = preco.preco().multiply(BigDecimal.valueOf(item.quantidade())).setScale(2, RoundingMode.HALF_UP);
+            vendas.add(new Vendas(registro.clienteId(), item.produtoId(), item.quantidade(), valor, dataVenda));
+            total = total.add(valor);
+        }
+        gravador.gravar(vendas);
+        return new ResultadoVenda(vendas.size(), total, dataVenda);
+    }
+}
@@ -0,0 +1,178 @@
+package com.empresa.sistema.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Contador de saldo que não fica negativo por retiradas, para alta concorrência no mesmo
+ * valor. Começa como um único long atualizado por CAS; na primeira disputa o saldo é
+ * repartido em faixas (uma por processador, em linhas de cache distintas) e cada thread
+ * retira da sua faixa, passando às vizinhas quando ela não basta. Somente quando nenhuma
+ * faixa tem o suficiente a retirada é serializada: o saldo é recolhido, verificado no
+ * total e redistribuído.
+ * Inclusões nunca falham e podem deixar o saldo negativo (ajustes externos). Com faixas,
+ * as negativas também são serializadas, e com o saldo negativo as retiradas passam pelo
+ * total: uma faixa não pode aprovar uma retirada que o total não cobre.
+ */
+public class ContadorFaixas {
+
+    // 8 longs = 64 bytes: faixas vizinhas não compartilham linha de cache
+    private static final int PASSO = 8;
+    private static final int MAXIMO_FAIXAS = 64;
+    private static final int QUANTIDADE_FAIXAS =
+            Math.min(MAXIMO_FAIXAS, Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1)) << 1);
+
+    private final AtomicLong base;
+    private volatile AtomicLongArray faixas;
+    // Saldo negativo guardado na base, ou recolhimento em andamento: as faixas sozinhas não bastam
+    private volatile boolean deficit;
+
+    public ContadorFaixas(long inicial) {
+        this.base = new AtomicLong(inicial);
+    }
+
+    /**
+     * Retira {@code quantidade} se o saldo total for suficiente
+     */
+    public boolean tentarRetirar(long quantidade) {
+        if (quantidade <= 0) {
+            throw new IllegalArgumentException("Quantidade deve ser maior que zero");
+        }
+        if (faixas == null) {
+            long atual = base.get();
+            if (atual < quantidade) {
+                return retirarSerializado(quantidade);
+            }
+            if (base.compareAndSet(atual, atual - quantidade)) {
+                return true;
+            }
+            expandir();
+        }
+        if (deficit) {
+            return retirarSerializado(quantidade);
+        }
+        AtomicLongArray celulas = faixas;
+        int inicio = sonda();
+        for (int i = 0; i < QUANTIDADE_FAIXAS; i++) {
+            int indice = ((inicio + i) & (QUANTIDADE_FAIXAS - 1)) * PASSO;
+            long atual = celulas.get(indice);
+            while (atual >= quantidade) {
+                if (celulas.compareAndSet(indice, atual, atual - quantidade)) {
+                    if (!deficit) {
+                        return true;
+                    }
+                    // Um recolhimento começou: devolve à faixa e decide pelo total
+                    celulas.getAndAdd(indice, quantidade);
+                    return retirarSerializado(quantidade);
+                }
+                atual = celulas.get(indice);
+            }
+        }
+        return retirarSerializado(quantidade);
+    }
+
+    /**
+     * Soma {@code quantidade} ao saldo (negativa para ajuste externo)
+     */
+    public void adicionar(long quantidade) {
+        AtomicLongArray celulas = faixas;
+        if (celulas == null) {
+            long atual = base.get();
+            if (base.compareAndSet(atual, atual + quantidade)) {
+                return;
+            }
+            expandir();
+            celulas = faixas;
+        }
+        if (quantidade < 0) {
+            // Numa faixa só, ela ficaria negativa com as outras ainda aprovando retiradas
+            ajustarSerializado(quantidade);
+            return;
+        }
+        celulas.getAndAdd((sonda() & (QUANTIDADE_FAIXAS - 1)) * PASSO, quantidade);
+    }
+
+    /**
+     * Saldo total; sob escrita concorrente é uma aproximação
+     */
+    public long soma() {
+        long total = base.get();
+        AtomicLongArray celulas = faixas;
+        if (celulas != null) {
+            for (int i = 0; i < QUANTIDADE_FAIXAS; i++) {
+                total += celulas.get(i * PASSO);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Zera o contador e devolve o saldo recolhido; inclusões concorrentes não se perdem,
+     * ficam para o próximo recolhimento
+     */
+    public synchronized long drenar() {
+        long total = recolher();
+        // Sobram só inclusões concorrentes, positivas: as negativas esperam esta trava
+        deficit = false;
+        return total;
+    }
+
+    public boolean isExpandido() {
+        return faixas != null;
+    }
+
+    private synchronized boolean retirarSerializado(long quantidade) {
+        long total = recolher();
+        boolean suficiente = total >= quantidade;
+        distribuir(suficiente ? total - quantidade : total);
+        return suficiente;
+    }
+
+    private synchronized void ajustarSerializado(long quantidade) {
+        distribuir(recolher() + quantidade);
+    }
+
+    // Package-private para os testes forçarem as faixas sem depender de disputa
+    synchronized void expandir() {
+        if (faixas == null) {
+            faixas = new AtomicLongArray(QUANTIDADE_FAIXAS * PASSO);
+            distribuir(base.getAndSet(0));
+        }
+    }
+
+    // Marca o déficit antes de zerar: retiradas nas faixas durante o recolhimento são desfeitas
+    private long recolher() {
+        deficit = true;
+        long total = base.getAndSet(0);
+        AtomicLongArray celulas = faixas;
+        if (celulas != null) {
+            for (int i = 0; i < QUANTIDADE_FAIXAS; i++) {
+                total += celulas.getAndSet(i * PASSO, 0);
+            }
+        }
+        return total;
+    }
+
+    // Soma (não atribui) para preservar inclusões feitas durante o recolhimento
+    private void distribuir(long total) {
+        AtomicLongArray celulas = faixas;
+        if (celulas == null || total <= 0) {
+            base.getAndAdd(total);
+            deficit = total < 0;
+            return;
+        }
+        long parte = total / QUANTIDADE_FAIXAS;
+        long resto = total % QUANTIDADE_FAIXAS;
+        for (int i = 0; i < QUANTIDADE_FAIXAS; i++) {
+            celulas.getAndAdd(i * PASSO, parte + (i < resto ? 1 : 0));
+        }
+        deficit = false;
+    }
+
+    // Faixa preferida da thread: mistura do id para espalhar ids sequenciais
+    @SuppressWarnings("deprecation")
+    private static int sonda() {
+        long h = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,147 @@
+package com.empresa.sistema.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Algoritmo Space-Saving (Metwally et al.) para os itens mais frequentes de um fluxo
+ * ponderado, com no máximo {@code capacidade} contadores. Um item novo com a tabela
+ * cheia herda o contador do menor, que é descartado; a contagem estimada nunca é menor
+ * que a real e passa dela no máximo por {@code erro}. Todo item com frequência real
+ * acima de total / capacidade está presente.
+ * Os contadores formam um heap mínimo indexado por MapaLongInt: atualização em
+ * O(log capacidade), independente do número de itens distintos. Não é thread-safe.
+ */
+public class EspacoEconomico {
+
+    public record Contagem(long chave, long contagem, long erro) {
+    }
+
+    private final int capacidade;
+    private final long[] chaves;
+    private final long[] contagens;
+    private final long[] erros;
+    private final MapaLongInt posicoes;
+    private int tamanho;
+    private long total;
+
+    public EspacoEconomico(int capacidade) {
+        this.capacidade = capacidade;
+        this.chaves = new long[capacidade];
+        this.contagens = new long[capacidade];
+        this.erros = new long[capacidade];
+        this.posicoes = new MapaLongInt(capacidade);
+    }
+
+    public void adicionar(long chave, long peso) {
+        total += peso;
+        int posicao = posicoes.get(chave);
+        if (posicao != MapaLongInt.AUSENTE) {
+            contagens[posicao] += peso;
+            descer(posicao);
+            return;
+        }
+        if (tamanho < capacidade) {
+            colocar(tamanho, chave, peso, 0);
+            tamanho++;
+            subir(tamanho - 1);
+            return;
+        }
+        // Substitui o menor contador, cuja contagem passa a ser o erro do novo item
+        long minimo = contagens[0];
+        posicoes.remove(chaves[0]);
+        colocar(0, chave, minimo + peso, minimo);
+        descer(0);
+    }
+
+    /**
+     * Menor contagem presente quando a tabela está cheia (0 caso contrário): limite para
+     * a frequência de qualquer item ausente
+     */
+    public long minimo() {
+        return tamanho < capacidade ? 0 : contagens[0];
+    }
+
+    public long total() {
+        return total;
+    }
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    public List<Contagem> contagens() {
+        List<Contagem> resultado = new ArrayList<>(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            resultado.add(new Contagem(chaves[i], contagens[i], erros[i]));
+        }
+        return resultado;
+    }
+
+    /**
+     * Os {@code n} itens de maior contagem estimada, em ordem decrescente
+     */
+    public List<Contagem> topo(int n) {
+        List<Contagem> todos = contagens();
+        todos.sort(Comparator.comparingLong(Contagem::contagem).reversed().thenComparingLong(Contagem::chave));
+        return todos.size() <= n ? todos : List.copyOf(todos.subList(0, n));
+    }
+
+    public void limpar() {
+        posicoes.limpar();
+        tamanho = 0;
+        total = 0;
+    }
+
+    private void colocar(int posicao, long chave, long contagem, long erro) {
+        chaves[posicao] = chave;
+        contagens[posicao] = contagem;
+        erros[posicao] = erro;
+        posicoes.put(chave, posicao);
+    }
+
+    private void subir(int posicao) {
+        while (posicao > 0) {
+            int pai = (posicao - 1) / 2;
+            if (contagens[pai] <= contagens[posicao]) {
+                return;
+            }
+            trocar(posicao, pai);
+            posicao = pai;
+        }
+    }
+
+    private void descer(int posicao) {
+        while (true) {
+            int menor = posicao;
+            int esquerdo = 2 * posicao + 1;
+            int direito = esquerdo + 1;
+            if (esquerdo < tamanho && contagens[esquerdo] < contagens[menor]) {
+                menor = esquerdo;
+            }
+            if (direito < tamanho && contagens[direito] < contagens[menor]) {
+                menor = direito;
+            }
+            if (menor == posicao) {
+                return;
+            }
+            trocar(posicao, menor);
+            posicao = menor;
+        }
+    }
+
+    private void trocar(int a, int b) {
+        long chave = chaves[a];
+        long contagem = contagens[a];
+        long erro = erros[a];
+        chaves[a] = chaves[b];
+        contagens[a] = contagens[b];
+        erros[a] = erros[b];
+        chaves[b] = chave;
+        contagens[b] = contagem;
+        erros[b] = erro;
+        posicoes.put(chaves[a], a);
+        posicoes.put(chaves[b], b);
+    }
+}
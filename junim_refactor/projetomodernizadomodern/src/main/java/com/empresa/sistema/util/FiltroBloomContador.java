@@ -0,0 +1,117 @@
+package com.empresa.sistema.util;
+
+/**
+ * Filtro de Bloom com contadores de 4 bits (16 por long), que admite remoção.
+ * {@link #talvezContenha} nunca dá falso negativo para valores adicionados e não removidos;
+ * falsos positivos ocorrem na taxa informada enquanto a quantidade de valores não
+ * passar da capacidade esperada. Contadores saturados não são mais decrementados.
+ */
+public class FiltroBloomContador {
+
+    private static final int BITS_POR_CONTADOR = 4;
+    private static final int CONTADORES_POR_LONG = Long.SIZE / BITS_POR_CONTADOR;
+    private static final long MAXIMO_CONTADOR = (1L << BITS_POR_CONTADOR) - 1;
+
+    private final long[] contadores;
+    private final int tamanho;
+    private final int funcoes;
+
+    public FiltroBloomContador(long capacidadeEsperada, double taxaFalsosPositivos) {
+        if (capacidadeEsperada < 1 || taxaFalsosPositivos <= 0 || taxaFalsosPositivos >= 1) {
+            throw new IllegalArgumentException("Capacidade ou taxa de falsos positivos inválida");
+        }
+        double ln2 = Math.log(2);
+        long m = (long) Math.ceil(-capacidadeEsperada * Math.log(taxaFalsosPositivos) / (ln2 * ln2));
+        if (m > Integer.MAX_VALUE - CONTADORES_POR_LONG) {
+            throw new IllegalArgumentException("Capacidade esperada grande demais");
+        }
+        this.tamanho = (int) m;
+        this.funcoes = Math.max(1, (int) Math.round((double) m / capacidadeEsperada * ln2));
+        this.contadores = new long[(tamanho + CONTADORES_POR_LONG - 1) / CONTADORES_POR_LONG];
+    }
+
+    public synchronized void adicionar(String valor) {
+        long hash = hash(valor);
+        for (int i = 0; i < funcoes; i++) {
+            int posicao = posicao(hash, i);
+            long atual = contador(posicao);
+            if (atual < MAXIMO_CONTADOR) {
+                definir(posicao, atual + 1);
+            }
+        }
+    }
+
+    /**
+     * Remove uma ocorrência do valor. Se algum contador já estiver zerado o valor não
+     * está no filtro e nada é alterado, para não gerar falsos negativos em outros valores.
+     */
+    public synchronized void remover(String valor) {
+        long hash = hash(valor);
+        for (int i = 0; i < funcoes; i++) {
+            if (contador(posicao(hash, i)) == 0) {
+                return;
+            }
+        }
+        for (int i = 0; i < funcoes; i++) {
+            int posicao = posicao(hash, i);
+            long atual = contador(posicao);
+            if (atual < MAXIMO_CONTADOR) {
+                definir(posicao, atual - 1);
+            }
+        }
+    }
+
+    /**
+     * {@code false} garante que o valor não foi adicionado; {@code true} pode ser falso positivo
+     */
+    public synchronized boolean talvezContenha(String valor) {
+        long hash = hash(valor);
+        for (int i = 0; i < funcoes; i++) {
+            if (contador(posicao(hash, i)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    public int getFuncoes() {
+        return funcoes;
+    }
+
+    private long contador(int posicao) {
+        int deslocamento = (posicao % CONTADORES_POR_LONG) * BITS_POR_CONTADOR;
+        return (contadores[posicao / CONTADORES_POR_LONG] >>> deslocamento) & MAXIMO_CONTADOR;
+    }
+
+    private void definir(int posicao, long valor) {
+        int indice = posicao / CONTADORES_POR_LONG;
+        int deslocamento = (posicao % CONTADORES_POR_LONG) * BITS_POR_CONTADOR;
+        contadores[indice] = (contadores[indice] & ~(MAXIMO_CONTADOR << deslocamento)) | (valor << deslocamento);
+    }
+
+    // Hashing duplo (Kirsch-Mitzenmacher): posição i = h1 + i * h2
+    private int posicao(long hash, int i) {
+        long h1 = hash & 0xFFFFFFFFL;
+        long h2 = (hash >>> 32) | 1;
+        return (int) Math.floorMod(h1 + i * h2, (long) tamanho);
+    }
+
+    // FNV-1a de 64 bits sobre os caracteres, seguido da mistura final do MurmurHash3
+    private static long hash(String valor) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < valor.length(); i++) {
+            h ^= valor.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
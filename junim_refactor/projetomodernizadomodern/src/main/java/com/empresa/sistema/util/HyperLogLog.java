@@ -0,0 +1,173 @@
+package com.empresa.sistema.util;
+
+/**
+ * Estimador de cardinalidade HyperLogLog com 2^precisao registradores de um byte.
+ * Erro padrão relativo de 1,04 / sqrt(2^precisao): 1,6% com a precisão padrão 12.
+ * Dois esboços de mesma precisão se fundem sem perda (máximo por registrador), de modo
+ * que a cardinalidade de uma união sai da fusão dos esboços das partes.
+ * A forma serializada é esparsa (posição e valor dos registradores preenchidos) enquanto
+ * isso for menor que a densa (um byte por registrador).
+ */
+public class HyperLogLog {
+
+    public static final int PRECISAO_PADRAO = 12;
+
+    private static final int MARCA_ESPARSA = 0x80;
+
+    private final int precisao;
+    private final byte[] registradores;
+
+    public HyperLogLog() {
+        this(PRECISAO_PADRAO);
+    }
+
+    public HyperLogLog(int precisao) {
+        if (precisao < 4 || precisao > 16) {
+            throw new IllegalArgumentException("Precisão deve estar entre 4 e 16");
+        }
+        this.precisao = precisao;
+        this.registradores = new byte[1 << precisao];
+    }
+
+    /**
+     * Adiciona um valor; {@code true} se algum registrador mudou (o esboço precisa ser regravado)
+     */
+    public boolean adicionar(long valor) {
+        long hash = hash(valor);
+        int indice = (int) (hash >>> (Long.SIZE - precisao));
+        // Posição do primeiro bit 1 no restante do hash, limitada ao número de bits restantes
+        byte posicao = (byte) Math.min(Long.numberOfLeadingZeros(hash << precisao) + 1, Long.SIZE - precisao + 1);
+        if (posicao > registradores[indice]) {
+            registradores[indice] = posicao;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Incorpora os valores de outro esboço de mesma precisão
+     */
+    public void fundir(HyperLogLog outro) {
+        if (outro.precisao != precisao) {
+            throw new IllegalArgumentException("Esboços de precisões diferentes");
+        }
+        for (int i = 0; i < registradores.length; i++) {
+            if (outro.registradores[i] > registradores[i]) {
+                registradores[i] = outro.registradores[i];
+            }
+        }
+    }
+
+    /**
+     * Quantidade estimada de valores distintos adicionados
+     */
+    public long estimativa() {
+        int m = registradores.length;
+        double soma = 0;
+        int zerados = 0;
+        for (byte registrador : registradores) {
+            soma += 1.0 / (1L << registrador);
+            if (registrador == 0) {
+                zerados++;
+            }
+        }
+        double estimativa = alfa(m) * m * m / soma;
+        // Cardinalidades pequenas: contagem linear dos registradores zerados é mais precisa
+        if (estimativa <= 2.5 * m && zerados > 0) {
+            estimativa = m * Math.log((double) m / zerados);
+        }
+        return Math.round(estimativa);
+    }
+
+    /**
+     * Erro padrão relativo da estimativa
+     */
+    public double erroRelativo() {
+        return erroRelativo(precisao);
+    }
+
+    public static double erroRelativo(int precisao) {
+        return 1.04 / Math.sqrt(1 << precisao);
+    }
+
+    public int getPrecisao() {
+        return precisao;
+    }
+
+    /**
+     * Forma compacta para gravação: byte de cabeçalho (precisão, com a marca de esparsa)
+     * seguido de trincas posição (2 bytes) e valor, ou de todos os registradores
+     */
+    public byte[] paraBytes() {
+        int preenchidos = 0;
+        for (byte registrador : registradores) {
+            if (registrador != 0) {
+                preenchidos++;
+            }
+        }
+        if (preenchidos * 3 < registradores.length) {
+            byte[] bytes = new byte[1 + preenchidos * 3];
+            bytes[0] = (byte) (precisao | MARCA_ESPARSA);
+            int j = 1;
+            for (int i = 0; i < registradores.length; i++) {
+                if (registradores[i] != 0) {
+                    bytes[j++] = (byte) (i >>> 8);
+                    bytes[j++] = (byte) i;
+                    bytes[j++] = registradores[i];
+                }
+            }
+            return bytes;
+        }
+        byte[] bytes = new byte[1 + registradores.length];
+        bytes[0] = (byte) precisao;
+        System.arraycopy(registradores, 0, bytes, 1, registradores.length);
+        return bytes;
+    }
+
+    public static HyperLogLog deBytes(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            throw new IllegalArgumentException("Esboço vazio");
+        }
+        boolean esparsa = (bytes[0] & MARCA_ESPARSA) != 0;
+        HyperLogLog esboco = new HyperLogLog(bytes[0] & 0x7F);
+        if (esparsa) {
+            if ((bytes.length - 1) % 3 != 0) {
+                throw new IllegalArgumentException("Esboço esparso corrompido");
+            }
+            for (int j = 1; j < bytes.length; j += 3) {
+                int indice = ((bytes[j] & 0xFF) << 8) | (bytes[j + 1] & 0xFF);
+                if (indice >= esboco.registradores.length) {
+                    throw new IllegalArgumentException("Esboço esparso corrompido");
+                }
+                esboco.registradores[indice] = bytes[j + 2];
+            }
+        } else {
+            if (bytes.length != 1 + esboco.registradores.length) {
+                throw new IllegalArgumentException("Esboço denso corrompido");
+            }
+            System.arraycopy(bytes, 1, esboco.registradores, 0, esboco.registradores.length);
+        }
+        return esboco;
+    }
+
+    private static double alfa(int m) {
+        return switch (m) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / m);
+        };
+    }
+
+    // Mistura final do MurmurHash3 sobre o valor multiplicado pela razão áurea: ids sequenciais
+    // ficam bem espalhados
+    private static long hash(long valor) {
+        long h = valor * 0x9e3779b97f4a7c15L;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,171 @@
+package com.empresa.sistema.util;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Mapa long -> int com endereçamento aberto (sondagem linear) e remoção por deslocamento
+ * para trás: sem objetos por entrada nem boxing. A tabela ocupa no máximo metade das
+ * posições e dobra quando a capacidade é atingida. Não é thread-safe.
+ */
+public class MapaLongInt {
+
+    public static final int AUSENTE = -1;
+
+    /**
+     * Recebe cada entrada em {@link #paraCada}
+     */
+    @FunctionalInterface
+    public interface Visitante {
+        void visitar(long chave, int valor);
+    }
+
+    private long[] chaves;
+    private int[] valores;
+    private boolean[] usados;
+    private int mascara;
+    private int capacidade;
+    private int tamanho;
+
+    /**
+     * @param capacidade entradas antes do primeiro crescimento
+     */
+    public MapaLongInt(int capacidade) {
+        if (capacidade < 1) {
+            throw new IllegalArgumentException("Capacidade deve ser maior que zero");
+        }
+        alocar(capacidade);
+    }
+
+    public int get(long chave) {
+        for (int i = indice(chave); usados[i]; i = (i + 1) & mascara) {
+            if (chaves[i] == chave) {
+                return valores[i];
+            }
+        }
+        return AUSENTE;
+    }
+
+    public void put(long chave, int valor) {
+        int i = posicao(chave);
+        if (!usados[i]) {
+            i = inserir(chave);
+        }
+        valores[i] = valor;
+    }
+
+    /**
+     * Soma {@code delta} ao valor da chave (zero se ausente) e devolve o resultado
+     */
+    public int incrementar(long chave, int delta) {
+        int i = posicao(chave);
+        if (!usados[i]) {
+            i = inserir(chave);
+            valores[i] = 0;
+        }
+        valores[i] += delta;
+        return valores[i];
+    }
+
+    public void remove(long chave) {
+        int i = posicao(chave);
+        if (!usados[i]) {
+            return;
+        }
+        // Desloca para a lacuna as entradas seguintes cuja posição ideal não fica entre a lacuna e elas
+        int lacuna = i;
+        for (int j = (i + 1) & mascara; usados[j]; j = (j + 1) & mascara) {
+            int ideal = indice(chaves[j]);
+            if (((j - ideal) & mascara) >= ((j - lacuna) & mascara)) {
+                chaves[lacuna] = chaves[j];
+                valores[lacuna] = valores[j];
+                lacuna = j;
+            }
+        }
+        usados[lacuna] = false;
+        tamanho--;
+    }
+
+    /**
+     * Remove as entradas cujo valor satisfaz o predicado, reconstruindo a tabela uma vez;
+     * devolve quantas foram removidas
+     */
+    public int removerSe(IntPredicate predicado) {
+        long[] chavesAntigas = chaves;
+        int[] valoresAntigos = valores;
+        boolean[] usadosAntigos = usados;
+        int anterior = tamanho;
+        alocar(capacidade);
+        for (int i = 0; i < usadosAntigos.length; i++) {
+            if (usadosAntigos[i] && !predicado.test(valoresAntigos[i])) {
+                valores[inserir(chavesAntigas[i])] = valoresAntigos[i];
+            }
+        }
+        return anterior - tamanho;
+    }
+
+    public void paraCada(Visitante visitante) {
+        for (int i = 0; i < usados.length; i++) {
+            if (usados[i]) {
+                visitante.visitar(chaves[i], valores[i]);
+            }
+        }
+    }
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    public void limpar() {
+        Arrays.fill(usados, false);
+        tamanho = 0;
+    }
+
+    private void alocar(int novaCapacidade) {
+        int posicoes = Integer.highestOneBit(Math.max(2, novaCapacidade * 2 - 1)) << 1;
+        this.chaves = new long[posicoes];
+        this.valores = new int[posicoes];
+        this.usados = new boolean[posicoes];
+        this.mascara = posicoes - 1;
+        this.capacidade = novaCapacidade;
+        this.tamanho = 0;
+    }
+
+    // Posição da chave, ou a posição livre onde ela entraria
+    private int posicao(long chave) {
+        int i = indice(chave);
+        while (usados[i] && chaves[i] != chave) {
+            i = (i + 1) & mascara;
+        }
+        return i;
+    }
+
+    // Chave ausente: ocupa uma posição livre, crescendo antes se preciso
+    private int inserir(long chave) {
+        if (tamanho == capacidade) {
+            crescer();
+        }
+        int i = posicao(chave);
+        usados[i] = true;
+        chaves[i] = chave;
+        tamanho++;
+        return i;
+    }
+
+    private void crescer() {
+        long[] chavesAntigas = chaves;
+        int[] valoresAntigos = valores;
+        boolean[] usadosAntigos = usados;
+        alocar(capacidade * 2);
+        for (int i = 0; i < usadosAntigos.length; i++) {
+            if (usadosAntigos[i]) {
+                valores[inserir(chavesAntigas[i])] = valoresAntigos[i];
+            }
+        }
+    }
+
+    private int indice(long chave) {
+        long h = chave * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mascara;
+    }
+}
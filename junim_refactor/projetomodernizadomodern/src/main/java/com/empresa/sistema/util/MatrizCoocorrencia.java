@@ -0,0 +1,147 @@
+package com.empresa.sistema.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Matriz esparsa de coocorrência entre itens (quantas cestas contêm os dois), só com
+ * mapas de chave primitiva: o item leva a uma linha por MapaLongInt e cada linha é um
+ * MapaLongInt vizinho -> contagem. A memória é limitada por linha: ao passar de
+ * 2 x {@code maximoPorItem} vizinhos a linha é podada para os {@code maximoPorItem} de
+ * maior contagem, o que descarta os pares raros. Não é thread-safe.
+ */
+public class MatrizCoocorrencia {
+
+    public record Par(long item, int contagem) {
+    }
+
+    private static final Comparator<Par> MAIOR_CONTAGEM =
+            Comparator.comparingInt(Par::contagem).reversed().thenComparingLong(Par::item);
+
+    private final int maximoPorItem;
+    private final MapaLongInt linhas = new MapaLongInt(1024);
+    private final List<MapaLongInt> vizinhos = new ArrayList<>();
+    private long pares;
+
+    public MatrizCoocorrencia(int maximoPorItem) {
+        if (maximoPorItem < 1) {
+            throw new IllegalArgumentException("Máximo de vizinhos deve ser maior que zero");
+        }
+        this.maximoPorItem = maximoPorItem;
+    }
+
+    /**
+     * Conta todos os pares de uma cesta; os itens devem ser distintos
+     */
+    public void registrarCesta(long[] itens) {
+        for (int i = 0; i < itens.length; i++) {
+            for (int j = i + 1; j < itens.length; j++) {
+                incrementar(itens[i], itens[j], 1);
+                incrementar(itens[j], itens[i], 1);
+            }
+        }
+    }
+
+    /**
+     * Soma {@code delta} à contagem de {@code vizinho} na linha de {@code item}
+     */
+    public void incrementar(long item, long vizinho, int delta) {
+        MapaLongInt linha = linha(item);
+        int antes = linha.tamanho();
+        linha.incrementar(vizinho, delta);
+        pares += linha.tamanho() - antes;
+        if (linha.tamanho() > 2 * maximoPorItem) {
+            pares -= podar(linha);
+        }
+    }
+
+    /**
+     * Os {@code n} vizinhos de maior contagem, em ordem decrescente
+     */
+    public List<Par> vizinhos(long item, int n) {
+        int indice = linhas.get(item);
+        if (indice == MapaLongInt.AUSENTE || n < 1) {
+            return List.of();
+        }
+        // Heap mínimo com os n maiores vistos até aqui
+        PriorityQueue<Par> maiores = new PriorityQueue<>(n + 1, MAIOR_CONTAGEM.reversed());
+        vizinhos.get(indice).paraCada((vizinho, contagem) -> {
+            maiores.add(new Par(vizinho, contagem));
+            if (maiores.size() > n) {
+                maiores.poll();
+            }
+        });
+        List<Par> resultado = new ArrayList<>(maiores);
+        resultado.sort(MAIOR_CONTAGEM);
+        return resultado;
+    }
+
+    /**
+     * Descarta a linha do item; as contagens dele nas linhas dos vizinhos permanecem
+     */
+    public void remover(long item) {
+        int indice = linhas.get(item);
+        if (indice != MapaLongInt.AUSENTE) {
+            pares -= vizinhos.get(indice).tamanho();
+            vizinhos.set(indice, null);
+            linhas.remove(item);
+        }
+    }
+
+    /**
+     * Soma as contagens de outra matriz a esta
+     */
+    public void fundir(MatrizCoocorrencia outra) {
+        outra.linhas.paraCada((item, indice) ->
+                outra.vizinhos.get(indice).paraCada((vizinho, contagem) -> incrementar(item, vizinho, contagem)));
+    }
+
+    public int itens() {
+        return linhas.tamanho();
+    }
+
+    /**
+     * Total de pares (item, vizinho) guardados
+     */
+    public long pares() {
+        return pares;
+    }
+
+    private MapaLongInt linha(long item) {
+        int indice = linhas.get(item);
+        if (indice == MapaLongInt.AUSENTE) {
+            indice = vizinhos.size();
+            vizinhos.add(new MapaLongInt(16));
+            linhas.put(item, indice);
+        }
+        return vizinhos.get(indice);
+    }
+
+    // Mantém os maximoPorItem maiores; empates no limiar são cortados na ordem da tabela
+    private int podar(MapaLongInt linha) {
+        int[] contagens = new int[linha.tamanho()];
+        int[] posicao = {0};
+        linha.paraCada((vizinho, contagem) -> contagens[posicao[0]++] = contagem);
+        Arrays.sort(contagens);
+        int limiar = contagens[contagens.length - maximoPorItem];
+        int removidos = linha.removerSe(contagem -> contagem < limiar);
+        int excedentes = linha.tamanho() - maximoPorItem;
+        if (excedentes > 0) {
+            long[] empatados = new long[excedentes];
+            int[] quantidade = {0};
+            linha.paraCada((vizinho, contagem) -> {
+                if (contagem == limiar && quantidade[0] < excedentes) {
+                    empatados[quantidade[0]++] = vizinho;
+                }
+            });
+            for (long vizinho : empatados) {
+                linha.remove(vizinho);
+            }
+            removidos += excedentes;
+        }
+        return removidos;
+    }
+}
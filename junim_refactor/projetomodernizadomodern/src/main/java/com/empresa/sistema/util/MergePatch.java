@@ -0,0 +1,52 @@
+package com.empresa.sistema.util;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Aplicação de JSON Merge Patch (RFC 7396) sobre entidades de campos simples:
+ * cada chave presente substitui o valor do campo e {@code null} limpa o campo.
+ */
+public final class MergePatch {
+
+    public static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    private MergePatch() {
+    }
+
+    /**
+     * Aplica o patch à entidade e valida o resultado com as restrições da entidade.
+     * Campos fora de {@code camposPermitidos}, valores de tipo incompatível e violações
+     * resultam em IllegalArgumentException; nesse caso a entidade pode ter sido alterada.
+     */
+    public static <T> void aplicar(ObjectMapper objectMapper, Validator validator, T entidade,
+                                   Map<String, Object> patch, Set<String> camposPermitidos) {
+        if (patch == null || patch.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um campo");
+        }
+        Set<String> naoPermitidos = new TreeSet<>(patch.keySet());
+        naoPermitidos.removeAll(camposPermitidos);
+        if (!naoPermitidos.isEmpty()) {
+            throw new IllegalArgumentException("Campos não alteráveis: " + naoPermitidos);
+        }
+        try {
+            objectMapper.updateValue(entidade, patch);
+        } catch (JsonMappingException e) {
+            throw new IllegalArgumentException("Valor inválido: " + e.getOriginalMessage(), e);
+        }
+        Set<ConstraintViolation<T>> violacoes = validator.validate(entidade);
+        if (!violacoes.isEmpty()) {
+            throw new IllegalArgumentException(violacoes.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.empresa.sistema.util;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+/**
+ * Identificação da restrição do banco violada em uma gravação
+ */
+public final class Restricoes {
+
+    private Restricoes() {
+    }
+
+    /**
+     * Indica se a violação foi da restrição informada. Usa o nome extraído pelo Hibernate
+     * e, na falta dele, a mensagem do driver (o H2 informa o nome em maiúsculas).
+     */
+    public static boolean violou(DataIntegrityViolationException e, String restricao) {
+        String procurado = restricao.toLowerCase(Locale.ROOT);
+        for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+            if (causa instanceof ConstraintViolationException violacao && violacao.getConstraintName() != null
+                    && violacao.getConstraintName().toLowerCase(Locale.ROOT).contains(procurado)) {
+                return true;
+            }
+        }
+        String mensagem = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        return mensagem != null && mensagem.toLowerCase(Locale.ROOT).contains(procurado);
+    }
+}
@@ -0,0 +1,49 @@
+package com.empresa.sistema.util;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Repetição limitada de operações que falham por conflito transitório, com espera
+ * exponencial aleatória ("full jitter") para que as tentativas concorrentes se espalhem.
+ * A ação deve ser inteira refeita a cada tentativa (por exemplo, uma transação nova).
+ */
+public final class Retentativas {
+
+    private Retentativas() {
+    }
+
+    /**
+     * Executa a ação até {@code tentativas} vezes enquanto ela falhar com {@code retentavel};
+     * a última falha é propagada. Entre tentativas espera um tempo aleatório entre zero e
+     * min(esperaMaxima, esperaBase * 2^(tentativa - 1)).
+     */
+    public static <T> T executar(int tentativas, Duration esperaBase, Duration esperaMaxima,
+                                 Class<? extends RuntimeException> retentavel, Supplier<T> acao) {
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return acao.get();
+            } catch (RuntimeException e) {
+                if (!retentavel.isInstance(e) || tentativa >= tentativas) {
+                    throw e;
+                }
+                aguardar(esperaBase, esperaMaxima, tentativa);
+            }
+        }
+    }
+
+    private static void aguardar(Duration esperaBase, Duration esperaMaxima, int tentativa) {
+        long teto = Math.min(esperaMaxima.toNanos(), esperaBase.toNanos() * (1L << Math.min(tentativa - 1, 20)));
+        if (teto <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(ThreadLocalRandom.current().nextLong(teto + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando nova tentativa", e);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.empresa.sistema.vendas;
+
+import com.empresa.sistema.entity.Vendas;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+
+/**
+ * Cópia colunar das vendas em memória (ParticaoVendas) para somas de quantidade e valor
+ * por período, produto ou cliente sem consultar o banco. As consultas percorrem as
+ * partições em paralelo no pool fork/join, uma partição por tarefa, e reúnem os parciais.
+ * Os lotes do gravador entram após o commit, ainda com o gravador bloqueado; a partição
+ * aberta é publicada como visão a cada lote, sem cópia. Vendas sem data não entram.
+ */
+@Component
+public class AgregadorVendas {
+
+    private static final Logger log = LoggerFactory.getLogger(AgregadorVendas.class);
+
+    // Linhas por partição: unidade de paralelismo e de descarte pelo período
+    public static final int LINHAS_POR_PARTICAO = 65_536;
+
+    private static final String SQL_MAIOR_ID = "SELECT COALESCE(MAX(id), 0) FROM vendas";
+
+    private static final String SQL_HISTORICO =
+            "SELECT produto_id, cliente_id, quantidade, valor_total, data_venda FROM vendas WHERE id <= ? ORDER BY id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Object escrita = new Object();
+    private final Object reconstrucao = new Object();
+    private Particoes atuais = new Particoes();
+    private volatile List<ParticaoVendas> particoes = List.of();
+    // Lotes confirmados durante uma reconstrução; null fora dela
+    private List<List<Vendas>> pendentes;
+
+    /**
+     * Totais da consulta sobre as vendas confirmadas até aqui
+     */
+    public ParticaoVendas.Acumulador agregar(ParticaoVendas.Consulta consulta) {
+        List<ParticaoVendas> lidas = particoes;
+        if (lidas.isEmpty()) {
+            return new ParticaoVendas.Acumulador(consulta);
+        }
+        return ForkJoinPool.commonPool().invoke(new Agregacao(lidas, 0, lidas.size(), consulta));
+    }
+
+    /**
+     * Soma os cupons quando a transação atual confirmar; deve ser chamado na transação
+     * que grava as vendas, com o gravador bloqueado (ResumosVendas.aplicar)
+     */
+    public void aplicar(List<List<Vendas>> cupons) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                synchronized (escrita) {
+                    cupons.forEach(atuais::adicionar);
+                    particoes = atuais.visoes();
+                    if (pendentes != null) {
+                        pendentes.addAll(cupons);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Relê as vendas; as consultas seguem atendidas pela cópia anterior até a troca.
+     * {@code exclusivo} executa com o gravador bloqueado (ResumosVendas.executarExclusivo):
+     * só para fixar o último id lido, de modo que cada lote entra exatamente uma vez, pela
+     * leitura ou pelos pendentes.
+     */
+    public void reconstruir(Consumer<Runnable> exclusivo) {
+        synchronized (reconstrucao) {
+            long inicio = System.nanoTime();
+            long[] ultimoId = new long[1];
+            exclusivo.accept(() -> {
+                ultimoId[0] = jdbcTemplate.queryForObject(SQL_MAIOR_ID, Long.class);
+                synchronized (escrita) {
+                    pendentes = new ArrayList<>();
+                }
+            });
+            Particoes novas = new Particoes();
+            try {
+                TransactionTemplate leitura = new TransactionTemplate(transactionManager);
+                leitura.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+                leitura.setReadOnly(true);
+                leitura.executeWithoutResult(status -> jdbcTemplate.query(SQL_HISTORICO, rs -> {
+                    long clienteId = rs.getLong(2);
+                    Long cliente = rs.wasNull() ? null : clienteId;
+                    Timestamp data = rs.getTimestamp(5);
+                    if (data != null) {
+                        novas.adicionar(rs.getLong(1), cliente, rs.getInt(3), rs.getBigDecimal(4), data.toLocalDateTime());
+                    }
+                }, ultimoId[0]));
+            } catch (RuntimeException e) {
+                synchronized (escrita) {
+                    pendentes = null;
+                }
+                throw e;
+            }
+            synchronized (escrita) {
+                pendentes.forEach(novas::adicionar);
+                pendentes = null;
+                atuais = novas;
+                particoes = novas.visoes();
+            }
+            log.info("Agregador de vendas reconstruído: {} partições em {} ms", particoes.size(),
+                    (System.nanoTime() - inicio) / 1_000_000);
+        }
+    }
+
+    // Partições completas e a aberta; acessado sob escrita (ou só pela reconstrução, antes da troca)
+    private static final class Particoes {
+        private final List<ParticaoVendas> fechadas = new ArrayList<>();
+        private ParticaoVendas.Construtor aberta = new ParticaoVendas.Construtor(LINHAS_POR_PARTICAO);
+
+        void adicionar(List<Vendas> cupom) {
+            for (Vendas venda : cupom) {
+                adicionar(venda.getProdutoId(), venda.getClienteId(), venda.getQuantidade(), venda.getValorTotal(),
+                        venda.getDataVenda());
+            }
+        }
+
+        void adicionar(long produtoId, Long clienteId, int quantidade, BigDecimal valor, LocalDateTime data) {
+            if (aberta.cheio()) {
+                fechadas.add(aberta.visao());
+                aberta = new ParticaoVendas.Construtor(LINHAS_POR_PARTICAO);
+            }
+            long centavos = valor != null ? valor.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact() : 0;
+            aberta.adicionar(produtoId, clienteId, quantidade, centavos, (int) data.toLocalDate().toEpochDay());
+        }
+
+        List<ParticaoVendas> visoes() {
+            List<ParticaoVendas> visoes = new ArrayList<>(fechadas.size() + 1);
+            visoes.addAll(fechadas);
+            if (aberta.tamanho() > 0) {
+                visoes.add(aberta.visao());
+            }
+            return List.copyOf(visoes);
+        }
+    }
+
+    // Divide as partições ao meio até uma por tarefa; os acumuladores das metades se fundem
+    private static final class Agregacao extends RecursiveTask<ParticaoVendas.Acumulador> {
+        private final List<ParticaoVendas> particoes;
+        private final int inicio;
+        private final int fim;
+        private final ParticaoVendas.Consulta consulta;
+
+        Agregacao(List<ParticaoVendas> particoes, int inicio, int fim, ParticaoVendas.Consulta consulta) {
+            this.particoes = particoes;
+            this.inicio = inicio;
+            this.fim = fim;
+            this.consulta = consulta;
+        }
+
+        @Override
+        protected ParticaoVendas.Acumulador compute() {
+            if (fim - inicio == 1) {
+                ParticaoVendas.Acumulador parcial = new ParticaoVendas.Acumulador(consulta);
+                particoes.get(inicio).acumular(consulta, parcial);
+                return parcial;
+            }
+            int meio = (inicio + fim) >>> 1;
+            Agregacao esquerda = new Agregacao(particoes, inicio, meio, consulta);
+            esquerda.fork();
+            ParticaoVendas.Acumulador direita = new Agregacao(particoes, meio, fim, consulta).compute();
+            ParticaoVendas.Acumulador resultado = esquerda.join();
+            resultado.fundir(direita);
+            return resultado;
+        }
+    }
+}
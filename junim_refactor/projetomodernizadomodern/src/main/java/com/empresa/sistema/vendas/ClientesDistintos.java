@@ -0,0 +1,148 @@
+package com.empresa.sistema.vendas;
+
+import com.empresa.sistema.entity.Vendas;
+import com.empresa.sistema.util.HyperLogLog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Manutenção dos esboços HyperLogLog de clientes distintos por produto e dia
+ * (clientes_distintos_diarios). Chamado por ResumosVendas na transação do lote e sob a
+ * mesma trava, o que torna seguro ler, fundir e regravar cada esboço. Só os esboços que
+ * mudaram são regravados: clientes já contados no dia não geram escrita.
+ * Vendas sem cliente não entram na contagem.
+ */
+@Component
+public class ClientesDistintos {
+
+    // Parâmetros por consulta IN ao carregar os esboços existentes
+    private static final int PRODUTOS_POR_CONSULTA = 500;
+    private static final int LINHAS_POR_BATCH = 500;
+
+    private static final String SQL_MERGE =
+            "MERGE INTO clientes_distintos_diarios r " +
+            "USING (VALUES (CAST(? AS BIGINT), CAST(? AS DATE))) AS s (produto_id, dia) " +
+            "ON r.produto_id = s.produto_id AND r.dia = s.dia " +
+            "WHEN MATCHED THEN UPDATE SET esboco = ? " +
+            "WHEN NOT MATCHED THEN INSERT (produto_id, dia, esboco) VALUES (s.produto_id, s.dia, ?)";
+
+    private static final String SQL_INCLUSAO =
+            "INSERT INTO clientes_distintos_diarios (produto_id, dia, esboco) VALUES (?, ?, ?)";
+
+    // Ordenado pela chave do esboço para recalcular um de cada vez
+    private static final String SQL_RECALCULO =
+            "SELECT produto_id, CAST(data_venda AS DATE) AS dia, cliente_id FROM vendas " +
+            "WHERE cliente_id IS NOT NULL ORDER BY produto_id, CAST(data_venda AS DATE)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Soma os clientes das vendas aos esboços; deve ser chamado na transação que grava as vendas
+     */
+    public void aplicar(List<Vendas> vendas) {
+        Map<LocalDate, Map<Long, List<Long>>> clientes = new HashMap<>();
+        for (Vendas venda : vendas) {
+            if (venda.getClienteId() != null) {
+                clientes.computeIfAbsent(venda.getDataVenda().toLocalDate(), dia -> new HashMap<>())
+                        .computeIfAbsent(venda.getProdutoId(), produtoId -> new ArrayList<>())
+                        .add(venda.getClienteId());
+            }
+        }
+        List<Object[]> argumentos = new ArrayList<>();
+        clientes.forEach((dia, porProduto) -> {
+            Map<Long, HyperLogLog> esbocos = carregar(dia, new ArrayList<>(porProduto.keySet()));
+            porProduto.forEach((produtoId, ids) -> {
+                HyperLogLog esboco = esbocos.computeIfAbsent(produtoId, id -> new HyperLogLog());
+                boolean alterado = false;
+                for (Long clienteId : ids) {
+                    alterado |= esboco.adicionar(clienteId);
+                }
+                if (alterado) {
+                    byte[] bytes = esboco.paraBytes();
+                    argumentos.add(new Object[] {produtoId, Date.valueOf(dia), bytes, bytes});
+                }
+            });
+        });
+        if (!argumentos.isEmpty()) {
+            jdbcTemplate.batchUpdate(SQL_MERGE, argumentos);
+        }
+    }
+
+    /**
+     * Refaz todos os esboços a partir das vendas; deve ser chamado na transação da reconciliação
+     */
+    public void recalcular() {
+        jdbcTemplate.update("DELETE FROM clientes_distintos_diarios");
+        Recalculo recalculo = new Recalculo();
+        jdbcTemplate.query(SQL_RECALCULO, recalculo);
+        recalculo.concluir();
+    }
+
+    // Um esboço por vez: as linhas chegam agrupadas por produto e dia
+    private final class Recalculo implements RowCallbackHandler {
+        private final List<Object[]> argumentos = new ArrayList<>();
+        private long produtoId;
+        private Date dia;
+        private HyperLogLog esboco;
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long produto = rs.getLong(1);
+            Date data = rs.getDate(2);
+            if (esboco == null || produto != produtoId || !data.equals(dia)) {
+                guardar();
+                produtoId = produto;
+                dia = data;
+                esboco = new HyperLogLog();
+            }
+            esboco.adicionar(rs.getLong(3));
+        }
+
+        void concluir() {
+            guardar();
+            if (!argumentos.isEmpty()) {
+                jdbcTemplate.batchUpdate(SQL_INCLUSAO, argumentos);
+            }
+        }
+
+        private void guardar() {
+            if (esboco == null) {
+                return;
+            }
+            argumentos.add(new Object[] {produtoId, dia, esboco.paraBytes()});
+            if (argumentos.size() == LINHAS_POR_BATCH) {
+                jdbcTemplate.batchUpdate(SQL_INCLUSAO, argumentos);
+                argumentos.clear();
+            }
+        }
+    }
+
+    private Map<Long, HyperLogLog> carregar(LocalDate dia, List<Long> produtos) {
+        Map<Long, HyperLogLog> esbocos = new HashMap<>();
+        for (int i = 0; i < produtos.size(); i += PRODUTOS_POR_CONSULTA) {
+            List<Long> parte = produtos.subList(i, Math.min(i + PRODUTOS_POR_CONSULTA, produtos.size()));
+            String sql = "SELECT produto_id, esboco FROM clientes_distintos_diarios WHERE dia = ? AND produto_id IN ("
+                    + String.join(", ", Collections.nCopies(parte.size(), "?")) + ")";
+            List<Object> parametros = new ArrayList<>(parte.size() + 1);
+            parametros.add(Date.valueOf(dia));
+            parametros.addAll(parte);
+            jdbcTemplate.query(sql, rs -> {
+                esbocos.put(rs.getLong(1), HyperLogLog.deBytes(rs.getBytes(2)));
+            }, parametros.toArray());
+        }
+        return esbocos;
+    }
+}
@@ -0,0 +1,265 @@
+package com.empresa.sistema.vendas;
+
+import com.empresa.sistema.entity.Vendas;
+import com.empresa.sistema.event.ProdutoRemovidoEvent;
+import com.empresa.sistema.util.MatrizCoocorrencia;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Produtos comprados junto: matriz de coocorrência dos cupons com mais de um produto,
+ * mantida em memória pelos lotes do gravador de vendas (após o commit, via
+ * ResumosVendas.aplicar) e consultada sem acessar o banco. A reconstrução lê o histórico
+ * de vendas agrupado por cupom_id em blocos de cupons e conta cada bloco em paralelo
+ * (fork/join), fundindo as matrizes parciais. O gravador só fica bloqueado para fixar o
+ * último id lido; os lotes confirmados depois disso são aplicados à nova matriz antes da
+ * troca, de modo que cada lote é contado exatamente uma vez.
+ */
+@Component
+public class CompradosJunto {
+
+    private static final Logger log = LoggerFactory.getLogger(CompradosJunto.class);
+
+    // Produtos distintos considerados por cupom: os pares crescem com o quadrado
+    public static final int MAXIMO_PRODUTOS_CESTA = 100;
+
+    // Cestas lidas antes de cada contagem paralela, e por tarefa sequencial
+    private static final int CESTAS_POR_BLOCO = 200_000;
+    private static final int CESTAS_POR_TAREFA = 5_000;
+
+    private static final String SQL_MAIOR_ID = "SELECT COALESCE(MAX(id), 0) FROM vendas";
+
+    // Linhas de um cupom são gravadas no mesmo batch, com ids consecutivos; sem cupom_id cada linha é um cupom
+    private static final String SQL_HISTORICO =
+            "SELECT cupom_id, produto_id FROM vendas WHERE id <= ? ORDER BY id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.comprados-junto.maximo-por-produto:100}")
+    private int maximoPorProduto;
+
+    private final Object escrita = new Object();
+    private final Object reconstrucao = new Object();
+    private final ReadWriteLock trava = new ReentrantReadWriteLock();
+    private MatrizCoocorrencia matriz;
+    // Cestas confirmadas durante uma reconstrução; null fora dela
+    private List<long[]> pendentes;
+
+    @PostConstruct
+    public void criar() {
+        matriz = new MatrizCoocorrencia(maximoPorProduto);
+    }
+
+    /**
+     * Os {@code n} produtos que mais aparecem em cupons junto com {@code produtoId}
+     */
+    public List<MatrizCoocorrencia.Par> buscar(long produtoId, int n) {
+        trava.readLock().lock();
+        try {
+            return matriz.vizinhos(produtoId, n);
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Conta os cupons quando a transação atual confirmar; deve ser chamado na transação
+     * que grava as vendas, com o gravador bloqueado (ResumosVendas.aplicar)
+     */
+    public void aplicar(List<List<Vendas>> cupons) {
+        List<long[]> cestas = new ArrayList<>();
+        for (List<Vendas> cupom : cupons) {
+            long[] cesta = cesta(cupom.stream().mapToLong(Vendas::getProdutoId).toArray());
+            if (cesta.length > 1) {
+                cestas.add(cesta);
+            }
+        }
+        if (cestas.isEmpty()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                synchronized (escrita) {
+                    trava.writeLock().lock();
+                    try {
+                        cestas.forEach(matriz::registrarCesta);
+                    } finally {
+                        trava.writeLock().unlock();
+                    }
+                    if (pendentes != null) {
+                        pendentes.addAll(cestas);
+                    }
+                }
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoRemoverProduto(ProdutoRemovidoEvent evento) {
+        synchronized (escrita) {
+            trava.writeLock().lock();
+            try {
+                matriz.remover(evento.id());
+            } finally {
+                trava.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Recalcula a matriz a partir de todas as vendas; as consultas seguem atendidas pela
+     * matriz anterior até a troca. {@code exclusivo} executa com o gravador bloqueado
+     * (ResumosVendas.executarExclusivo): só para fixar o último id lido.
+     */
+    public void reconstruir(Consumer<Runnable> exclusivo) {
+        synchronized (reconstrucao) {
+            long inicio = System.nanoTime();
+            long[] ultimoId = new long[1];
+            exclusivo.accept(() -> {
+                ultimoId[0] = jdbcTemplate.queryForObject(SQL_MAIOR_ID, Long.class);
+                synchronized (escrita) {
+                    pendentes = new ArrayList<>();
+                }
+            });
+            MatrizCoocorrencia nova;
+            try {
+                Leitura leitura = new Leitura();
+                TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+                transacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+                transacao.setReadOnly(true);
+                transacao.executeWithoutResult(status -> jdbcTemplate.query(SQL_HISTORICO, leitura, ultimoId[0]));
+                nova = leitura.concluir();
+            } catch (RuntimeException e) {
+                synchronized (escrita) {
+                    pendentes = null;
+                }
+                throw e;
+            }
+            synchronized (escrita) {
+                pendentes.forEach(nova::registrarCesta);
+                pendentes = null;
+                trava.writeLock().lock();
+                try {
+                    matriz = nova;
+                } finally {
+                    trava.writeLock().unlock();
+                }
+            }
+            log.info("Comprados junto reconstruído: {} produtos, {} pares em {} ms", nova.itens(), nova.pares(),
+                    (System.nanoTime() - inicio) / 1_000_000);
+        }
+    }
+
+    // Produtos distintos e ordenados do cupom, limitados a MAXIMO_PRODUTOS_CESTA
+    private static long[] cesta(long[] produtos) {
+        long[] distintos = Arrays.stream(produtos).distinct().sorted().toArray();
+        return distintos.length > MAXIMO_PRODUTOS_CESTA ? Arrays.copyOf(distintos, MAXIMO_PRODUTOS_CESTA) : distintos;
+    }
+
+    // Agrupa as linhas por cupom_id e conta um bloco de cestas por vez no pool fork/join
+    private final class Leitura implements RowCallbackHandler {
+        private final MatrizCoocorrencia total = new MatrizCoocorrencia(maximoPorProduto);
+        private final List<long[]> cestas = new ArrayList<>();
+        private final List<Long> produtos = new ArrayList<>();
+        private long cupomId;
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long cupom = rs.getLong(1);
+            boolean semCupom = rs.wasNull();
+            if (!produtos.isEmpty() && (semCupom || cupom != cupomId)) {
+                fecharCupom();
+            }
+            cupomId = cupom;
+            produtos.add(rs.getLong(2));
+            if (semCupom) {
+                fecharCupom();
+            }
+        }
+
+        MatrizCoocorrencia concluir() {
+            fecharCupom();
+            contarBloco();
+            return total;
+        }
+
+        private void fecharCupom() {
+            long[] cesta = cesta(produtos.stream().mapToLong(Long::longValue).toArray());
+            produtos.clear();
+            if (cesta.length > 1) {
+                cestas.add(cesta);
+                if (cestas.size() == CESTAS_POR_BLOCO) {
+                    contarBloco();
+                }
+            }
+        }
+
+        private void contarBloco() {
+            if (!cestas.isEmpty()) {
+                total.fundir(ForkJoinPool.commonPool().invoke(new Contagem(cestas, 0, cestas.size(), maximoPorProduto)));
+                cestas.clear();
+            }
+        }
+    }
+
+    // Divide as cestas ao meio até CESTAS_POR_TAREFA; cada metade conta em sua matriz e as duas se fundem
+    private static final class Contagem extends RecursiveTask<MatrizCoocorrencia> {
+        private final List<long[]> cestas;
+        private final int inicio;
+        private final int fim;
+        private final int maximoPorProduto;
+
+        Contagem(List<long[]> cestas, int inicio, int fim, int maximoPorProduto) {
+            this.cestas = cestas;
+            this.inicio = inicio;
+            this.fim = fim;
+            this.maximoPorProduto = maximoPorProduto;
+        }
+
+        @Override
+        protected MatrizCoocorrencia compute() {
+            if (fim - inicio <= CESTAS_POR_TAREFA) {
+                MatrizCoocorrencia parcial = new MatrizCoocorrencia(maximoPorProduto);
+                for (int i = inicio; i < fim; i++) {
+                    parcial.registrarCesta(cestas.get(i));
+                }
+                return parcial;
+            }
+            int meio = (inicio + fim) >>> 1;
+            Contagem esquerda = new Contagem(cestas, inicio, meio, maximoPorProduto);
+            esquerda.fork();
+            MatrizCoocorrencia direita = new Contagem(cestas, meio, fim, maximoPorProduto).compute();
+            MatrizCoocorrencia resultado = esquerda.join();
+            resultado.fundir(direita);
+            return resultado;
+        }
+    }
+}
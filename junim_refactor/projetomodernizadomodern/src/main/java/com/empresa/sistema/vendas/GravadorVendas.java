@@ -0,0 +1,215 @@
+package com.empresa.sistema.vendas;
+
+import com.empresa.sistema.entity.Vendas;
+import com.empresa.sistema.event.VendasRegistradasEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gravação das vendas em micro-lotes: as requisições concorrentes enfileiram seus cupons
+ * e uma única thread gravadora junta o que houver na fila (até o lote máximo) em um
+ * batch JDBC, numa só transação. Cada requisição aguarda o commit do lote em que entrou.
+ * Sob carga os lotes crescem sozinhos; com uma requisição isolada o lote tem só ela.
+ * Se o lote falhar, os cupons são regravados um a um, para que apenas o inválido falhe.
+ * Os resumos por produto e por cliente (ResumosVendas) são atualizados na mesma transação.
+ * Cada cupom recebe um cupom_id, sequencial a partir do maior já gravado.
+ * Um cupom que não sai da fila no prazo é cancelado e nunca gravado, então reenviá-lo não
+ * duplica a venda; o que o gravador já tomou é aguardado até o fim da gravação.
+ */
+@Component
+public class GravadorVendas {
+
+    private static final Logger log = LoggerFactory.getLogger(GravadorVendas.class);
+
+    private static final String SQL_INCLUSAO =
+            "INSERT INTO vendas (cupom_id, cliente_id, produto_id, quantidade, valor_total, data_venda) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String SQL_MAIOR_CUPOM = "SELECT COALESCE(MAX(cupom_id), 0) FROM vendas";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventos;
+
+    @Autowired
+    private ResumosVendas resumos;
+
+    @Value("${app.vendas.fila-capacidade:10000}")
+    private int capacidadeFila;
+
+    @Value("${app.vendas.lote-maximo:1000}")
+    private int loteMaximo;
+
+    @Value("${app.vendas.espera-maxima:10s}")
+    private Duration esperaMaxima;
+
+    private BlockingQueue<Cupom> fila;
+    private Thread gravador;
+    private volatile boolean ativo;
+    // Último cupom_id usado; só a thread gravadora altera
+    private long ultimoCupom;
+
+    private static final int NA_FILA = 0;
+    private static final int TOMADO = 1;
+    private static final int CANCELADO = 2;
+
+    // estado sai de NA_FILA uma única vez: tomado pelo gravador ou cancelado por quem espera
+    private record Cupom(List<Vendas> vendas, CompletableFuture<Void> gravado, AtomicInteger estado) {
+        boolean tomar() {
+            return estado.compareAndSet(NA_FILA, TOMADO);
+        }
+
+        boolean cancelar() {
+            return estado.compareAndSet(NA_FILA, CANCELADO);
+        }
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        fila = new ArrayBlockingQueue<>(capacidadeFila);
+        ultimoCupom = jdbcTemplate.queryForObject(SQL_MAIOR_CUPOM, Long.class);
+        ativo = true;
+        gravador = new Thread(this::executar, "gravador-vendas");
+        gravador.setDaemon(true);
+        gravador.start();
+    }
+
+    @PreDestroy
+    public void encerrar() throws InterruptedException {
+        ativo = false;
+        gravador.join(esperaMaxima.toMillis());
+    }
+
+    /**
+     * Enfileira as linhas de um cupom e aguarda a gravação.
+     * IllegalStateException se a fila estiver cheia ou o cupom não for tomado pelo gravador
+     * a tempo; nos dois casos nada é gravado e o cupom pode ser reenviado.
+     */
+    public void gravar(List<Vendas> vendas) {
+        Cupom cupom = new Cupom(vendas, new CompletableFuture<>(), new AtomicInteger(NA_FILA));
+        if (!ativo || !fila.offer(cupom)) {
+            throw new IllegalStateException("Fila de gravação de vendas cheia");
+        }
+        try {
+            try {
+                cupom.gravado().get(esperaMaxima.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (cupom.cancelar()) {
+                    throw new IllegalStateException("Gravação da venda não iniciada no prazo", e);
+                }
+                // Já está no lote em gravação: o resultado dele é o do cupom
+                cupom.gravado().get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cupom.cancelar();
+            throw new IllegalStateException("Interrompido aguardando a gravação da venda", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException causa ? causa : new IllegalStateException(e.getCause());
+        }
+    }
+
+    public int getPendentes() {
+        return fila.size();
+    }
+
+    private void executar() {
+        List<Cupom> lote = new ArrayList<>();
+        while (ativo || !fila.isEmpty()) {
+            try {
+                Cupom primeiro = fila.poll(100, TimeUnit.MILLISECONDS);
+                if (primeiro == null || !primeiro.tomar()) {
+                    continue;
+                }
+                lote.add(primeiro);
+                int linhas = primeiro.vendas().size();
+                Cupom proximo;
+                while (linhas < loteMaximo && (proximo = fila.poll()) != null) {
+                    // Cancelados por prazo são descartados
+                    if (proximo.tomar()) {
+                        lote.add(proximo);
+                        linhas += proximo.vendas().size();
+                    }
+                }
+                gravarLote(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Falha inesperada no gravador de vendas", e);
+                lote.forEach(cupom -> cupom.gravado().completeExceptionally(e));
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    private void gravarLote(List<Cupom> lote) {
+        try {
+            inserir(lote);
+        } catch (RuntimeException e) {
+            if (lote.size() == 1) {
+                lote.get(0).gravado().completeExceptionally(e);
+                return;
+            }
+            log.warn("Falha no lote de {} cupons; regravando um a um", lote.size(), e);
+            for (Cupom cupom : lote) {
+                gravarLote(List.of(cupom));
+            }
+            return;
+        }
+        List<List<Vendas>> cupons = new ArrayList<>(lote.size());
+        for (Cupom cupom : lote) {
+            cupons.add(cupom.vendas());
+            cupom.gravado().complete(null);
+        }
+        eventos.publishEvent(new VendasRegistradasEvent(cupons));
+    }
+
+    private void inserir(List<Cupom> lote) {
+        List<List<Vendas>> cupons = new ArrayList<>(lote.size());
+        List<Object[]> argumentos = new ArrayList<>();
+        for (Cupom cupom : lote) {
+            cupons.add(cupom.vendas());
+            // Ids de um lote que falhar ficam sem uso; a regravação um a um recebe outros
+            long cupomId = ++ultimoCupom;
+            for (Vendas venda : cupom.vendas()) {
+                venda.setCupomId(cupomId);
+                argumentos.add(new Object[] {cupomId, venda.getClienteId(), venda.getProdutoId(), venda.getQuantidade(),
+                        venda.getValorTotal(), venda.getDataVenda()});
+            }
+        }
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // Vendas e resumos na mesma transação
+        resumos.executarExclusivo(() -> transacao.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(SQL_INCLUSAO, argumentos);
+            resumos.aplicar(cupons);
+        }));
+    }
+}
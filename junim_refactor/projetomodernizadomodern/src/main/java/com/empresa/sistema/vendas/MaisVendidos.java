@@ -0,0 +1,155 @@
+package com.empresa.sistema.vendas;
+
+import com.empresa.sistema.event.VendasRegistradasEvent;
+import com.empresa.sistema.util.EspacoEconomico;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Produtos mais vendidos (em quantidade) na última hora e no dia, sem ler as vendas nem
+ * manter um contador por produto. Cada minuto e cada hora têm um resumo Space-Saving de
+ * capacidade fixa, em anéis de 60 minutos e 24 horas; a janela consultada é a fusão dos
+ * resumos que a cobrem. Memória limitada a (60 + 24) x capacidade contadores.
+ * Alimentado pelos lotes do gravador de vendas, no horário em que são gravados.
+ */
+@Component
+public class MaisVendidos {
+
+    private static final int MINUTOS = 60;
+    private static final int HORAS = 24;
+
+    public enum Janela { HORA, DIA }
+
+    /**
+     * Quantidade estimada: no máximo {@code erro} acima da real, nunca abaixo dela para os listados
+     */
+    public record Estimativa(long produtoId, long quantidade, long erro) {
+    }
+
+    @Value("${app.mais-vendidos.capacidade:200}")
+    private int capacidade;
+
+    private Clock relogio = Clock.systemDefaultZone();
+
+    private Fatia[] minutos;
+    private Fatia[] horas;
+
+    // Resumo de um minuto ou hora: {@code periodo} identifica qual, para reaproveitar a posição do anel
+    private static final class Fatia {
+        final EspacoEconomico resumo;
+        long periodo = -1;
+
+        Fatia(int capacidade) {
+            this.resumo = new EspacoEconomico(capacidade);
+        }
+    }
+
+    @PostConstruct
+    public void criar() {
+        minutos = new Fatia[MINUTOS];
+        horas = new Fatia[HORAS];
+        for (int i = 0; i < MINUTOS; i++) {
+            minutos[i] = new Fatia(capacidade);
+        }
+        for (int i = 0; i < HORAS; i++) {
+            horas[i] = new Fatia(capacidade);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoRegistrarVendas(VendasRegistradasEvent evento) {
+        Map<Long, Long> quantidades = new HashMap<>();
+        evento.vendas().forEach(venda -> quantidades.merge(venda.getProdutoId(), (long) venda.getQuantidade(), Long::sum));
+        registrar(quantidades);
+    }
+
+    /**
+     * Soma as quantidades vendidas agora; O(log capacidade) por produto
+     */
+    public synchronized void registrar(Map<Long, Long> quantidades) {
+        long minuto = TimeUnit.MILLISECONDS.toMinutes(relogio.millis());
+        Fatia fatiaMinuto = fatia(minutos, minuto);
+        Fatia fatiaHora = fatia(horas, minuto / 60);
+        quantidades.forEach((produtoId, quantidade) -> {
+            fatiaMinuto.resumo.adicionar(produtoId, quantidade);
+            fatiaHora.resumo.adicionar(produtoId, quantidade);
+        });
+    }
+
+    /**
+     * Os {@code n} produtos mais vendidos na janela: últimos 60 minutos ou desde a meia-noite
+     */
+    public List<Estimativa> buscar(Janela janela, int n) {
+        List<List<EspacoEconomico.Contagem>> resumos = new ArrayList<>();
+        List<Long> minimos = new ArrayList<>();
+        synchronized (this) {
+            long minuto = TimeUnit.MILLISECONDS.toMinutes(relogio.millis());
+            if (janela == Janela.HORA) {
+                coletar(minutos, minuto - MINUTOS + 1, minuto, resumos, minimos);
+            } else {
+                long meiaNoite = TimeUnit.SECONDS.toHours(LocalDate.now(relogio).atStartOfDay(relogio.getZone()).toEpochSecond());
+                coletar(horas, meiaNoite, minuto / 60, resumos, minimos);
+            }
+        }
+        return fundir(resumos, minimos, n);
+    }
+
+    void setRelogio(Clock relogio) {
+        this.relogio = relogio;
+    }
+
+    private static Fatia fatia(Fatia[] anel, long periodo) {
+        Fatia fatia = anel[(int) Math.floorMod(periodo, (long) anel.length)];
+        if (fatia.periodo != periodo) {
+            fatia.resumo.limpar();
+            fatia.periodo = periodo;
+        }
+        return fatia;
+    }
+
+    private static void coletar(Fatia[] anel, long desde, long ate, List<List<EspacoEconomico.Contagem>> resumos,
+                                List<Long> minimos) {
+        for (Fatia fatia : anel) {
+            if (fatia.periodo >= desde && fatia.periodo <= ate && fatia.resumo.tamanho() > 0) {
+                resumos.add(fatia.resumo.contagens());
+                minimos.add(fatia.resumo.minimo());
+            }
+        }
+    }
+
+    /**
+     * Soma as contagens dos resumos. Num resumo em que o produto não aparece ele pode ter
+     * vendido até o mínimo daquele resumo: esse valor entra na estimativa e no erro.
+     */
+    private static List<Estimativa> fundir(List<List<EspacoEconomico.Contagem>> resumos, List<Long> minimos, int n) {
+        Map<Long, long[]> somas = new HashMap<>();
+        for (int i = 0; i < resumos.size(); i++) {
+            for (EspacoEconomico.Contagem contagem : resumos.get(i)) {
+                long[] soma = somas.computeIfAbsent(contagem.chave(), chave -> new long[3]);
+                soma[0] += contagem.contagem();
+                soma[1] += contagem.erro();
+                soma[2] += minimos.get(i);
+            }
+        }
+        long somaMinimos = minimos.stream().mapToLong(Long::longValue).sum();
+        List<Estimativa> estimativas = new ArrayList<>(somas.size());
+        somas.forEach((produtoId, soma) -> {
+            // Mínimos dos resumos em que o produto não aparece
+            long folga = somaMinimos - soma[2];
+            estimativas.add(new Estimativa(produtoId, soma[0] + folga, soma[1] + folga));
+        });
+        estimativas.sort(Comparator.comparingLong(Estimativa::quantidade).reversed().thenComparingLong(Estimativa::produtoId));
+        return estimativas.size() <= n ? estimativas : List.copyOf(estimativas.subList(0, n));
+    }
+}
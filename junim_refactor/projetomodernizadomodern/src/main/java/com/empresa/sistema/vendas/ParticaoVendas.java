@@ -0,0 +1,300 @@
+package com.empresa.sistema.vendas;
+
+import com.empresa.sistema.util.MapaLongInt;
+
+import java.util.Arrays;
+
+/**
+ * Partição de vendas em colunas de tipos primitivos: produto, cliente, quantidade, valor
+ * em centavos e dia (epoch day). Guarda também o menor e o maior dia e se as linhas estão
+ * em ordem de dia: partições fora do período são descartadas sem ler as linhas e, em
+ * ordem, o trecho do período é achado por busca binária e somado sem comparar datas.
+ * Com a JVM iniciada com {@code --add-modules jdk.incubator.vector}, o total e os totais
+ * por dia (cada dia um trecho, também por busca binária) são somados com a Vector API
+ * (SomaVetorial), com os filtros de produto e cliente como máscaras; sem o módulo, só o
+ * total sem filtro tem laços próprios e o resto passa pelo laço linha a linha.
+ * É uma visão imutável de um Construtor: as linhas seguintes podem ser escritas nos
+ * mesmos arrays sem afetar quem já a tem.
+ */
+public final class ParticaoVendas {
+
+    // Venda sem cliente identificado
+    public static final long SEM_CLIENTE = Long.MIN_VALUE;
+
+    // Somas de trechos pela Vector API; sem o módulo, SomaVetorial nem é carregada
+    static final boolean VETORIAL = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    public enum Agrupamento {
+        TOTAL, DIA, PRODUTO, CLIENTE
+    }
+
+    /**
+     * Dias de {@code diaInicio} a {@code diaFim} inclusive, em epoch day; produto e
+     * cliente nulos não filtram. No agrupamento por cliente as vendas sem cliente não entram.
+     */
+    public record Consulta(int diaInicio, int diaFim, Long produtoId, Long clienteId, Agrupamento agrupamento) {
+    }
+
+    private final int tamanho;
+    private final long[] produtos;
+    private final long[] clientes;
+    private final int[] quantidades;
+    private final long[] valoresCentavos;
+    private final int[] dias;
+    private final int menorDia;
+    private final int maiorDia;
+    private final boolean ordenadaPorDia;
+
+    private ParticaoVendas(Construtor construtor) {
+        this.tamanho = construtor.tamanho;
+        this.produtos = construtor.produtos;
+        this.clientes = construtor.clientes;
+        this.quantidades = construtor.quantidades;
+        this.valoresCentavos = construtor.valoresCentavos;
+        this.dias = construtor.dias;
+        this.menorDia = construtor.menorDia;
+        this.maiorDia = construtor.maiorDia;
+        this.ordenadaPorDia = construtor.ordenadaPorDia;
+    }
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Soma as linhas da consulta ao acumulador
+     */
+    public void acumular(Consulta consulta, Acumulador acumulador) {
+        int diaInicio = consulta.diaInicio();
+        int diaFim = consulta.diaFim();
+        if (tamanho == 0 || maiorDia < diaInicio || menorDia > diaFim) {
+            return;
+        }
+        int de = 0;
+        int ate = tamanho;
+        boolean todosNoPeriodo = menorDia >= diaInicio && maiorDia <= diaFim;
+        if (!todosNoPeriodo && ordenadaPorDia) {
+            de = primeiraLinha(diaInicio, 0, tamanho);
+            ate = primeiraLinha(diaFim + 1, de, tamanho);
+            todosNoPeriodo = true;
+        }
+        boolean semFiltro = consulta.produtoId() == null && consulta.clienteId() == null;
+        if (consulta.agrupamento() == Agrupamento.TOTAL && todosNoPeriodo && (semFiltro || VETORIAL)) {
+            somarTrecho(0, de, ate, consulta, acumulador);
+            return;
+        }
+        if (consulta.agrupamento() == Agrupamento.DIA && todosNoPeriodo && ordenadaPorDia && VETORIAL) {
+            for (int inicio = de; inicio < ate; ) {
+                int dia = dias[inicio];
+                int fim = primeiraLinha(dia + 1, inicio, ate);
+                somarTrecho(dia, inicio, fim, consulta, acumulador);
+                inicio = fim;
+            }
+            return;
+        }
+        long produto = consulta.produtoId() != null ? consulta.produtoId() : 0;
+        long cliente = consulta.clienteId() != null ? consulta.clienteId() : 0;
+        boolean porCliente = consulta.agrupamento() == Agrupamento.CLIENTE;
+        long[] chaves = switch (consulta.agrupamento()) {
+            case PRODUTO -> produtos;
+            case CLIENTE -> clientes;
+            default -> null;
+        };
+        for (int i = de; i < ate; i++) {
+            int dia = dias[i];
+            if ((!todosNoPeriodo && (dia < diaInicio || dia > diaFim))
+                    || (consulta.produtoId() != null && produtos[i] != produto)
+                    || (consulta.clienteId() != null && clientes[i] != cliente)
+                    || (porCliente && clientes[i] == SEM_CLIENTE)) {
+                continue;
+            }
+            acumulador.somar(chaves != null ? chaves[i] : dia, quantidades[i], valoresCentavos[i]);
+        }
+    }
+
+    /**
+     * Soma o trecho inteiro ao grupo da chave: duas reduções sobre os arrays, sem desvios.
+     * Com filtro só é chamada com a Vector API, que filtra por máscara
+     */
+    private void somarTrecho(long chave, int de, int ate, Consulta consulta, Acumulador acumulador) {
+        if (VETORIAL && consulta.produtoId() == null && consulta.clienteId() == null) {
+            acumulador.somar(chave, SomaVetorial.somar(quantidades, de, ate),
+                    SomaVetorial.somar(valoresCentavos, de, ate));
+        } else if (VETORIAL) {
+            long[] porProduto = consulta.produtoId() != null ? produtos : null;
+            long[] porCliente = consulta.clienteId() != null ? clientes : null;
+            long produto = consulta.produtoId() != null ? consulta.produtoId() : 0;
+            long cliente = consulta.clienteId() != null ? consulta.clienteId() : 0;
+            acumulador.somar(chave,
+                    SomaVetorial.somar(quantidades, de, ate, porProduto, produto, porCliente, cliente),
+                    SomaVetorial.somar(valoresCentavos, de, ate, porProduto, produto, porCliente, cliente));
+        } else {
+            long quantidade = 0;
+            long valor = 0;
+            for (int i = de; i < ate; i++) {
+                quantidade += quantidades[i];
+            }
+            for (int i = de; i < ate; i++) {
+                valor += valoresCentavos[i];
+            }
+            acumulador.somar(chave, quantidade, valor);
+        }
+    }
+
+    // Primeira linha de [baixo, alto) com dia >= alvo; só vale com as linhas em ordem de dia
+    private int primeiraLinha(int alvo, int baixo, int alto) {
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (dias[meio] < alvo) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        return baixo;
+    }
+
+    /**
+     * Totais por grupo de uma consulta. Por dia os grupos ficam em arrays densos indexados
+     * pelo dia; por produto ou cliente, em posições dadas por um MapaLongInt. Um por tarefa:
+     * não é thread-safe; os parciais são reunidos por fundir.
+     */
+    public static final class Acumulador {
+        private final Agrupamento agrupamento;
+        private final int diaInicio;
+        private final MapaLongInt posicoes;
+        private long[] chaves;
+        private long[] quantidades;
+        private long[] valoresCentavos;
+        private int grupos;
+
+        public Acumulador(Consulta consulta) {
+            this.agrupamento = consulta.agrupamento();
+            this.diaInicio = consulta.diaInicio();
+            int capacidade = switch (agrupamento) {
+                case TOTAL -> 1;
+                case DIA -> consulta.diaFim() - consulta.diaInicio() + 1;
+                default -> 64;
+            };
+            this.posicoes = agrupamento == Agrupamento.PRODUTO || agrupamento == Agrupamento.CLIENTE
+                    ? new MapaLongInt(capacidade) : null;
+            this.chaves = new long[capacidade];
+            this.quantidades = new long[capacidade];
+            this.valoresCentavos = new long[capacidade];
+            if (posicoes == null) {
+                grupos = capacidade;
+                for (int i = 0; i < capacidade; i++) {
+                    chaves[i] = agrupamento == Agrupamento.DIA ? diaInicio + i : 0;
+                }
+            }
+        }
+
+        /**
+         * Soma ao grupo da chave (dia, produto ou cliente; ignorada no total)
+         */
+        public void somar(long chave, long quantidade, long valorCentavos) {
+            int posicao = switch (agrupamento) {
+                case TOTAL -> 0;
+                case DIA -> (int) (chave - diaInicio);
+                default -> posicao(chave);
+            };
+            quantidades[posicao] += quantidade;
+            valoresCentavos[posicao] += valorCentavos;
+        }
+
+        public void fundir(Acumulador outro) {
+            for (int i = 0; i < outro.grupos; i++) {
+                if (outro.quantidades[i] != 0 || outro.valoresCentavos[i] != 0) {
+                    somar(outro.chaves[i], outro.quantidades[i], outro.valoresCentavos[i]);
+                }
+            }
+        }
+
+        /**
+         * Posições ocupadas; por dia e no total inclui as sem venda (quantidade 0)
+         */
+        public int grupos() {
+            return grupos;
+        }
+
+        public long chave(int grupo) {
+            return chaves[grupo];
+        }
+
+        public long quantidade(int grupo) {
+            return quantidades[grupo];
+        }
+
+        public long valorCentavos(int grupo) {
+            return valoresCentavos[grupo];
+        }
+
+        private int posicao(long chave) {
+            int posicao = posicoes.get(chave);
+            if (posicao != MapaLongInt.AUSENTE) {
+                return posicao;
+            }
+            if (grupos == chaves.length) {
+                int capacidade = grupos * 2;
+                chaves = Arrays.copyOf(chaves, capacidade);
+                quantidades = Arrays.copyOf(quantidades, capacidade);
+                valoresCentavos = Arrays.copyOf(valoresCentavos, capacidade);
+            }
+            chaves[grupos] = chave;
+            posicoes.put(chave, grupos);
+            return grupos++;
+        }
+    }
+
+    /**
+     * Acrescenta linhas em arrays de capacidade fixa; visao() expõe as linhas já escritas
+     * sem copiar. Deve ser usado por uma thread de escrita por vez, e as visões publicadas
+     * por campo volatile (ou outra barreira) para as consultas.
+     */
+    public static final class Construtor {
+        private int tamanho;
+        private final long[] produtos;
+        private final long[] clientes;
+        private final int[] quantidades;
+        private final long[] valoresCentavos;
+        private final int[] dias;
+        private int menorDia = Integer.MAX_VALUE;
+        private int maiorDia = Integer.MIN_VALUE;
+        private boolean ordenadaPorDia = true;
+
+        public Construtor(int capacidade) {
+            produtos = new long[capacidade];
+            clientes = new long[capacidade];
+            quantidades = new int[capacidade];
+            valoresCentavos = new long[capacidade];
+            dias = new int[capacidade];
+        }
+
+        public boolean cheio() {
+            return tamanho == produtos.length;
+        }
+
+        public int tamanho() {
+            return tamanho;
+        }
+
+        public void adicionar(long produtoId, Long clienteId, int quantidade, long valorCentavos, int dia) {
+            if (cheio()) {
+                throw new IllegalStateException("Partição cheia");
+            }
+            produtos[tamanho] = produtoId;
+            clientes[tamanho] = clienteId != null ? clienteId : SEM_CLIENTE;
+            quantidades[tamanho] = quantidade;
+            valoresCentavos[tamanho] = valorCentavos;
+            dias[tamanho] = dia;
+            ordenadaPorDia &= dia >= maiorDia;
+            menorDia = Math.min(menorDia, dia);
+            maiorDia = Math.max(maiorDia, dia);
+            tamanho++;
+        }
+
+        public ParticaoVendas visao() {
+            return new ParticaoVendas(this);
+        }
+    }
+}
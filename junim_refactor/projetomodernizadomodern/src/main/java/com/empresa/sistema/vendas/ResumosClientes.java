@@ -0,0 +1,197 @@
+package com.empresa.sistema.vendas;
+
+import com.empresa.sistema.entity.Vendas;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Manutenção do resumo de compras por cliente (clientes_resumo) e das quantidades por
+ * cliente e produto (clientes_produtos) de que sai o favorito. Chamado por ResumosVendas
+ * na transação do lote. O favorito só troca quando outro produto passa a quantidade do
+ * atual; na reconstrução, empates ficam com o menor id. Vendas sem cliente não entram.
+ */
+@Component
+public class ResumosClientes {
+
+    private static final Logger log = LoggerFactory.getLogger(ResumosClientes.class);
+
+    // Faixas de ids por linha de execução na reconstrução, para equilibrar faixas desiguais
+    private static final int FAIXAS_POR_LINHA = 4;
+
+    private static final String SQL_MERGE_PRODUTO =
+            "MERGE INTO clientes_produtos r " +
+            "USING (VALUES (CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT))) AS s (cliente_id, produto_id, quantidade) " +
+            "ON r.cliente_id = s.cliente_id AND r.produto_id = s.produto_id " +
+            "WHEN MATCHED THEN UPDATE SET quantidade = r.quantidade + s.quantidade " +
+            "WHEN NOT MATCHED THEN INSERT (cliente_id, produto_id, quantidade) VALUES (s.cliente_id, s.produto_id, s.quantidade)";
+
+    private static final String SQL_MERGE_RESUMO =
+            "MERGE INTO clientes_resumo r " +
+            "USING (VALUES (CAST(? AS BIGINT), CAST(? AS NUMERIC(38, 2)), CAST(? AS BIGINT), CAST(? AS TIMESTAMP))) " +
+            "AS s (cliente_id, total_gasto, compras, ultima_compra) " +
+            "ON r.cliente_id = s.cliente_id " +
+            "WHEN MATCHED THEN UPDATE SET total_gasto = r.total_gasto + s.total_gasto, compras = r.compras + s.compras, " +
+            "ultima_compra = GREATEST(r.ultima_compra, s.ultima_compra) " +
+            "WHEN NOT MATCHED THEN INSERT (cliente_id, total_gasto, compras, ultima_compra, quantidade_favorito) " +
+            "VALUES (s.cliente_id, s.total_gasto, s.compras, s.ultima_compra, 0)";
+
+    // Executado por par (cliente, produto) do lote, em ordem: compara com o favorito já atualizado
+    private static final String SQL_FAVORITO =
+            "UPDATE clientes_resumo r SET produto_favorito = ?, quantidade_favorito = " +
+            "(SELECT p.quantidade FROM clientes_produtos p WHERE p.cliente_id = r.cliente_id AND p.produto_id = ?) " +
+            "WHERE r.cliente_id = ? AND r.quantidade_favorito < " +
+            "(SELECT p.quantidade FROM clientes_produtos p WHERE p.cliente_id = r.cliente_id AND p.produto_id = ?)";
+
+    private static final String SQL_LIMPEZA_PRODUTOS = "DELETE FROM clientes_produtos WHERE cliente_id BETWEEN ? AND ?";
+
+    private static final String SQL_LIMPEZA_RESUMO = "DELETE FROM clientes_resumo WHERE cliente_id BETWEEN ? AND ?";
+
+    private static final String SQL_RECALCULO_PRODUTOS =
+            "INSERT INTO clientes_produtos (cliente_id, produto_id, quantidade) " +
+            "SELECT cliente_id, produto_id, SUM(quantidade) FROM vendas " +
+            "WHERE cliente_id BETWEEN ? AND ? GROUP BY cliente_id, produto_id";
+
+    // As linhas de um cupom têm a mesma data_venda
+    private static final String SQL_RECALCULO_RESUMO =
+            "INSERT INTO clientes_resumo (cliente_id, total_gasto, compras, ultima_compra, quantidade_favorito) " +
+            "SELECT cliente_id, SUM(valor_total), COUNT(DISTINCT data_venda), MAX(data_venda), 0 FROM vendas " +
+            "WHERE cliente_id BETWEEN ? AND ? GROUP BY cliente_id";
+
+    private static final String SQL_RECALCULO_FAVORITO =
+            "UPDATE clientes_resumo r SET " +
+            "produto_favorito = (SELECT p.produto_id FROM clientes_produtos p WHERE p.cliente_id = r.cliente_id " +
+            "ORDER BY p.quantidade DESC, p.produto_id FETCH FIRST 1 ROW ONLY), " +
+            "quantidade_favorito = (SELECT MAX(p.quantidade) FROM clientes_produtos p WHERE p.cliente_id = r.cliente_id) " +
+            "WHERE r.cliente_id BETWEEN ? AND ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Transações simultâneas na reconstrução; cada uma ocupa uma conexão do pool
+    @Value("${app.clientes-resumo.paralelismo:4}")
+    private int paralelismo;
+
+    private record Totais(BigDecimal totalGasto, long compras, LocalDateTime ultimaCompra) {
+        Totais somar(BigDecimal valor, long cupons, LocalDateTime data) {
+            return new Totais(totalGasto.add(valor), compras + cupons, data.isAfter(ultimaCompra) ? data : ultimaCompra);
+        }
+    }
+
+    /**
+     * Soma os cupons aos resumos dos clientes; deve ser chamado na transação que grava as vendas
+     */
+    public void aplicar(List<List<Vendas>> cupons) {
+        Map<Long, Totais> resumos = new HashMap<>();
+        Map<List<Long>, Long> quantidades = new HashMap<>();
+        for (List<Vendas> cupom : cupons) {
+            Long clienteId = cupom.get(0).getClienteId();
+            if (clienteId == null) {
+                continue;
+            }
+            BigDecimal valor = BigDecimal.ZERO;
+            for (Vendas venda : cupom) {
+                valor = valor.add(venda.getValorTotal());
+                quantidades.merge(List.of(clienteId, venda.getProdutoId()), (long) venda.getQuantidade(), Long::sum);
+            }
+            LocalDateTime data = cupom.get(0).getDataVenda();
+            Totais atual = resumos.get(clienteId);
+            resumos.put(clienteId, atual == null ? new Totais(valor, 1, data) : atual.somar(valor, 1, data));
+        }
+        if (resumos.isEmpty()) {
+            return;
+        }
+        List<Object[]> produtos = new ArrayList<>(quantidades.size());
+        List<Object[]> favoritos = new ArrayList<>(quantidades.size());
+        quantidades.forEach((chave, quantidade) -> {
+            produtos.add(new Object[] {chave.get(0), chave.get(1), quantidade});
+            favoritos.add(new Object[] {chave.get(1), chave.get(1), chave.get(0), chave.get(1)});
+        });
+        List<Object[]> totais = new ArrayList<>(resumos.size());
+        resumos.forEach((clienteId, total) -> totais.add(new Object[] {clienteId, total.totalGasto(), total.compras(),
+                Timestamp.valueOf(total.ultimaCompra())}));
+        jdbcTemplate.batchUpdate(SQL_MERGE_PRODUTO, produtos);
+        jdbcTemplate.batchUpdate(SQL_MERGE_RESUMO, totais);
+        jdbcTemplate.batchUpdate(SQL_FAVORITO, favoritos);
+    }
+
+    /**
+     * Refaz os resumos a partir das vendas, dividindo os clientes em faixas de id recalculadas
+     * em paralelo. Cada faixa apaga e recalcula os seus resumos na mesma transação, então as
+     * consultas veem, para cada cliente, o resumo anterior ou o novo, nunca a falta dele; a
+     * primeira e a última faixa apagam também os ids abaixo e acima dos clientes com vendas.
+     * Deve ser chamado com o gravador bloqueado (ResumosVendas.reconstruirClientes).
+     */
+    public void reconstruir() {
+        long inicio = System.nanoTime();
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Map<String, Object> limites = jdbcTemplate.queryForMap("SELECT MIN(cliente_id) AS menor, MAX(cliente_id) AS maior FROM vendas");
+        if (limites.get("menor") == null) {
+            transacao.executeWithoutResult(status -> limpar(Long.MIN_VALUE, Long.MAX_VALUE));
+            return;
+        }
+        long menor = ((Number) limites.get("menor")).longValue();
+        long maior = ((Number) limites.get("maior")).longValue();
+        int faixas = (int) Math.min(paralelismo * FAIXAS_POR_LINHA, maior - menor + 1);
+        long largura = (maior - menor) / faixas + 1;
+        List<Callable<Void>> tarefas = new ArrayList<>(faixas);
+        for (long de = menor; de <= maior; de += largura) {
+            long desde = de;
+            long ate = Math.min(maior, de + largura - 1);
+            long limpezaDesde = desde == menor ? Long.MIN_VALUE : desde;
+            long limpezaAte = ate == maior ? Long.MAX_VALUE : ate;
+            tarefas.add(() -> {
+                transacao.executeWithoutResult(status -> {
+                    limpar(limpezaDesde, limpezaAte);
+                    jdbcTemplate.update(SQL_RECALCULO_PRODUTOS, desde, ate);
+                    jdbcTemplate.update(SQL_RECALCULO_RESUMO, desde, ate);
+                    jdbcTemplate.update(SQL_RECALCULO_FAVORITO, desde, ate);
+                });
+                return null;
+            });
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(paralelismo);
+        try {
+            for (Future<Void> faixa : executor.invokeAll(tarefas)) {
+                faixa.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Reconstrução dos resumos de clientes interrompida", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException causa ? causa : new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        log.info("Resumos de clientes reconstruídos em {} faixas em {} ms", tarefas.size(),
+                (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    private void limpar(long desde, long ate) {
+        jdbcTemplate.update(SQL_LIMPEZA_RESUMO, desde, ate);
+        jdbcTemplate.update(SQL_LIMPEZA_PRODUTOS, desde, ate);
+    }
+}
@@ -0,0 +1,189 @@
+package com.empresa.sistema.vendas;
+
+import com.empresa.sistema.entity.Vendas;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Manutenção dos resumos de vendas por produto e dia (vendas_diarias) e por produto e
+ * mês (vendas_mensais). Cada lote gravado soma seus totais aos resumos na mesma
+ * transação, com um MERGE por chave distinta do lote, de modo que resumo e vendas nunca
+ * divergem. Os esboços de clientes distintos por produto e dia (ClientesDistintos) e os
+ * resumos por cliente (ResumosClientes) seguem o mesmo caminho, e a cópia colunar das
+ * vendas (AgregadorVendas) e os produtos comprados junto (CompradosJunto) recebem o lote
+ * após o commit. A reconciliação recalcula
+ * os resumos por produto a partir das vendas, com o gravador bloqueado durante a troca.
+ */
+@Component
+public class ResumosVendas {
+
+    private static final Logger log = LoggerFactory.getLogger(ResumosVendas.class);
+
+    private static final String SQL_MERGE_DIARIO =
+            "MERGE INTO vendas_diarias r " +
+            "USING (VALUES (CAST(? AS BIGINT), CAST(? AS DATE), CAST(? AS BIGINT), CAST(? AS NUMERIC(38, 2)))) " +
+            "AS s (produto_id, dia, quantidade, valor_total) " +
+            "ON r.produto_id = s.produto_id AND r.dia = s.dia " +
+            "WHEN MATCHED THEN UPDATE SET quantidade = r.quantidade + s.quantidade, valor_total = r.valor_total + s.valor_total " +
+            "WHEN NOT MATCHED THEN INSERT (produto_id, dia, quantidade, valor_total) " +
+            "VALUES (s.produto_id, s.dia, s.quantidade, s.valor_total)";
+
+    private static final String SQL_MERGE_MENSAL =
+            "MERGE INTO vendas_mensais r " +
+            "USING (VALUES (CAST(? AS BIGINT), CAST(? AS INTEGER), CAST(? AS BIGINT), CAST(? AS NUMERIC(38, 2)))) " +
+            "AS s (produto_id, mes, quantidade, valor_total) " +
+            "ON r.produto_id = s.produto_id AND r.mes = s.mes " +
+            "WHEN MATCHED THEN UPDATE SET quantidade = r.quantidade + s.quantidade, valor_total = r.valor_total + s.valor_total " +
+            "WHEN NOT MATCHED THEN INSERT (produto_id, mes, quantidade, valor_total) " +
+            "VALUES (s.produto_id, s.mes, s.quantidade, s.valor_total)";
+
+    private static final String SQL_RECALCULO_DIARIO =
+            "INSERT INTO vendas_diarias (produto_id, dia, quantidade, valor_total) " +
+            "SELECT produto_id, CAST(data_venda AS DATE), SUM(quantidade), SUM(valor_total) " +
+            "FROM vendas GROUP BY produto_id, CAST(data_venda AS DATE)";
+
+    // Os meses saem dos dias já recalculados, que são bem menos linhas que as vendas
+    private static final String SQL_RECALCULO_MENSAL =
+            "INSERT INTO vendas_mensais (produto_id, mes, quantidade, valor_total) " +
+            "SELECT produto_id, EXTRACT(YEAR FROM dia) * 100 + EXTRACT(MONTH FROM dia), SUM(quantidade), SUM(valor_total) " +
+            "FROM vendas_diarias GROUP BY produto_id, EXTRACT(YEAR FROM dia) * 100 + EXTRACT(MONTH FROM dia)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ClientesDistintos clientesDistintos;
+
+    @Autowired
+    private ResumosClientes resumosClientes;
+
+    @Autowired
+    private AgregadorVendas agregadorVendas;
+
+    @Autowired
+    private CompradosJunto compradosJunto;
+
+    // Gravação de lotes e reconciliação são mutuamente exclusivas
+    private final ReentrantLock trava = new ReentrantLock();
+
+    private record Totais(long quantidade, BigDecimal valorTotal) {
+        Totais somar(Vendas venda) {
+            return new Totais(quantidade + venda.getQuantidade(), valorTotal.add(venda.getValorTotal()));
+        }
+    }
+
+    /**
+     * Executa a gravação de um lote sem reconciliação concorrente
+     */
+    public void executarExclusivo(Runnable gravacao) {
+        trava.lock();
+        try {
+            gravacao.run();
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Soma os cupons aos resumos; deve ser chamado na transação que grava as vendas
+     */
+    public void aplicar(List<List<Vendas>> cupons) {
+        List<Vendas> vendas = new ArrayList<>();
+        cupons.forEach(vendas::addAll);
+        Map<List<Object>, Totais> diarios = new HashMap<>();
+        Map<List<Object>, Totais> mensais = new HashMap<>();
+        Totais zero = new Totais(0, BigDecimal.ZERO);
+        for (Vendas venda : vendas) {
+            LocalDate dia = venda.getDataVenda().toLocalDate();
+            diarios.merge(List.of(venda.getProdutoId(), dia), zero.somar(venda), ResumosVendas::somar);
+            mensais.merge(List.of(venda.getProdutoId(), mes(dia)), zero.somar(venda), ResumosVendas::somar);
+        }
+        jdbcTemplate.batchUpdate(SQL_MERGE_DIARIO, argumentos(diarios));
+        jdbcTemplate.batchUpdate(SQL_MERGE_MENSAL, argumentos(mensais));
+        clientesDistintos.aplicar(vendas);
+        resumosClientes.aplicar(cupons);
+        agregadorVendas.aplicar(cupons);
+        compradosJunto.aplicar(cupons);
+    }
+
+    /**
+     * Recalcula os resumos a partir das vendas, em uma transação
+     */
+    @Scheduled(cron = "${app.relatorios.reconciliacao:0 30 3 * * *}")
+    public void reconciliar() {
+        long inicio = System.nanoTime();
+        executarExclusivo(() -> {
+            TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+            transacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            transacao.executeWithoutResult(status -> {
+                jdbcTemplate.update("DELETE FROM vendas_mensais");
+                jdbcTemplate.update("DELETE FROM vendas_diarias");
+                jdbcTemplate.update(SQL_RECALCULO_DIARIO);
+                jdbcTemplate.update(SQL_RECALCULO_MENSAL);
+                clientesDistintos.recalcular();
+            });
+        });
+        log.info("Resumos de vendas reconciliados em {} ms", (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Refaz os resumos por cliente a partir das vendas, com o gravador bloqueado
+     */
+    public void reconstruirClientes() {
+        executarExclusivo(resumosClientes::reconstruir);
+    }
+
+    /**
+     * Recarrega a cópia colunar das vendas; o gravador só fica bloqueado para fixar o ponto de leitura
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruirAgregador() {
+        agregadorVendas.reconstruir(this::executarExclusivo);
+    }
+
+    /**
+     * Recalcula os produtos comprados junto; o gravador só fica bloqueado para fixar o ponto de leitura
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruirCompradosJunto() {
+        compradosJunto.reconstruir(this::executarExclusivo);
+    }
+
+    /**
+     * Mês no formato AAAAMM usado em vendas_mensais
+     */
+    public static int mes(LocalDate data) {
+        return data.getYear() * 100 + data.getMonthValue();
+    }
+
+    private static Totais somar(Totais a, Totais b) {
+        return new Totais(a.quantidade() + b.quantidade(), a.valorTotal().add(b.valorTotal()));
+    }
+
+    private static List<Object[]> argumentos(Map<List<Object>, Totais> totais) {
+        List<Object[]> argumentos = new ArrayList<>(totais.size());
+        totais.forEach((chave, total) ->
+                argumentos.add(new Object[] {chave.get(0), chave.get(1), total.quantidade(), total.valorTotal()}));
+        return argumentos;
+    }
+}
@@ -0,0 +1,16 @@
+package com.empresa;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Sobe o contexto completo: falhas de configuração (propriedades, agendamentos, beans)
+ * só aparecem na inicialização
+ */
+@SpringBootTest
+public class ApplicationTest {
+
+    @Test
+    public void contextoInicializa() {
+    }
+}
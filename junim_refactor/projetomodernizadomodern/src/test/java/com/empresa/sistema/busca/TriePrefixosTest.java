@@ -0,0 +1,70 @@
+package com.empresa.sistema.busca;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TriePrefixosTest {
+
+    private TriePrefixos trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new TriePrefixos(3);
+        trie.colocar(1L, "Arroz Tio João");
+        trie.colocar(2L, "Arroz Integral");
+        trie.colocar(3L, "Açúcar Cristal");
+        trie.colocar(4L, "Feijão Preto");
+    }
+
+    private List<Long> ids(String prefixo, int limite) {
+        return trie.sugerir(prefixo, limite).stream().map(TriePrefixos.Entrada::id).toList();
+    }
+
+    @Test
+    void testSugereIgnorandoCaixaEAcentos() {
+        assertEquals(List.of(3L), ids("acu", 10));
+        assertEquals(List.of(2L, 1L), ids("ARROZ", 10));
+    }
+
+    @Test
+    void testSugerePorPalavraInterna() {
+        assertEquals(List.of(1L), ids("joao", 10));
+        assertEquals(List.of(4L), ids("pre", 10));
+    }
+
+    @Test
+    void testOrdenaPorPopularidadeERespeitaCapacidade() {
+        trie.ajustarPopularidade(1L, 5);
+        assertEquals(List.of(1L, 2L), ids("arroz", 10));
+
+        trie.colocar(5L, "Arroz Parboilizado", 1);
+        trie.colocar(6L, "Arroz Arbóreo", 1);
+        assertEquals(List.of(1L, 6L, 5L), ids("a", 10));
+        assertEquals(List.of(1L), ids("a", 1));
+    }
+
+    @Test
+    void testRemoverRecalculaMelhoresEPodaNos() {
+        trie.colocar(5L, "Arroz Parboilizado", 1);
+        trie.colocar(6L, "Arroz Arbóreo", 1);
+        trie.remover(6L);
+
+        assertEquals(List.of(5L, 2L, 1L), ids("a", 10));
+        assertTrue(ids("arb", 10).isEmpty());
+        assertEquals(5, trie.tamanho());
+    }
+
+    @Test
+    void testRenomearPreservaPopularidade() {
+        trie.ajustarPopularidade(4L, 7);
+        trie.colocar(4L, "Feijão Carioca");
+
+        assertTrue(ids("feijao p", 10).isEmpty());
+        assertEquals(List.of(4L), ids("cari", 10));
+        assertEquals(7, trie.popularidade(4L));
+    }
+}
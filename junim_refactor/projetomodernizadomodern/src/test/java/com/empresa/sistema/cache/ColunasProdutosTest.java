@@ -0,0 +1,57 @@
+package com.empresa.sistema.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColunasProdutosTest {
+
+    private static ColunasProdutos catalogo() {
+        ColunasProdutos.Construtor construtor = new ColunasProdutos.Construtor();
+        // 200 produtos: pares ativos, preço i reais, estoque i % 10; o último sem preço
+        for (int i = 1; i <= 200; i++) {
+            construtor.adicionar(i, "Produto " + (i % 7), i < 200 ? BigDecimal.valueOf(i) : null, i % 10, i % 2 == 0);
+        }
+        return construtor.construir();
+    }
+
+    @Test
+    void testContarPorStatus() {
+        ColunasProdutos colunas = catalogo();
+        assertEquals(200, colunas.contar(new ColunasProdutos.Filtro(null, null, null, null)));
+        assertEquals(100, colunas.contar(new ColunasProdutos.Filtro(true, null, null, null)));
+        assertEquals(100, colunas.contar(new ColunasProdutos.Filtro(false, null, null, null)));
+        assertEquals(7, colunas.nomesDistintos());
+    }
+
+    @Test
+    void testEstatisticasComFaixasDePreco() {
+        ColunasProdutos colunas = catalogo();
+        ColunasProdutos.Estatisticas estatisticas = colunas.estatisticas(
+                new ColunasProdutos.Filtro(true, 1000L, 5000L, null), new long[] {2000, 4000});
+
+        // Ativos (pares) de 10 a 50 reais: 10, 12, ..., 50
+        assertEquals(21, estatisticas.quantidade());
+        assertEquals(1000, estatisticas.precoMinimoCentavos());
+        assertEquals(5000, estatisticas.precoMaximoCentavos());
+        assertArrayEquals(new long[] {5, 10, 6}, estatisticas.porFaixa());
+    }
+
+    @Test
+    void testLinhasComEstoqueBaixo() {
+        ColunasProdutos colunas = catalogo();
+        ColunasProdutos.Filtro semEstoque = new ColunasProdutos.Filtro(true, null, null, 0);
+
+        int[] linhas = colunas.linhas(semEstoque, 3);
+        assertEquals(3, linhas.length);
+        assertEquals(10, colunas.id(linhas[0]));
+        assertEquals(20, colunas.id(linhas[1]));
+        assertEquals("Produto 3", colunas.nome(linhas[0]));
+
+        int[] todas = colunas.linhas(semEstoque, 100);
+        assertEquals(20, todas.length);
+        assertEquals(ColunasProdutos.SEM_PRECO, colunas.precoCentavos(todas[19]));
+    }
+}
@@ -0,0 +1,44 @@
+package com.empresa.sistema.controller;
+
+import com.empresa.sistema.dto.EstatisticasCache;
+import com.empresa.sistema.service.CacheService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import java.util.List;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(CacheAdminController.class)
+public class CacheAdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @MockBean
+    private CacheService service;
+    
+    @Test
+    public void testListarEstatisticas() throws Exception {
+        when(service.buscarEstatisticas())
+                .thenReturn(List.of(new EstatisticasCache("produtos", 9L, 1L, 1L, 0L, 0L, 90.0f)));
+        
+        mockMvc.perform(get("/api/admin/cache"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[0].regiao").value("produtos"))
+               .andExpect(jsonPath("$[0].acertos").value(9));
+    }
+    
+    @Test
+    public void testLimparAplicacao() throws Exception {
+        mockMvc.perform(delete("/api/admin/cache/aplicacao"))
+               .andExpect(status().isNoContent());
+        verify(service).limparAplicacao();
+    }
+}
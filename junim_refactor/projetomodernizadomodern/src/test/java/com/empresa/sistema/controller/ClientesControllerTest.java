@@ -1,12 +1,20 @@
 package com.empresa.sistema.controller;
 
+import com.empresa.sistema.dto.AssinaturaColecao;
+import com.empresa.sistema.dto.ResumoComprasCliente;
 import com.empresa.sistema.service.ClientesService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ClientesController.class)
@@ -18,9 +26,28 @@ public class ClientesControllerTest {
     @MockBean
     private ClientesService service;
     
+    @BeforeEach
+    public void setUp() {
+        when(service.buscarAssinatura()).thenReturn(new AssinaturaColecao(0L, 0L, 0L));
+    }
+    
     @Test
     public void testListarTodos() throws Exception {
         mockMvc.perform(get("/api/clientes"))
                .andExpect(status().isOk());
     }
-}
\ No newline at end of file
+    
+    @Test
+    public void testBuscarResumoCompras() throws Exception {
+        when(service.buscarResumoCompras(3L)).thenReturn(Optional.of(new ResumoComprasCliente(3L, new BigDecimal("149.90"),
+                4L, LocalDateTime.of(2026, 5, 10, 14, 30), 8L, "Café")));
+        when(service.buscarResumoCompras(99L)).thenReturn(Optional.empty());
+        
+        mockMvc.perform(get("/api/clientes/3/resumo"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.compras").value(4))
+               .andExpect(jsonPath("$.produtoFavoritoNome").value("Café"));
+        mockMvc.perform(get("/api/clientes/99/resumo"))
+               .andExpect(status().isNotFound());
+    }
+}
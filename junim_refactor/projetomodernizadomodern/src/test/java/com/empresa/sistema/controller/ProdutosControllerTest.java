@@ -0,0 +1,119 @@
+package com.empresa.sistema.controller;
+
+import com.empresa.sistema.dto.AssinaturaColecao;
+import com.empresa.sistema.dto.ProdutoCompradoJunto;
+import com.empresa.sistema.entity.Produtos;
+import com.empresa.sistema.service.ProdutosService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.web.servlet.MockMvc;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ProdutosController.class)
+public class ProdutosControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @MockBean
+    private ProdutosService service;
+    
+    @BeforeEach
+    public void setUp() {
+        when(service.buscarAssinatura()).thenReturn(new AssinaturaColecao(0L, 0L, 0L));
+    }
+    
+    @Test
+    public void testListarTodos() throws Exception {
+        mockMvc.perform(get("/api/produtos"))
+               .andExpect(status().isOk());
+    }
+    
+    @Test
+    public void testListarTodosNaoModificado() throws Exception {
+        mockMvc.perform(get("/api/produtos").header("If-None-Match", "\"0-0-0\""))
+               .andExpect(status().isNotModified());
+    }
+    
+    @Test
+    public void testAtualizarParcial() throws Exception {
+        Produtos produto = new Produtos();
+        produto.setId(1L);
+        produto.setVersao(3L);
+        when(service.aplicarPatch(eq(1L), any(Map.class))).thenReturn(Optional.of(produto));
+        
+        mockMvc.perform(patch("/api/produtos/1")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"estoque\": 12}"))
+               .andExpect(status().isOk())
+               .andExpect(header().string("ETag", "\"1-3\""));
+    }
+    
+    @Test
+    public void testAtualizarParcialNaoEncontrado() throws Exception {
+        when(service.aplicarPatch(eq(9L), any(Map.class))).thenReturn(Optional.empty());
+        
+        mockMvc.perform(patch("/api/produtos/9")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"preco\": 10.5}"))
+               .andExpect(status().isNotFound());
+    }
+    
+    @Test
+    public void testAtualizarComIfMatchDesatualizado() throws Exception {
+        when(service.salvar(argThat(p -> Long.valueOf(2L).equals(p.getVersao()))))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Produtos.class, 1L));
+        
+        mockMvc.perform(put("/api/produtos/1")
+                        .header("If-Match", "\"1-2\"")
+                        .contentType("application/json")
+                        .content("{\"nome\": \"Arroz\", \"preco\": 10.5}"))
+               .andExpect(status().isPreconditionFailed());
+    }
+    
+    @Test
+    public void testAjustarEstoque() throws Exception {
+        Produtos produto = new Produtos();
+        produto.setId(1L);
+        produto.setVersao(4L);
+        produto.setEstoque(7);
+        when(service.ajustarEstoque(1L, -3)).thenReturn(Optional.of(produto));
+        
+        mockMvc.perform(post("/api/produtos/1/estoque")
+                        .contentType("application/json")
+                        .content("{\"quantidade\": -3}"))
+               .andExpect(status().isOk())
+               .andExpect(header().string("ETag", "\"1-4\""));
+    }
+    
+    @Test
+    public void testBuscarCompradosJunto() throws Exception {
+        when(service.buscarCompradosJunto(1L, 5))
+                .thenReturn(Optional.of(List.of(new ProdutoCompradoJunto(2L, "Feijão", 42))));
+        when(service.buscarCompradosJunto(99L, 5)).thenReturn(Optional.empty());
+        
+        mockMvc.perform(get("/api/produtos/1/comprados-junto"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[0].id").value(2))
+               .andExpect(jsonPath("$[0].cupons").value(42));
+        mockMvc.perform(get("/api/produtos/99/comprados-junto"))
+               .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,90 @@
+package com.empresa.sistema.controller;
+
+import com.empresa.sistema.dto.ClientesDistintosPeriodo;
+import com.empresa.sistema.dto.ResumoVendasPeriodo;
+import com.empresa.sistema.dto.TotalVendas;
+import com.empresa.sistema.service.RelatoriosService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(RelatoriosController.class)
+public class RelatoriosControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @MockBean
+    private RelatoriosService service;
+    
+    @Test
+    public void testBuscarMensal() throws Exception {
+        when(service.buscarMensal(7L, YearMonth.of(2026, 1), YearMonth.of(2026, 3)))
+                .thenReturn(List.of(new ResumoVendasPeriodo(7L, "2026-02", 12L, new BigDecimal("240.00"))));
+        
+        mockMvc.perform(get("/api/relatorios/vendas/mensal")
+                        .param("produtoId", "7")
+                        .param("inicio", "2026-01")
+                        .param("fim", "2026-03"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[0].periodo").value("2026-02"))
+               .andExpect(jsonPath("$[0].quantidade").value(12));
+    }
+    
+    @Test
+    public void testBuscarDiarioIntervaloInvalido() throws Exception {
+        when(service.buscarDiario(eq(7L), any(), any()))
+                .thenThrow(new IllegalArgumentException("Intervalo inválido"));
+        
+        mockMvc.perform(get("/api/relatorios/vendas/diario")
+                        .param("produtoId", "7")
+                        .param("inicio", "2026-03-01")
+                        .param("fim", "2026-01-01"))
+               .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    public void testBuscarClientesDistintosPorSemana() throws Exception {
+        when(service.buscarClientesDistintos(7L, "semana", LocalDate.of(2026, 1, 5), LocalDate.of(2026, 1, 18)))
+                .thenReturn(List.of(new ClientesDistintosPeriodo(7L, "2026-W02", 130L, 0.016),
+                        new ClientesDistintosPeriodo(7L, "2026-W03", 98L, 0.016)));
+        
+        mockMvc.perform(get("/api/relatorios/vendas/clientes-distintos")
+                        .param("produtoId", "7")
+                        .param("agrupamento", "semana")
+                        .param("inicio", "2026-01-05")
+                        .param("fim", "2026-01-18"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[1].periodo").value("2026-W03"))
+               .andExpect(jsonPath("$[1].clientes").value(98));
+    }
+    
+    @Test
+    public void testAgregarVendasPorProduto() throws Exception {
+        when(service.agregarVendas("produto", LocalDate.of(2026, 1, 1), LocalDate.of(2026, 3, 31), null, 12L, 2))
+                .thenReturn(List.of(new TotalVendas("7", 30L, new BigDecimal("900.00")),
+                        new TotalVendas("3", 4L, new BigDecimal("120.00"))));
+        
+        mockMvc.perform(get("/api/relatorios/vendas/agregado")
+                        .param("agrupamento", "produto")
+                        .param("inicio", "2026-01-01")
+                        .param("fim", "2026-03-31")
+                        .param("clienteId", "12")
+                        .param("tamanho", "2"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[0].grupo").value("7"))
+               .andExpect(jsonPath("$[1].valorTotal").value(120.00));
+    }
+}
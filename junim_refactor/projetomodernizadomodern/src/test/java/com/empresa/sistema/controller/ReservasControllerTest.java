@@ -0,0 +1,55 @@
+package com.empresa.sistema.controller;
+
+import com.empresa.sistema.dto.Reserva;
+import com.empresa.sistema.service.ReservasService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import java.time.Instant;
+import java.util.Optional;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ReservasController.class)
+public class ReservasControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ReservasService service;
+
+    @Test
+    public void testReservar() throws Exception {
+        when(service.reservar(1L, 2))
+                .thenReturn(Optional.of(new Reserva("r1", 1L, 2, Instant.parse("2030-01-01T00:00:00Z"))));
+
+        mockMvc.perform(post("/api/reservas")
+                        .contentType("application/json")
+                        .content("{\"produtoId\": 1, \"quantidade\": 2}"))
+               .andExpect(status().isCreated())
+               .andExpect(jsonPath("$.id").value("r1"));
+    }
+
+    @Test
+    public void testReservarSemSaldo() throws Exception {
+        when(service.reservar(1L, 50)).thenThrow(new IllegalStateException("Estoque insuficiente"));
+
+        mockMvc.perform(post("/api/reservas")
+                        .contentType("application/json")
+                        .content("{\"produtoId\": 1, \"quantidade\": 50}"))
+               .andExpect(status().isConflict());
+    }
+
+    @Test
+    public void testConfirmarInexistente() throws Exception {
+        when(service.confirmar("r9")).thenReturn(false);
+
+        mockMvc.perform(post("/api/reservas/r9/confirmacao"))
+               .andExpect(status().isNotFound());
+    }
+}
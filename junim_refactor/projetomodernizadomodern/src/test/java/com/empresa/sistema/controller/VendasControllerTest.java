@@ -0,0 +1,49 @@
+package com.empresa.sistema.controller;
+
+import com.empresa.sistema.dto.RegistroVenda;
+import com.empresa.sistema.dto.ResultadoVenda;
+import com.empresa.sistema.service.VendasService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(VendasController.class)
+public class VendasControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @MockBean
+    private VendasService service;
+    
+    @Test
+    public void testRegistrar() throws Exception {
+        when(service.registrar(any(RegistroVenda.class)))
+                .thenReturn(new ResultadoVenda(2, new BigDecimal("31.50"), LocalDateTime.of(2026, 1, 5, 10, 0)));
+        
+        mockMvc.perform(post("/api/vendas")
+                        .contentType("application/json")
+                        .content("{\"clienteId\": 1, \"itens\": [{\"produtoId\": 2, \"quantidade\": 3}, {\"produtoId\": 5, \"quantidade\": 1}]}"))
+               .andExpect(status().isCreated())
+               .andExpect(jsonPath("$.itens").value(2));
+    }
+    
+    @Test
+    public void testRegistrarComFilaCheia() throws Exception {
+        when(service.registrar(any(RegistroVenda.class))).thenThrow(new IllegalStateException("Fila de gravação de vendas cheia"));
+        
+        mockMvc.perform(post("/api/vendas")
+                        .contentType("application/json")
+                        .content("{\"itens\": [{\"produtoId\": 2, \"quantidade\": 3}]}"))
+               .andExpect(status().isServiceUnavailable());
+    }
+}
@@ -0,0 +1,87 @@
+package com.empresa.sistema.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContadorFaixasTest {
+
+    @Test
+    void testRetiradaLimitadaAoSaldo() {
+        ContadorFaixas contador = new ContadorFaixas(5);
+
+        assertTrue(contador.tentarRetirar(3));
+        assertFalse(contador.tentarRetirar(3));
+        assertTrue(contador.tentarRetirar(2));
+        assertEquals(0, contador.soma());
+    }
+
+    @Test
+    void testRetiradasConcorrentesNaoUltrapassamOSaldo() throws Exception {
+        ContadorFaixas contador = new ContadorFaixas(10_000);
+        AtomicLong retiradas = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> tarefas = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            tarefas.add(executor.submit(() -> {
+                largada.await();
+                for (int i = 0; i < 5_000; i++) {
+                    if (contador.tentarRetirar(1)) {
+                        retiradas.incrementAndGet();
+                    }
+                    if (i % 10 == 0) {
+                        contador.adicionar(1);
+                        retiradas.decrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        largada.countDown();
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get();
+        }
+        executor.shutdown();
+
+        assertEquals(10_000 - retiradas.get(), contador.soma());
+        assertTrue(contador.soma() >= 0);
+    }
+
+    @Test
+    void testAjusteNegativoComFaixasBloqueiaRetiradas() {
+        ContadorFaixas contador = new ContadorFaixas(100);
+        contador.expandir();
+        contador.adicionar(-100);
+        assertFalse(contador.tentarRetirar(1));
+
+        // Saldo negativo na base e inclusão positiva numa faixa: o total ainda é -30
+        contador.adicionar(-50);
+        contador.adicionar(20);
+        assertFalse(contador.tentarRetirar(1));
+        assertEquals(-30, contador.soma());
+
+        contador.adicionar(40);
+        assertTrue(contador.tentarRetirar(10));
+        assertFalse(contador.tentarRetirar(1));
+        assertEquals(0, contador.soma());
+    }
+
+    @Test
+    void testDrenarZeraOSaldo() {
+        ContadorFaixas contador = new ContadorFaixas(0);
+        contador.adicionar(-4);
+        contador.adicionar(-2);
+
+        assertEquals(-6, contador.drenar());
+        assertEquals(0, contador.soma());
+    }
+}
@@ -0,0 +1,62 @@
+package com.empresa.sistema.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EspacoEconomicoTest {
+
+    @Test
+    void testItensFrequentesSempreSobrevivem() {
+        EspacoEconomico resumo = new EspacoEconomico(20);
+        Random aleatorio = new Random(42);
+        Map<Long, Long> reais = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            // 3 itens somam metade do fluxo; o resto se espalha por 10.000 itens
+            long chave = i % 2 == 0 ? i % 3 : 100 + aleatorio.nextInt(10_000);
+            long peso = 1 + aleatorio.nextInt(3);
+            resumo.adicionar(chave, peso);
+            reais.merge(chave, peso, Long::sum);
+        }
+
+        List<EspacoEconomico.Contagem> topo = resumo.topo(3);
+        assertEquals(List.of(0L, 1L, 2L), topo.stream().map(EspacoEconomico.Contagem::chave).sorted().toList());
+        for (EspacoEconomico.Contagem contagem : resumo.contagens()) {
+            long real = reais.get(contagem.chave());
+            assertTrue(contagem.contagem() >= real);
+            assertTrue(contagem.contagem() - contagem.erro() <= real);
+        }
+        assertEquals(20, resumo.tamanho());
+    }
+
+    @Test
+    void testContagemExataAbaixoDaCapacidade() {
+        EspacoEconomico resumo = new EspacoEconomico(10);
+        resumo.adicionar(7, 5);
+        resumo.adicionar(3, 2);
+        resumo.adicionar(7, 1);
+
+        assertEquals(List.of(new EspacoEconomico.Contagem(7, 6, 0), new EspacoEconomico.Contagem(3, 2, 0)), resumo.topo(5));
+        assertEquals(0, resumo.minimo());
+    }
+
+    @Test
+    void testMapaRemoveSemPerderColisoes() {
+        MapaLongInt mapa = new MapaLongInt(1_000);
+        for (int i = 0; i < 1_000; i++) {
+            mapa.put(i * 1024L, i);
+        }
+        for (int i = 0; i < 1_000; i += 2) {
+            mapa.remove(i * 1024L);
+        }
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(i % 2 == 0 ? MapaLongInt.AUSENTE : i, mapa.get(i * 1024L));
+        }
+        assertEquals(500, mapa.tamanho());
+    }
+}
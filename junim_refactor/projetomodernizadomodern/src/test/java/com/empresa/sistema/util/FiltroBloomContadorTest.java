@@ -0,0 +1,49 @@
+package com.empresa.sistema.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FiltroBloomContadorTest {
+
+    @Test
+    void testSemFalsosNegativos() {
+        FiltroBloomContador filtro = new FiltroBloomContador(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filtro.adicionar("Produto " + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filtro.talvezContenha("Produto " + i));
+        }
+    }
+
+    @Test
+    void testTaxaDeFalsosPositivosProximaDaConfigurada() {
+        FiltroBloomContador filtro = new FiltroBloomContador(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filtro.adicionar("Produto " + i);
+        }
+        int falsosPositivos = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filtro.talvezContenha("Outro " + i)) {
+                falsosPositivos++;
+            }
+        }
+        assertTrue(falsosPositivos < 2_000, "falsos positivos: " + falsosPositivos);
+    }
+
+    @Test
+    void testRemoverPreservaOsDemais() {
+        FiltroBloomContador filtro = new FiltroBloomContador(1_000, 0.01);
+        filtro.adicionar("Arroz");
+        filtro.adicionar("Feijão");
+        filtro.adicionar("Feijão");
+
+        filtro.remover("Arroz");
+        filtro.remover("Feijão");
+        filtro.remover("Nunca adicionado");
+
+        assertFalse(filtro.talvezContenha("Arroz"));
+        assertTrue(filtro.talvezContenha("Feijão"));
+    }
+}
@@ -0,0 +1,58 @@
+package com.empresa.sistema.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HyperLogLogTest {
+
+    @Test
+    void testEstimativaDentroDeTresErrosPadrao() {
+        HyperLogLog esboco = new HyperLogLog();
+        for (long i = 1; i <= 100_000; i++) {
+            esboco.adicionar(i);
+            esboco.adicionar(i);
+        }
+        double erro = Math.abs(esboco.estimativa() - 100_000) / 100_000.0;
+        assertTrue(erro < 3 * esboco.erroRelativo(), "Erro relativo: " + erro);
+    }
+
+    @Test
+    void testFusaoEstimaAUniao() {
+        HyperLogLog a = new HyperLogLog();
+        HyperLogLog b = new HyperLogLog();
+        for (long i = 0; i < 50_000; i++) {
+            a.adicionar(i);
+            b.adicionar(i + 25_000);
+        }
+        a.fundir(b);
+        double erro = Math.abs(a.estimativa() - 75_000) / 75_000.0;
+        assertTrue(erro < 3 * a.erroRelativo(), "Erro relativo: " + erro);
+    }
+
+    @Test
+    void testSerializacaoEsparsaEDensa() {
+        HyperLogLog pequeno = new HyperLogLog();
+        for (long i = 1; i <= 10; i++) {
+            pequeno.adicionar(i);
+        }
+        byte[] esparso = pequeno.paraBytes();
+        assertTrue(esparso.length < 1 + (1 << HyperLogLog.PRECISAO_PADRAO));
+        assertEquals(10, HyperLogLog.deBytes(esparso).estimativa());
+
+        HyperLogLog grande = new HyperLogLog();
+        for (long i = 1; i <= 50_000; i++) {
+            grande.adicionar(i);
+        }
+        byte[] denso = grande.paraBytes();
+        assertEquals(1 + (1 << HyperLogLog.PRECISAO_PADRAO), denso.length);
+        assertEquals(grande.estimativa(), HyperLogLog.deBytes(denso).estimativa());
+    }
+
+    @Test
+    void testAdicionarRepetidoNaoAlteraEsboco() {
+        HyperLogLog esboco = new HyperLogLog();
+        assertTrue(esboco.adicionar(42));
+        assertFalse(esboco.adicionar(42));
+    }
+}
@@ -0,0 +1,68 @@
+package com.empresa.sistema.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatrizCoocorrenciaTest {
+
+    @Test
+    void testVizinhosOrdenadosPorContagem() {
+        MatrizCoocorrencia matriz = new MatrizCoocorrencia(10);
+        matriz.registrarCesta(new long[] {1, 2, 3});
+        matriz.registrarCesta(new long[] {1, 3});
+        matriz.registrarCesta(new long[] {1, 3, 4});
+
+        assertEquals(List.of(new MatrizCoocorrencia.Par(3, 3), new MatrizCoocorrencia.Par(2, 1)), matriz.vizinhos(1, 2));
+        assertEquals(List.of(new MatrizCoocorrencia.Par(1, 1)), matriz.vizinhos(2, 1));
+        assertTrue(matriz.vizinhos(5, 3).isEmpty());
+    }
+
+    @Test
+    void testPodaMantemOsMaisFrequentes() {
+        MatrizCoocorrencia matriz = new MatrizCoocorrencia(5);
+        for (int i = 0; i < 50; i++) {
+            matriz.registrarCesta(new long[] {1, 2});
+            matriz.registrarCesta(new long[] {1, 3});
+        }
+        for (long raro = 100; raro < 10_000; raro++) {
+            matriz.registrarCesta(new long[] {1, raro});
+        }
+
+        List<MatrizCoocorrencia.Par> vizinhos = matriz.vizinhos(1, 10);
+        assertTrue(vizinhos.size() <= 10);
+        assertEquals(new MatrizCoocorrencia.Par(2, 50), vizinhos.get(0));
+        assertEquals(new MatrizCoocorrencia.Par(3, 50), vizinhos.get(1));
+    }
+
+    @Test
+    void testFusaoSomaContagens() {
+        MatrizCoocorrencia a = new MatrizCoocorrencia(10);
+        MatrizCoocorrencia b = new MatrizCoocorrencia(10);
+        a.registrarCesta(new long[] {1, 2});
+        b.registrarCesta(new long[] {1, 2});
+        b.registrarCesta(new long[] {1, 2});
+
+        a.fundir(b);
+
+        assertEquals(List.of(new MatrizCoocorrencia.Par(2, 3)), a.vizinhos(1, 5));
+        assertEquals(2, a.pares());
+    }
+
+    @Test
+    void testMapaCresceAlemDaCapacidadeInicial() {
+        MapaLongInt mapa = new MapaLongInt(4);
+        for (long i = 0; i < 10_000; i++) {
+            mapa.incrementar(i, 2);
+        }
+        for (long i = 0; i < 10_000; i += 2) {
+            mapa.incrementar(i, 1);
+        }
+        assertEquals(10_000, mapa.tamanho());
+        assertEquals(5_000, mapa.removerSe(valor -> valor == 2));
+        assertEquals(3, mapa.get(9_998));
+        assertEquals(MapaLongInt.AUSENTE, mapa.get(9_999));
+    }
+}
@@ -0,0 +1,50 @@
+package com.empresa.sistema.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ConcurrentModificationException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetentativasTest {
+
+    private static final Duration ESPERA = Duration.ofMillis(1);
+
+    @Test
+    void testRepeteAteConseguir() {
+        AtomicInteger chamadas = new AtomicInteger();
+        String resultado = Retentativas.executar(5, ESPERA, ESPERA, ConcurrentModificationException.class, () -> {
+            if (chamadas.incrementAndGet() < 3) {
+                throw new ConcurrentModificationException();
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", resultado);
+        assertEquals(3, chamadas.get());
+    }
+
+    @Test
+    void testPropagaAposEsgotarTentativas() {
+        AtomicInteger chamadas = new AtomicInteger();
+        assertThrows(ConcurrentModificationException.class, () ->
+                Retentativas.executar(4, ESPERA, ESPERA, ConcurrentModificationException.class, () -> {
+                    chamadas.incrementAndGet();
+                    throw new ConcurrentModificationException();
+                }));
+        assertEquals(4, chamadas.get());
+    }
+
+    @Test
+    void testNaoRepeteOutrasFalhas() {
+        AtomicInteger chamadas = new AtomicInteger();
+        assertThrows(IllegalArgumentException.class, () ->
+                Retentativas.executar(4, ESPERA, ESPERA, ConcurrentModificationException.class, () -> {
+                    chamadas.incrementAndGet();
+                    throw new IllegalArgumentException();
+                }));
+        assertEquals(1, chamadas.get());
+    }
+}
@@ -0,0 +1,82 @@
+package com.empresa.sistema.vendas;
+
+import com.empresa.sistema.entity.Vendas;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "app.vendas.espera-maxima=300ms")
+class GravadorVendasTest {
+
+    private static final String SQL_LINHAS = "SELECT COUNT(*) FROM vendas WHERE produto_id = ?";
+
+    @Autowired
+    private GravadorVendas gravador;
+
+    @Autowired
+    private ResumosVendas resumos;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testCupomVencidoNaFilaNaoEGravadoEOReenvioGravaUmaVez() throws Exception {
+        // Segura a trava dos resumos: o gravador toma o primeiro cupom e para na gravação
+        CountDownLatch travado = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        CompletableFuture<Void> trava = CompletableFuture.runAsync(() -> resumos.executarExclusivo(() -> {
+            travado.countDown();
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(travado.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Void> tomado = CompletableFuture.runAsync(() -> gravador.gravar(cupom(900_001L)));
+        // Esperando a fila o gravador fica em TIMED_WAITING; parado na trava, em WAITING.
+        // Outros contextos de teste em cache têm seus gravadores, ociosos
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!gravadorParado() && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+        assertTrue(gravadorParado());
+
+        // Fica na fila além do prazo: cancelado, 503 para o cliente
+        assertThrows(IllegalStateException.class, () -> gravador.gravar(cupom(900_002L)));
+
+        liberar.countDown();
+        trava.get(5, TimeUnit.SECONDS);
+        // O cupom já tomado passou do prazo, mas é aguardado e gravado
+        tomado.get(5, TimeUnit.SECONDS);
+        assertEquals(1, linhas(900_001L));
+
+        // O reenvio do cancelado grava exatamente uma linha
+        gravador.gravar(cupom(900_002L));
+        assertEquals(1, linhas(900_002L));
+    }
+
+    private static List<Vendas> cupom(long produtoId) {
+        return List.of(new Vendas(null, produtoId, 1, new BigDecimal("10.00"), LocalDateTime.now()));
+    }
+
+    private static boolean gravadorParado() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .anyMatch(thread -> thread.getName().equals("gravador-vendas") && thread.getState() == Thread.State.WAITING);
+    }
+
+    private int linhas(long produtoId) {
+        return jdbcTemplate.queryForObject(SQL_LINHAS, Integer.class, produtoId);
+    }
+}
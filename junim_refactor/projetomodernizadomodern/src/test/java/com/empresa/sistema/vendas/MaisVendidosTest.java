@@ -0,0 +1,50 @@
+package com.empresa.sistema.vendas;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MaisVendidosTest {
+
+    private static final Instant INICIO = Instant.parse("2026-01-05T10:00:00Z");
+
+    private MaisVendidos maisVendidos;
+
+    @BeforeEach
+    void setUp() {
+        maisVendidos = new MaisVendidos();
+        ReflectionTestUtils.setField(maisVendidos, "capacidade", 50);
+        maisVendidos.criar();
+        maisVendidos.setRelogio(Clock.fixed(INICIO, ZoneOffset.UTC));
+    }
+
+    @Test
+    void testRankingDaUltimaHora() {
+        maisVendidos.registrar(Map.of(1L, 5L, 2L, 3L));
+        maisVendidos.registrar(Map.of(2L, 4L));
+
+        List<MaisVendidos.Estimativa> ranking = maisVendidos.buscar(MaisVendidos.Janela.HORA, 10);
+
+        assertEquals(List.of(new MaisVendidos.Estimativa(2, 7, 0), new MaisVendidos.Estimativa(1, 5, 0)), ranking);
+    }
+
+    @Test
+    void testVendasSaemDaJanelaDeUmaHoraMasFicamNoDia() {
+        maisVendidos.registrar(Map.of(1L, 5L));
+        maisVendidos.setRelogio(Clock.fixed(INICIO.plusSeconds(61 * 60), ZoneOffset.UTC));
+        maisVendidos.registrar(Map.of(3L, 1L));
+
+        assertEquals(List.of(3L), maisVendidos.buscar(MaisVendidos.Janela.HORA, 10).stream()
+                .map(MaisVendidos.Estimativa::produtoId).toList());
+        assertEquals(List.of(1L, 3L), maisVendidos.buscar(MaisVendidos.Janela.DIA, 10).stream()
+                .map(MaisVendidos.Estimativa::produtoId).toList());
+    }
+}
@@ -0,0 +1,189 @@
+package com.empresa.sistema.vendas;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParticaoVendasTest {
+
+    private static final int DIA_ZERO = 20_000;
+
+    @Test
+    void testTotalDoPeriodoEmParticaoOrdenada() {
+        ParticaoVendas.Construtor construtor = new ParticaoVendas.Construtor(100);
+        // Um dia por linha: quantidade 1, valor igual ao índice
+        for (int i = 0; i < 100; i++) {
+            construtor.adicionar(i % 5, i % 3 == 0 ? null : (long) i % 4, 1, i, DIA_ZERO + i);
+        }
+        ParticaoVendas particao = construtor.visao();
+
+        ParticaoVendas.Consulta consulta = new ParticaoVendas.Consulta(DIA_ZERO + 10, DIA_ZERO + 19, null, null,
+                ParticaoVendas.Agrupamento.TOTAL);
+        ParticaoVendas.Acumulador total = new ParticaoVendas.Acumulador(consulta);
+        particao.acumular(consulta, total);
+        assertEquals(10, total.quantidade(0));
+        assertEquals(145, total.valorCentavos(0));
+        assertTrue(construtor.cheio());
+    }
+
+    @Test
+    void testVisaoNaoVeLinhasPosteriores() {
+        ParticaoVendas.Construtor construtor = new ParticaoVendas.Construtor(10);
+        construtor.adicionar(1, null, 2, 500, DIA_ZERO);
+        ParticaoVendas visao = construtor.visao();
+        construtor.adicionar(1, null, 3, 700, DIA_ZERO);
+
+        ParticaoVendas.Consulta consulta = new ParticaoVendas.Consulta(DIA_ZERO, DIA_ZERO, null, null,
+                ParticaoVendas.Agrupamento.TOTAL);
+        ParticaoVendas.Acumulador total = new ParticaoVendas.Acumulador(consulta);
+        visao.acumular(consulta, total);
+        assertEquals(1, visao.tamanho());
+        assertEquals(2, total.quantidade(0));
+        assertEquals(500, total.valorCentavos(0));
+    }
+
+    @Test
+    void testAgrupamentosConferemComSomaLinhaALinha() {
+        Random aleatorio = new Random(42);
+        int linhas = 5_000;
+        long[][] vendas = new long[linhas][];
+        ParticaoVendas.Construtor ordenada = new ParticaoVendas.Construtor(linhas);
+        ParticaoVendas.Construtor[] embaralhadas = {new ParticaoVendas.Construtor(linhas / 2),
+                new ParticaoVendas.Construtor(linhas / 2)};
+        for (int i = 0; i < linhas; i++) {
+            long produto = aleatorio.nextInt(50);
+            long cliente = aleatorio.nextInt(4) == 0 ? ParticaoVendas.SEM_CLIENTE : aleatorio.nextInt(20);
+            int quantidade = 1 + aleatorio.nextInt(5);
+            long valor = quantidade * (100L + aleatorio.nextInt(10_000));
+            vendas[i] = new long[] {produto, cliente, quantidade, valor, DIA_ZERO + i / 50};
+        }
+        for (int i = 0; i < linhas; i++) {
+            long[] venda = vendas[i];
+            Long cliente = venda[1] == ParticaoVendas.SEM_CLIENTE ? null : venda[1];
+            ordenada.adicionar(venda[0], cliente, (int) venda[2], venda[3], (int) venda[4]);
+            // Outra ordem, em duas partições: dias fora de ordem obrigam a comparar cada linha
+            long[] outra = vendas[(i * 7919) % linhas];
+            embaralhadas[i % 2].adicionar(outra[0], outra[1] == ParticaoVendas.SEM_CLIENTE ? null : outra[1],
+                    (int) outra[2], outra[3], (int) outra[4]);
+        }
+        for (ParticaoVendas.Agrupamento agrupamento : ParticaoVendas.Agrupamento.values()) {
+            for (Long[] filtro : new Long[][] {{null, null}, {7L, null}, {null, 11L}, {7L, 11L}}) {
+                Long produto = filtro[0];
+                ParticaoVendas.Consulta consulta = new ParticaoVendas.Consulta(DIA_ZERO + 13, DIA_ZERO + 61, produto,
+                        filtro[1], agrupamento);
+                Map<Long, String> esperado = somarLinhaALinha(vendas, consulta);
+
+                ParticaoVendas.Acumulador unica = new ParticaoVendas.Acumulador(consulta);
+                ordenada.visao().acumular(consulta, unica);
+                assertEquals(esperado, mapa(unica), agrupamento + " produto " + produto + " cliente " + filtro[1]);
+
+                ParticaoVendas.Acumulador fundida = new ParticaoVendas.Acumulador(consulta);
+                ParticaoVendas.Acumulador segunda = new ParticaoVendas.Acumulador(consulta);
+                embaralhadas[0].visao().acumular(consulta, fundida);
+                embaralhadas[1].visao().acumular(consulta, segunda);
+                fundida.fundir(segunda);
+                assertEquals(esperado, mapa(fundida), agrupamento + " produto " + produto + " embaralhadas");
+            }
+        }
+    }
+
+    @Test
+    void testSomaVetorialConfereComLacoEscalar() {
+        // O surefire sobe a JVM com --add-modules jdk.incubator.vector
+        assertTrue(ParticaoVendas.VETORIAL);
+        Random aleatorio = new Random(3);
+        int[] quantidades = new int[1_000];
+        long[] valores = new long[1_000];
+        for (int i = 0; i < quantidades.length; i++) {
+            // Quantidades grandes: a soma passa do limite de int
+            quantidades[i] = Integer.MAX_VALUE - aleatorio.nextInt(1_000);
+            valores[i] = aleatorio.nextInt(1_000_000);
+        }
+        // Trechos que começam e terminam fora do alinhamento dos vetores, e vazios
+        for (int[] trecho : new int[][] {{0, 1_000}, {3, 997}, {17, 18}, {5, 5}, {0, 7}}) {
+            long quantidade = 0;
+            long valor = 0;
+            for (int i = trecho[0]; i < trecho[1]; i++) {
+                quantidade += quantidades[i];
+                valor += valores[i];
+            }
+            assertEquals(quantidade, SomaVetorial.somar(quantidades, trecho[0], trecho[1]));
+            assertEquals(valor, SomaVetorial.somar(valores, trecho[0], trecho[1]));
+        }
+    }
+
+    @Test
+    void testSomaVetorialComMascaraConfereComLacoEscalar() {
+        assertTrue(ParticaoVendas.VETORIAL);
+        Random aleatorio = new Random(5);
+        int[] quantidades = new int[1_000];
+        long[] valores = new long[1_000];
+        long[] produtos = new long[1_000];
+        long[] clientes = new long[1_000];
+        for (int i = 0; i < quantidades.length; i++) {
+            quantidades[i] = Integer.MAX_VALUE - aleatorio.nextInt(1_000);
+            valores[i] = aleatorio.nextInt(1_000_000);
+            produtos[i] = aleatorio.nextInt(3);
+            clientes[i] = aleatorio.nextInt(3);
+        }
+        for (int[] trecho : new int[][] {{0, 1_000}, {3, 997}, {17, 18}, {5, 5}, {0, 7}}) {
+            for (long[][] filtro : new long[][][] {{produtos, null}, {null, clientes}, {produtos, clientes}}) {
+                long quantidade = 0;
+                long valor = 0;
+                for (int i = trecho[0]; i < trecho[1]; i++) {
+                    if ((filtro[0] == null || produtos[i] == 1) && (filtro[1] == null || clientes[i] == 2)) {
+                        quantidade += quantidades[i];
+                        valor += valores[i];
+                    }
+                }
+                assertEquals(quantidade, SomaVetorial.somar(quantidades, trecho[0], trecho[1], filtro[0], 1, filtro[1], 2));
+                assertEquals(valor, SomaVetorial.somar(valores, trecho[0], trecho[1], filtro[0], 1, filtro[1], 2));
+            }
+        }
+    }
+
+    private static Map<Long, String> somarLinhaALinha(long[][] vendas, ParticaoVendas.Consulta consulta) {
+        Map<Long, long[]> totais = new HashMap<>();
+        for (long[] venda : vendas) {
+            if (venda[4] < consulta.diaInicio() || venda[4] > consulta.diaFim()
+                    || (consulta.produtoId() != null && venda[0] != consulta.produtoId())
+                    || (consulta.clienteId() != null && venda[1] != consulta.clienteId())) {
+                continue;
+            }
+            long chave = switch (consulta.agrupamento()) {
+                case TOTAL -> 0;
+                case DIA -> venda[4];
+                case PRODUTO -> venda[0];
+                case CLIENTE -> venda[1];
+            };
+            if (consulta.agrupamento() == ParticaoVendas.Agrupamento.CLIENTE && chave == ParticaoVendas.SEM_CLIENTE) {
+                continue;
+            }
+            long[] soma = totais.computeIfAbsent(chave, c -> new long[2]);
+            soma[0] += venda[2];
+            soma[1] += venda[3];
+        }
+        return texto(totais);
+    }
+
+    private static Map<Long, String> mapa(ParticaoVendas.Acumulador acumulador) {
+        Map<Long, long[]> totais = new HashMap<>();
+        for (int i = 0; i < acumulador.grupos(); i++) {
+            if (acumulador.quantidade(i) != 0) {
+                totais.put(acumulador.chave(i), new long[] {acumulador.quantidade(i), acumulador.valorCentavos(i)});
+            }
+        }
+        return texto(totais);
+    }
+
+    // Arrays não têm equals por conteúdo: compara "quantidade/valor"
+    private static Map<Long, String> texto(Map<Long, long[]> totais) {
+        Map<Long, String> texto = new HashMap<>();
+        totais.forEach((chave, soma) -> texto.put(chave, soma[0] + "/" + soma[1]));
+        return texto;
+    }
+}
@@ -0,0 +1,104 @@
+package com.empresa.sistema.vendas;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Somas de trechos de colunas com a Vector API (módulo incubado jdk.incubator.vector):
+ * um vetor de parciais do tamanho preferido da CPU, reduzido ao fim, e as linhas que
+ * sobram do último vetor somadas uma a uma. Com filtro de produto ou cliente, as colunas
+ * de chave são comparadas vetor a vetor e a comparação vira a máscara da soma. Só é carregada quando a JVM tem o módulo
+ * (ParticaoVendas.VETORIAL); sem ele as somas ficam nos laços escalares da partição.
+ */
+final class SomaVetorial {
+
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+
+    private SomaVetorial() {
+    }
+
+    static long somar(long[] valores, int de, int ate) {
+        LongVector parciais = LongVector.zero(LONGS);
+        int i = de;
+        for (int limite = de + LONGS.loopBound(ate - de); i < limite; i += LONGS.length()) {
+            parciais = parciais.add(LongVector.fromArray(LONGS, valores, i));
+        }
+        long soma = parciais.reduceLanes(VectorOperators.ADD);
+        for (; i < ate; i++) {
+            soma += valores[i];
+        }
+        return soma;
+    }
+
+    // Cada vetor de int vira duas metades de long antes da soma: parciais em int estourariam
+    static long somar(int[] valores, int de, int ate) {
+        LongVector parciais = LongVector.zero(LONGS);
+        int i = de;
+        for (int limite = de + INTS.loopBound(ate - de); i < limite; i += INTS.length()) {
+            IntVector bloco = IntVector.fromArray(INTS, valores, i);
+            parciais = parciais.add((LongVector) bloco.convert(VectorOperators.I2L, 0))
+                    .add((LongVector) bloco.convert(VectorOperators.I2L, 1));
+        }
+        long soma = parciais.reduceLanes(VectorOperators.ADD);
+        for (; i < ate; i++) {
+            soma += valores[i];
+        }
+        return soma;
+    }
+
+    // Colunas de chave nulas não filtram; as linhas fora da máscara não somam
+    static long somar(long[] valores, int de, int ate, long[] produtos, long produto, long[] clientes, long cliente) {
+        LongVector parciais = LongVector.zero(LONGS);
+        int i = de;
+        for (int limite = de + LONGS.loopBound(ate - de); i < limite; i += LONGS.length()) {
+            parciais = parciais.add(LongVector.fromArray(LONGS, valores, i),
+                    mascara(produtos, produto, clientes, cliente, i));
+        }
+        long soma = parciais.reduceLanes(VectorOperators.ADD);
+        for (; i < ate; i++) {
+            if (confere(produtos, produto, clientes, cliente, i)) {
+                soma += valores[i];
+            }
+        }
+        return soma;
+    }
+
+    // A metade baixa de cada vetor de int (parte 0 do I2L) corresponde às chaves a partir de i
+    static long somar(int[] valores, int de, int ate, long[] produtos, long produto, long[] clientes, long cliente) {
+        LongVector parciais = LongVector.zero(LONGS);
+        int i = de;
+        for (int limite = de + INTS.loopBound(ate - de); i < limite; i += INTS.length()) {
+            IntVector bloco = IntVector.fromArray(INTS, valores, i);
+            parciais = parciais
+                    .add((LongVector) bloco.convert(VectorOperators.I2L, 0),
+                            mascara(produtos, produto, clientes, cliente, i))
+                    .add((LongVector) bloco.convert(VectorOperators.I2L, 1),
+                            mascara(produtos, produto, clientes, cliente, i + LONGS.length()));
+        }
+        long soma = parciais.reduceLanes(VectorOperators.ADD);
+        for (; i < ate; i++) {
+            if (confere(produtos, produto, clientes, cliente, i)) {
+                soma += valores[i];
+            }
+        }
+        return soma;
+    }
+
+    private static VectorMask<Long> mascara(long[] produtos, long produto, long[] clientes, long cliente, int i) {
+        VectorMask<Long> mascara = produtos != null
+                ? LongVector.fromArray(LONGS, produtos, i).compare(VectorOperators.EQ, produto)
+                : LONGS.maskAll(true);
+        if (clientes != null) {
+            mascara = mascara.and(LongVector.fromArray(LONGS, clientes, i).compare(VectorOperators.EQ, cliente));
+        }
+        return mascara;
+    }
+
+    private static boolean confere(long[] produtos, long produto, long[] clientes, long cliente, int i) {
+        return (produtos == null || produtos[i] == produto) && (clientes == null || clientes[i] == cliente);
+    }
+}
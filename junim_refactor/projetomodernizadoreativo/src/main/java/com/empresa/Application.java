@@ -0,0 +1,23 @@
+package com.empresa;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.web.bind.annotation.CrossOrigin;
+
+/**
+ * Classe principal da variante reativa (WebFlux + R2DBC)
+ * Mesmo contrato REST do ProjetoModernizadoModern, sem uma thread por conexão
+ */
+@SpringBootApplication
+@CrossOrigin(origins = "*")
+public class Application {
+
+    private static final Logger log = LoggerFactory.getLogger(Application.class);
+    
+    public static void main(String[] args) {
+        SpringApplication.run(Application.class, args);
+        log.info("ProjetoModernizadoReativo iniciado; API em http://localhost:8081/api");
+    }
+}
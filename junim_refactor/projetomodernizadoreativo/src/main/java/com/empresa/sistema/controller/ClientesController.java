@@ -0,0 +1,107 @@
+package com.empresa.sistema.controller;
+
+import com.empresa.sistema.dto.Pagina;
+import com.empresa.sistema.entity.Clientes;
+import com.empresa.sistema.service.ClientesService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import jakarta.validation.Valid;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/clientes")
+@CrossOrigin(origins = "*")
+public class ClientesController {
+
+    @Autowired
+    private ClientesService service;
+    
+    /**
+     * Lista os registros ativos, paginados por cursor
+     */
+    @GetMapping
+    public Mono<ResponseEntity<Pagina<Clientes>>> listarTodos(@RequestParam(required = false) String cursor,
+                                                          @RequestParam(required = false) Integer tamanho) {
+        return service.buscarPagina(cursor, tamanho)
+                .map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest().build()))
+                .onErrorResume(e -> Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build()));
+    }
+    
+    /**
+     * Lista os registros por status, paginados por cursor
+     */
+    @GetMapping("/status")
+    public Mono<ResponseEntity<Pagina<Clientes>>> listarPorStatus(@RequestParam Boolean ativo,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(required = false) Integer tamanho) {
+        return service.buscarPaginaPorStatus(ativo, cursor, tamanho)
+                .map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest().build()))
+                .onErrorResume(e -> Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build()));
+    }
+    
+    /**
+     * Exporta todos os registros em NDJSON, com contrapressão
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Clientes> exportar() {
+        return service.exportar();
+    }
+    
+    /**
+     * Busca por ID
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Clientes>> buscarPorId(@PathVariable Long id) {
+        return service.buscarPorId(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build())
+                .onErrorResume(e -> Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build()));
+    }
+    
+    /**
+     * Busca por nome
+     */
+    @GetMapping("/buscar")
+    public Flux<Clientes> buscarPorNome(@RequestParam String nome) {
+        return service.buscarPorNome(nome);
+    }
+    
+    /**
+     * Cria novo registro
+     */
+    @PostMapping
+    public Mono<ResponseEntity<Clientes>> criar(@Valid @RequestBody Clientes entity) {
+        return service.salvar(entity)
+                .map(salvo -> ResponseEntity.status(HttpStatus.CREATED).body(salvo))
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest().build()))
+                .onErrorResume(e -> Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build()));
+    }
+    
+    /**
+     * Atualiza registro
+     */
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Clientes>> atualizar(@PathVariable Long id, @Valid @RequestBody Clientes entity) {
+        entity.setId(id);
+        return service.salvar(entity)
+                .map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest().build()))
+                .onErrorResume(e -> Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build()));
+    }
+    
+    /**
+     * Remove registro
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> remover(@PathVariable Long id) {
+        return service.remover(id)
+                .then(Mono.just(ResponseEntity.noContent().<Void>build()))
+                .onErrorResume(e -> Mono.just(ResponseEntity.notFound().build()));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,107 @@
+package com.empresa.sistema.controller;
+
+import com.empresa.sistema.dto.Pagina;
+import com.empresa.sistema.entity.Produtos;
+import com.empresa.sistema.service.ProdutosService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import jakarta.validation.Valid;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/produtos")
+@CrossOrigin(origins = "*")
+public class ProdutosController {
+
+    @Autowired
+    private ProdutosService service;
+    
+    /**
+     * Lista os registros ativos, paginados por cursor
+     */
+    @GetMapping
+    public Mono<ResponseEntity<Pagina<Produtos>>> listarTodos(@RequestParam(required = false) String cursor,
+                                                          @RequestParam(required = false) Integer tamanho) {
+        return service.buscarPagina(cursor, tamanho)
+                .map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest().build()))
+                .onErrorResume(e -> Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build()));
+    }
+    
+    /**
+     * Lista os registros por status, paginados por cursor
+     */
+    @GetMapping("/status")
+    public Mono<ResponseEntity<Pagina<Produtos>>> listarPorStatus(@RequestParam Boolean ativo,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(required = false) Integer tamanho) {
+        return service.buscarPaginaPorStatus(ativo, cursor, tamanho)
+                .map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest().build()))
+                .onErrorResume(e -> Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build()));
+    }
+    
+    /**
+     * Transmite os registros ativos em NDJSON, com contrapressão
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Produtos> transmitirAtivos() {
+        return service.buscarTodos();
+    }
+    
+    /**
+     * Busca por ID
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Produtos>> buscarPorId(@PathVariable Long id) {
+        return service.buscarPorId(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build())
+                .onErrorResume(e -> Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build()));
+    }
+    
+    /**
+     * Busca por nome
+     */
+    @GetMapping("/buscar")
+    public Flux<Produtos> buscarPorNome(@RequestParam String nome) {
+        return service.buscarPorNome(nome);
+    }
+    
+    /**
+     * Cria novo registro
+     */
+    @PostMapping
+    public Mono<ResponseEntity<Produtos>> criar(@Valid @RequestBody Produtos entity) {
+        return service.salvar(entity)
+                .map(salvo -> ResponseEntity.status(HttpStatus.CREATED).body(salvo))
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest().build()))
+                .onErrorResume(e -> Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build()));
+    }
+    
+    /**
+     * Atualiza registro
+     */
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Produtos>> atualizar(@PathVariable Long id, @Valid @RequestBody Produtos entity) {
+        entity.setId(id);
+        return service.salvar(entity)
+                .map(ResponseEntity::ok)
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest().build()))
+                .onErrorResume(e -> Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build()));
+    }
+    
+    /**
+     * Remove registro
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> remover(@PathVariable Long id) {
+        return service.remover(id)
+                .then(Mono.just(ResponseEntity.noContent().<Void>build()))
+                .onErrorResume(e -> Mono.just(ResponseEntity.notFound().build()));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.empresa.sistema.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posição de uma paginação por chave (keyset) ordenada por (nome, id).
+ * Trafega para o cliente como token opaco em Base64 URL-safe.
+ */
+public record Cursor(String nome, Long id) {
+
+    private static final char SEPARADOR = '\u0000';
+
+    /**
+     * Codifica o cursor como token opaco
+     */
+    public String codificar() {
+        String valor = nome + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica um token recebido do cliente
+     */
+    public static Cursor decodificar(String token) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int posicao = valor.lastIndexOf(SEPARADOR);
+            if (posicao < 0) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            return new Cursor(valor.substring(0, posicao), Long.valueOf(valor.substring(posicao + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido", e);
+        }
+    }
+}
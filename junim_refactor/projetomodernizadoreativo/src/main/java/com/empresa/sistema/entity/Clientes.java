@@ -0,0 +1,126 @@
+package com.empresa.sistema.entity;
+
+import jakarta.validation.constraints.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Entidade Clientes (mapeamento R2DBC)
+ * Tabela: clientes
+ */
+@Table("clientes")
+public class Clientes {
+
+    @Id
+    private Long id;
+    @NotBlank(message = "Campo obrigatório")
+    @Column("nome")
+    private String nome;
+    @Email(message = "Email inválido")
+    @Column("email")
+    private String email;
+    @Column("telefone")
+    private String telefone;
+    @Column("endereco")
+    private String endereco;
+    @Column("data_cadastro")
+    private LocalDate dataCadastro;
+    @Column("ativo")
+    private Boolean ativo = true;
+    @Version
+    @Column("versao")
+    private Long versao;
+
+    // Construtores
+    public Clientes() {}
+
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getTelefone() {
+        return telefone;
+    }
+
+    public void setTelefone(String telefone) {
+        this.telefone = telefone;
+    }
+
+    public String getEndereco() {
+        return endereco;
+    }
+
+    public void setEndereco(String endereco) {
+        this.endereco = endereco;
+    }
+
+    public LocalDate getDatacadastro() {
+        return dataCadastro;
+    }
+
+    public void setDatacadastro(LocalDate dataCadastro) {
+        this.dataCadastro = dataCadastro;
+    }
+
+    public Boolean isAtivo() {
+        return ativo;
+    }
+
+    public void setAtivo(Boolean ativo) {
+        this.ativo = ativo;
+    }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Clientes clientes = (Clientes) o;
+        return Objects.equals(id, clientes.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "Clientes{" +
+                "id=" + id +
+                ", nome='" + nome + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,117 @@
+package com.empresa.sistema.entity;
+
+import jakarta.validation.constraints.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Entidade Produtos (mapeamento R2DBC)
+ * Tabela: produtos
+ */
+@Table("produtos")
+public class Produtos {
+
+    @Id
+    private Long id;
+    @NotBlank(message = "Campo obrigatório")
+    @Column("nome")
+    private String nome;
+    @Column("descricao")
+    private String descricao;
+    @NotNull(message = "Campo obrigatório")
+    @Positive(message = "Deve ser maior que zero")
+    @Column("preco")
+    private BigDecimal preco;
+    @Column("estoque")
+    private Integer estoque = 0;
+    @Column("ativo")
+    private Boolean ativo = true;
+    @Version
+    @Column("versao")
+    private Long versao;
+
+    // Construtores
+    public Produtos() {}
+
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    public void setDescricao(String descricao) {
+        this.descricao = descricao;
+    }
+
+    public BigDecimal getPreco() {
+        return preco;
+    }
+
+    public void setPreco(BigDecimal preco) {
+        this.preco = preco;
+    }
+
+    public Integer getEstoque() {
+        return estoque;
+    }
+
+    public void setEstoque(Integer estoque) {
+        this.estoque = estoque;
+    }
+
+    public Boolean isAtivo() {
+        return ativo;
+    }
+
+    public void setAtivo(Boolean ativo) {
+        this.ativo = ativo;
+    }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Produtos produtos = (Produtos) o;
+        return Objects.equals(id, produtos.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "Produtos{" +
+                "id=" + id +
+                ", nome='" + nome + '\'' +
+                '}';
+    }
+}
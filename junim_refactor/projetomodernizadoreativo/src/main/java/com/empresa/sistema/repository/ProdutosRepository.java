@@ -0,0 +1,42 @@
+package com.empresa.sistema.repository;
+
+import com.empresa.sistema.entity.Produtos;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ProdutosRepository extends ReactiveCrudRepository<Produtos, Long> {
+
+    // Busca por nome/descrição
+    Flux<Produtos> findByNomeContainingIgnoreCase(String nome);
+    
+    // Busca por status ativo
+    Flux<Produtos> findByAtivoTrue();
+    
+    // Primeira página da paginação por cursor, ordenada por (nome, id)
+    @Query("SELECT * FROM produtos WHERE ativo = :ativo ORDER BY nome, id LIMIT :limite")
+    Flux<Produtos> buscarPrimeiraPaginaPorStatus(@Param("ativo") Boolean ativo, @Param("limite") int limite);
+    
+    // Páginas seguintes: registros posteriores ao cursor (nome, id)
+    @Query("SELECT * FROM produtos WHERE ativo = :ativo " +
+           "AND (nome > :nome OR (nome = :nome AND id > :id)) ORDER BY nome, id LIMIT :limite")
+    Flux<Produtos> buscarPaginaPorStatus(@Param("ativo") Boolean ativo, @Param("nome") String nome,
+                                        @Param("id") Long id, @Param("limite") int limite);
+    
+    // Versão atual do registro, sem carregar a entidade
+    @Query("SELECT versao FROM produtos WHERE id = :id")
+    Mono<Long> buscarVersao(@Param("id") Long id);
+    
+    // Remoção em uma única instrução
+    @Modifying
+    @Query("DELETE FROM produtos WHERE id = :id")
+    Mono<Integer> removerPorId(@Param("id") Long id);
+    
+    // Existe por nome
+    Mono<Boolean> existsByNome(String nome);
+}
\ No newline at end of file
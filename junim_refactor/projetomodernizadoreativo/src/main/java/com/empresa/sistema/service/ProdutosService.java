@@ -0,0 +1,117 @@
+package com.empresa.sistema.service;
+
+import com.empresa.sistema.dto.Cursor;
+import com.empresa.sistema.dto.Pagina;
+import com.empresa.sistema.entity.Produtos;
+import com.empresa.sistema.repository.ProdutosRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@Transactional
+public class ProdutosService {
+
+    @Autowired
+    private ProdutosRepository repository;
+    
+    /**
+     * Busca todos os registros ativos, emitidos conforme a demanda do cliente
+     */
+    @Transactional(readOnly = true)
+    public Flux<Produtos> buscarTodos() {
+        return repository.findByAtivoTrue();
+    }
+    
+    /**
+     * Busca uma página dos registros ativos, a partir do cursor informado
+     */
+    @Transactional(readOnly = true)
+    public Mono<Pagina<Produtos>> buscarPagina(String cursor, Integer tamanho) {
+        return buscarPaginaPorStatus(true, cursor, tamanho);
+    }
+    
+    /**
+     * Busca uma página por status, ordenada por (nome, id)
+     */
+    @Transactional(readOnly = true)
+    public Mono<Pagina<Produtos>> buscarPaginaPorStatus(Boolean ativo, String cursor, Integer tamanho) {
+        int limite = Pagina.limitarTamanho(tamanho);
+        return Mono.defer(() -> {
+            Flux<Produtos> registros;
+            if (cursor == null || cursor.isBlank()) {
+                registros = repository.buscarPrimeiraPaginaPorStatus(ativo, limite + 1);
+            } else {
+                Cursor posicao = Cursor.decodificar(cursor);
+                registros = repository.buscarPaginaPorStatus(ativo, posicao.nome(), posicao.id(), limite + 1);
+            }
+            return registros.collectList()
+                    .map(lista -> Pagina.de(lista, limite, e -> new Cursor(e.getNome(), e.getId())));
+        });
+    }
+    
+    /**
+     * Busca por ID
+     */
+    @Transactional(readOnly = true)
+    public Mono<Produtos> buscarPorId(Long id) {
+        return repository.findById(id);
+    }
+    
+    /**
+     * Busca por nome
+     */
+    @Transactional(readOnly = true)
+    public Flux<Produtos> buscarPorNome(String nome) {
+        return repository.findByNomeContainingIgnoreCase(nome);
+    }
+    
+    /**
+     * Salva ou atualiza
+     */
+    public Mono<Produtos> salvar(Produtos entity) {
+        // Validações de negócio
+        return validar(entity).then(Mono.defer(() -> {
+            if (entity.getId() != null && entity.getVersao() == null) {
+                // Atualização sem versão informada: assume a versão atual (última escrita prevalece)
+                return repository.buscarVersao(entity.getId())
+                        .switchIfEmpty(Mono.error(new RuntimeException("Registro não encontrado: " + entity.getId())))
+                        .flatMap(versao -> {
+                            entity.setVersao(versao);
+                            return repository.save(entity);
+                        });
+            }
+            return repository.save(entity);
+        }));
+    }
+    
+    /**
+     * Remove por ID
+     */
+    public Mono<Void> remover(Long id) {
+        return repository.removerPorId(id)
+                .flatMap(afetados -> afetados == 0
+                        ? Mono.error(new RuntimeException("Registro não encontrado: " + id))
+                        : Mono.<Void>empty());
+    }
+    
+    /**
+     * Validações de negócio
+     */
+    private Mono<Void> validar(Produtos entity) {
+        if (entity.getNome() == null || entity.getNome().trim().isEmpty()) {
+            return Mono.error(new IllegalArgumentException("Nome é obrigatório"));
+        }
+        
+        // Verificar duplicação
+        if (entity.getId() != null) {
+            return Mono.empty();
+        }
+        return repository.existsByNome(entity.getNome())
+                .flatMap(existe -> existe
+                        ? Mono.<Void>error(new IllegalArgumentException("Já existe um registro com este nome"))
+                        : Mono.<Void>empty());
+    }
+}
\ No newline at end of file
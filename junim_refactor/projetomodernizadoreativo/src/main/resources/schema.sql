@@ -0,0 +1,25 @@
+-- Mesmo esquema gerado pelo Hibernate no módulo MVC (projetomodernizadomodern)
+CREATE TABLE IF NOT EXISTS produtos (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome VARCHAR(255),
+    descricao VARCHAR(255),
+    preco NUMERIC(38, 2),
+    estoque INTEGER DEFAULT 0,
+    ativo BOOLEAN DEFAULT TRUE,
+    versao BIGINT
+);
+
+CREATE INDEX IF NOT EXISTS idx_produtos_ativo_nome_id ON produtos (ativo, nome, id);
+
+CREATE TABLE IF NOT EXISTS clientes (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome VARCHAR(255),
+    email VARCHAR(255),
+    telefone VARCHAR(255),
+    endereco VARCHAR(255),
+    data_cadastro DATE,
+    ativo BOOLEAN DEFAULT TRUE,
+    versao BIGINT
+);
+
+CREATE INDEX IF NOT EXISTS idx_clientes_ativo_nome_id ON clientes (ativo, nome, id);
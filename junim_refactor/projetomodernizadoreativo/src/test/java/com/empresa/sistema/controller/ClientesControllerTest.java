@@ -0,0 +1,31 @@
+package com.empresa.sistema.controller;
+
+import com.empresa.sistema.dto.Pagina;
+import com.empresa.sistema.service.ClientesService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+import java.util.List;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(ClientesController.class)
+public class ClientesControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+    
+    @MockBean
+    private ClientesService service;
+    
+    @Test
+    public void testListarTodos() throws Exception {
+        when(service.buscarPagina(any(), any())).thenReturn(Mono.just(new Pagina<>(List.of(), null)));
+        webTestClient.get().uri("/api/clientes")
+                     .exchange()
+                     .expectStatus().isOk();
+    }
+}